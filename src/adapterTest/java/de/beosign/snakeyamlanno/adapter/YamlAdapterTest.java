@@ -0,0 +1,210 @@
+package de.beosign.snakeyamlanno.adapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.introspector.Property;
+
+import de.beosign.snakeyamlanno.AnnotationAwarePropertyUtils;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.convert.LengthToCmConverter;
+import de.beosign.snakeyamlanno.property.AliasedProperty;
+import de.beosign.snakeyamlanno.property.YamlAnyGetter;
+import de.beosign.snakeyamlanno.property.YamlAnySetter;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+import de.beosign.snakeyamlanno.skip.SkipAtDumpPredicate;
+
+/**
+ * Tests the adapters generated by the annotation processor.
+ *
+ * @author florian
+ */
+public class YamlAdapterTest {
+
+    /**
+     * Tests that adapters are generated for public annotated classes only and that their properties are used.
+     */
+    @Test
+    public void adapterIsPickedUp() {
+        assertThat(YamlAdapters.getAdapter(Device.class), notNullValue());
+        assertThat(YamlAdapters.getAdapter(Device.class).getType(), sameInstance(Device.class));
+        assertThat(YamlAdapters.getAdapter(HiddenDevice.class), nullValue());
+
+        AnnotationAwarePropertyUtils propertyUtils = new AnnotationAwarePropertyUtils();
+        Property label = propertyUtils.getProperty(Device.class, "label");
+        assertThat(label, instanceOf(AliasedProperty.class));
+        assertThat(((AliasedProperty) label).getTargetProperty(), instanceOf(AdapterProperty.class));
+        assertThat(label.getAnnotation(YamlProperty.class).key(), is("label"));
+        assertThat(propertyUtils.getProperty(Device.class, "tags").getActualTypeArguments(), is(new Class<?>[] { String.class }));
+        assertThat(propertyUtils.getProperty(Device.class, "size").getAnnotation(YamlProperty.class), nullValue());
+    }
+
+    /**
+     * Tests that the annotations of SnakeYAML-Anno are generated and other annotations are read by reflection.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void annotationsAreGenerated() {
+        YamlProperty label = new AnnotationAwarePropertyUtils().getProperty(Device.class, "label").getAnnotation(YamlProperty.class);
+        assertThat(Proxy.isProxyClass(label.getClass()), is(false));
+        assertThat(label.skipAtDumpIf(), sameInstance(SkipAtDumpPredicate.class));
+        assertThat(label.converter(), sameInstance(Converter.NoConverter.class));
+
+        Property serial = YamlAdapters.getAdapter(Device.class).createProperties().get("serial");
+        YamlProperty serialAnnotation = serial.getAnnotation(YamlProperty.class);
+        assertThat(Proxy.isProxyClass(serialAnnotation.getClass()), is(false));
+        assertThat(serialAnnotation.key(), is("sn"));
+        assertThat(serialAnnotation.order(), is(1));
+        assertThat(serial.getAnnotation(Deprecated.class), notNullValue());
+        assertThat(serial.getAnnotations().size(), is(2));
+
+        Property extras = YamlAdapters.getAdapter(Device.class).createProperties().get("extras");
+        assertThat(extras.getAnnotation(YamlAnyGetter.class), notNullValue());
+        assertThat(extras.getAnnotations().size(), is(1));
+    }
+
+    /**
+     * Tests loading and dumping with aliases, converters, public fields, any setters and any getters.
+     */
+    @Test
+    public void loadAndDump() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(Device.class));
+        Device device = yaml.loadAs("label: router\nlength: 2 m\nsize: 3\ncount: 4\ntags: [a, b]\nvendor: acme\ncolor: red\nsn: 7", Device.class);
+
+        assertThat(device.getName(), is("router"));
+        assertThat(device.getLength(), is(200));
+        assertThat(device.getSize(), is(3L));
+        assertThat(device.getCount(), is(4));
+        assertThat(device.getTags(), is(Arrays.asList("a", "b")));
+        assertThat(device.vendor, is("acme"));
+        assertThat(device.getExtras().get("color"), is("red"));
+        assertThat(device.getSerial(), is(7));
+
+        String dumped = new Yaml(new AnnotationAwareRepresenter()).dumpAsMap(device);
+        assertThat(dumped, startsWith("sn: 7\n"));
+        assertThat(dumped, containsString("label: router\n"));
+        assertThat(dumped, containsString("length: 200cm\n"));
+        assertThat(dumped, containsString("vendor: acme\n"));
+        assertThat(dumped, containsString("color: red\n"));
+    }
+
+    /**
+     * Tests that values the setter does not accept fail in the same way as without adapter.
+     */
+    @Test
+    public void wrongValues() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(Device.class));
+
+        YAMLException e = assertThrows(YAMLException.class, () -> yaml.loadAs("count: ~", Device.class));
+        assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Device {
+        public String vendor;
+        private String name;
+        private Integer length;
+        private long size;
+        private int count;
+        private List<String> tags;
+        private int serial;
+        private Map<String, Object> extras = new LinkedHashMap<>();
+
+        @YamlProperty(key = "label")
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @YamlProperty(converter = LengthToCmConverter.class)
+        public Integer getLength() {
+            return length;
+        }
+
+        public void setLength(Integer length) {
+            this.length = length;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        @Deprecated
+        public int getSerial() {
+            return serial;
+        }
+
+        @YamlProperty(key = "sn", order = 1)
+        public void setSerial(int serial) {
+            this.serial = serial;
+        }
+
+        @YamlAnyGetter
+        public Map<String, Object> getExtras() {
+            return extras;
+        }
+
+        public void setExtras(Map<String, Object> extras) {
+            this.extras = extras;
+        }
+
+        @YamlAnySetter
+        public void putExtra(String key, Object value) {
+            extras.put(key, value);
+        }
+    }
+
+    static class HiddenDevice {
+        private String name;
+
+        @YamlProperty(key = "label")
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.beosign.snakeyamlanno.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.representer.Representer;
+
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.Flat;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.Nested;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+
+/**
+ * Loads and dumps flat and deeply nested beans without annotations, so the overhead of the annotation aware classes themselves is measured.
+ *
+ * @author florian
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanBenchmark {
+    private String flatYaml;
+    private String nestedYaml;
+    private Flat flat;
+    private Nested nested;
+
+    private Yaml vanillaFlatLoader;
+    private Yaml vanillaNestedLoader;
+    private Yaml vanillaDumper;
+    private Yaml annotationAwareFlatLoader;
+    private Yaml annotationAwareNestedLoader;
+    private Yaml annotationAwareDumper;
+
+    /**
+     * Prepares documents and {@link Yaml} instances.
+     */
+    @Setup
+    public void setUp() {
+        vanillaFlatLoader = new Yaml(new Constructor(Flat.class));
+        vanillaNestedLoader = new Yaml(new Constructor(Nested.class));
+        vanillaDumper = new Yaml(new Representer());
+        annotationAwareFlatLoader = new Yaml(new AnnotationAwareConstructor(Flat.class));
+        annotationAwareNestedLoader = new Yaml(new AnnotationAwareConstructor(Nested.class));
+        annotationAwareDumper = new Yaml(new AnnotationAwareRepresenter());
+
+        flatYaml = BenchmarkModels.flatYaml();
+        flat = vanillaFlatLoader.load(flatYaml);
+        nested = BenchmarkModels.nested(4, 3);
+        nestedYaml = vanillaDumper.dumpAsMap(nested);
+    }
+
+    @Benchmark
+    public Object loadFlatVanilla() {
+        return vanillaFlatLoader.load(flatYaml);
+    }
+
+    @Benchmark
+    public Object loadFlatAnnotationAware() {
+        return annotationAwareFlatLoader.load(flatYaml);
+    }
+
+    @Benchmark
+    public Object loadNestedVanilla() {
+        return vanillaNestedLoader.load(nestedYaml);
+    }
+
+    @Benchmark
+    public Object loadNestedAnnotationAware() {
+        return annotationAwareNestedLoader.load(nestedYaml);
+    }
+
+    @Benchmark
+    public String dumpFlatVanilla() {
+        return vanillaDumper.dumpAsMap(flat);
+    }
+
+    @Benchmark
+    public String dumpFlatAnnotationAware() {
+        return annotationAwareDumper.dumpAsMap(flat);
+    }
+
+    @Benchmark
+    public String dumpNestedVanilla() {
+        return vanillaDumper.dumpAsMap(nested);
+    }
+
+    @Benchmark
+    public String dumpNestedAnnotationAware() {
+        return annotationAwareDumper.dumpAsMap(nested);
+    }
+}
@@ -0,0 +1,357 @@
+package de.beosign.snakeyamlanno.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.Node;
+
+import de.beosign.snakeyamlanno.constructor.CustomConstructor;
+import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.instantiator.CustomInstantiator;
+import de.beosign.snakeyamlanno.instantiator.DefaultInstantiator;
+import de.beosign.snakeyamlanno.instantiator.GlobalInstantiator;
+import de.beosign.snakeyamlanno.property.YamlAnyGetter;
+import de.beosign.snakeyamlanno.property.YamlAnySetter;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+
+/**
+ * Models and documents used by the benchmarks. Each annotated model has a plain counterpart that is loaded by vanilla SnakeYAML as baseline.
+ *
+ * @author florian
+ */
+public final class BenchmarkModels {
+    /**
+     * Number of items in root lists.
+     */
+    public static final int LIST_SIZE = 100;
+
+    private BenchmarkModels() {
+    }
+
+    /**
+     * @return document of a {@link Flat}
+     */
+    public static String flatYaml() {
+        return "name: Homer Simpson\nage: 39\nactive: true\nscore: 12.5\nemail: homer@example.org\n";
+    }
+
+    /**
+     * @return document of an {@link AliasedFlat}
+     */
+    public static String aliasedYaml() {
+        return "full-name: Homer Simpson\nyears: 39\nactive: true\nscore: 12.5\nmail: homer@example.org\n";
+    }
+
+    /**
+     * @return document of a {@link Flat} with keys in upper case
+     */
+    public static String upperCaseYaml() {
+        return "NAME: Homer Simpson\nAGE: 39\nACTIVE: true\nSCORE: 12.5\nEMAIL: homer@example.org\n";
+    }
+
+    /**
+     * @return document of an {@link AnyFlat} with unmapped properties
+     */
+    public static String anyYaml() {
+        return "name: Homer Simpson\ncity: Springfield\nemployer: Power Plant\nchildren: 3\n";
+    }
+
+    /**
+     * @return document of a {@link PlainAnyFlat} with the same data as {@link #anyYaml()}
+     */
+    public static String plainAnyYaml() {
+        return "name: Homer Simpson\nextras:\n  city: Springfield\n  employer: Power Plant\n  children: 3\n";
+    }
+
+    /**
+     * @param depth depth of the tree
+     * @param breadth number of children per node
+     * @return tree of {@link Nested} beans
+     */
+    public static Nested nested(int depth, int breadth) {
+        Nested nested = new Nested();
+        nested.setName("node" + depth);
+        nested.setDetails(new Flat());
+        nested.getDetails().setName("details" + depth);
+        nested.getDetails().setAge(depth);
+        if (depth > 0) {
+            for (int i = 0; i < breadth; i++) {
+                nested.getChildren().add(nested(depth - 1, breadth));
+            }
+        }
+        return nested;
+    }
+
+    /**
+     * @param tagged whether each item is tagged with the type, which is what plain SnakeYAML needs to create typed items
+     * @return document of a root list of {@link Flat} items
+     */
+    public static String flatListYaml(boolean tagged) {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            yaml.append(tagged ? "- !!" + Flat.class.getName() + "\n  " : "- ").append("name: Item ").append(i).append('\n');
+            yaml.append("  age: ").append(i).append("\n  active: true\n  score: 1.5\n  email: item").append(i).append("@example.org\n");
+        }
+        return yaml.toString();
+    }
+
+    // CHECKSTYLE:OFF - benchmark models
+    public static class Flat {
+        private String name;
+        private int age;
+        private boolean active;
+        private double score;
+        private String email;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+
+    public static class Nested {
+        private String name;
+        private Flat details;
+        private List<Nested> children = new ArrayList<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Flat getDetails() {
+            return details;
+        }
+
+        public void setDetails(Flat details) {
+            this.details = details;
+        }
+
+        public List<Nested> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Nested> children) {
+            this.children = children;
+        }
+    }
+
+    public static class AliasedFlat {
+        private String name;
+        private int age;
+        private boolean active;
+        private double score;
+        private String email;
+
+        @YamlProperty(key = "full-name")
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @YamlProperty(key = "years")
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        @YamlProperty(key = "mail")
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+
+    public static class ConvertedFlat {
+        private String name;
+        private int age;
+        private boolean active;
+        private double score;
+        private String email;
+
+        @YamlProperty(converter = UpperCaseConverter.class)
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        @YamlProperty(converter = UpperCaseConverter.class)
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+
+    public static class AnyFlat {
+        private String name;
+        private Map<String, Object> extras = new LinkedHashMap<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @YamlAnyGetter
+        public Map<String, Object> getExtras() {
+            return extras;
+        }
+
+        public void setExtras(Map<String, Object> extras) {
+            this.extras = extras;
+        }
+
+        @YamlAnySetter
+        public void putExtra(String key, Object value) {
+            extras.put(key, value);
+        }
+    }
+
+    public static class PlainAnyFlat {
+        private String name;
+        private Map<String, Object> extras = new LinkedHashMap<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Map<String, Object> getExtras() {
+            return extras;
+        }
+
+        public void setExtras(Map<String, Object> extras) {
+            this.extras = extras;
+        }
+    }
+
+    public static class UpperCaseConverter implements Converter<String> {
+        @Override
+        public String convertToYaml(String modelValue) {
+            return modelValue.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public String convertToModel(Object value) {
+            return value.toString().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    public static class FlatConstructor implements CustomConstructor<Flat> {
+        @Override
+        public Flat construct(Node node, Function<? super Node, ? extends Flat> defaultConstructor) throws YAMLException {
+            return defaultConstructor.apply(node);
+        }
+    }
+
+    public static class FlatInstantiator implements CustomInstantiator<Flat> {
+        @Override
+        public Flat createInstance(Node node, boolean tryDefault, Class<?> ancestor, DefaultInstantiator defaultInstantiator,
+                GlobalInstantiator globalInstantiator) throws InstantiationException {
+            return new Flat();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.beosign.snakeyamlanno.benchmark;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.Flat;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.FlatConstructor;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.FlatInstantiator;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareListConstructor;
+
+/**
+ * Loads root lists, and beans created by custom constructors and custom instantiators. The baselines load the same data with plain SnakeYAML; for root
+ * lists, plain SnakeYAML needs a tag on each item.
+ *
+ * @author florian
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+    private String flatYaml;
+    private String listYaml;
+    private String taggedListYaml;
+
+    private Yaml vanillaFlatLoader;
+    private Yaml vanillaListLoader;
+    private AnnotationAwareListConstructor listConstructor;
+    private Yaml listLoader;
+    private Yaml customConstructorLoader;
+    private Yaml customInstantiatorLoader;
+
+    /**
+     * Prepares documents and {@link Yaml} instances.
+     */
+    @Setup
+    public void setUp() {
+        vanillaFlatLoader = new Yaml(new Constructor(Flat.class));
+        vanillaListLoader = new Yaml(new Constructor());
+        listLoader = new Yaml(new AnnotationAwareListConstructor(Flat.class));
+        listConstructor = new AnnotationAwareListConstructor(Flat.class);
+
+        AnnotationAwareConstructor customConstructor = new AnnotationAwareConstructor(Flat.class);
+        customConstructor.registerCustomConstructor(Flat.class, FlatConstructor.class);
+        customConstructorLoader = new Yaml(customConstructor);
+
+        AnnotationAwareConstructor customInstantiator = new AnnotationAwareConstructor(Flat.class);
+        customInstantiator.registerCustomInstantiator(Flat.class, FlatInstantiator.class);
+        customInstantiatorLoader = new Yaml(customInstantiator);
+
+        flatYaml = BenchmarkModels.flatYaml();
+        listYaml = BenchmarkModels.flatListYaml(false);
+        taggedListYaml = BenchmarkModels.flatListYaml(true);
+    }
+
+    @Benchmark
+    public Object loadListVanilla() {
+        return vanillaListLoader.load(taggedListYaml);
+    }
+
+    @Benchmark
+    public Object loadListAnnotationAware() {
+        return listLoader.loadAs(listYaml, List.class);
+    }
+
+    @Benchmark
+    public long streamListAnnotationAware() {
+        return listConstructor.loadAsStream(new StringReader(listYaml)).count();
+    }
+
+    @Benchmark
+    public Object loadVanilla() {
+        return vanillaFlatLoader.load(flatYaml);
+    }
+
+    @Benchmark
+    public Object loadCustomConstructor() {
+        return customConstructorLoader.load(flatYaml);
+    }
+
+    @Benchmark
+    public Object loadCustomInstantiator() {
+        return customInstantiatorLoader.load(flatYaml);
+    }
+}
@@ -0,0 +1,141 @@
+package de.beosign.snakeyamlanno.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.representer.Representer;
+
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.AliasedFlat;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.AnyFlat;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.ConvertedFlat;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.Flat;
+import de.beosign.snakeyamlanno.benchmark.BenchmarkModels.PlainAnyFlat;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+
+/**
+ * Loads and dumps beans using aliases, converters, case insensitive keys and any setters/getters. The baselines load and dump the same data with plain
+ * SnakeYAML, using plain beans and keys that match the property names.
+ *
+ * @author florian
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyFeatureBenchmark {
+    private String flatYaml;
+    private String aliasedYaml;
+    private String upperCaseYaml;
+    private String anyYaml;
+    private String plainAnyYaml;
+    private Flat flat;
+    private AliasedFlat aliasedFlat;
+    private ConvertedFlat convertedFlat;
+    private AnyFlat anyFlat;
+    private PlainAnyFlat plainAnyFlat;
+
+    private Yaml vanillaFlatLoader;
+    private Yaml vanillaAnyLoader;
+    private Yaml vanillaDumper;
+    private Yaml aliasedLoader;
+    private Yaml convertedLoader;
+    private Yaml caseInsensitiveLoader;
+    private Yaml anyLoader;
+    private Yaml annotationAwareDumper;
+
+    /**
+     * Prepares documents and {@link Yaml} instances.
+     */
+    @Setup
+    public void setUp() {
+        vanillaFlatLoader = new Yaml(new Constructor(Flat.class));
+        vanillaAnyLoader = new Yaml(new Constructor(PlainAnyFlat.class));
+        vanillaDumper = new Yaml(new Representer());
+        aliasedLoader = new Yaml(new AnnotationAwareConstructor(AliasedFlat.class));
+        convertedLoader = new Yaml(new AnnotationAwareConstructor(ConvertedFlat.class));
+        caseInsensitiveLoader = new Yaml(new AnnotationAwareConstructor(Flat.class, true));
+        anyLoader = new Yaml(new AnnotationAwareConstructor(AnyFlat.class));
+        annotationAwareDumper = new Yaml(new AnnotationAwareRepresenter());
+
+        flatYaml = BenchmarkModels.flatYaml();
+        aliasedYaml = BenchmarkModels.aliasedYaml();
+        upperCaseYaml = BenchmarkModels.upperCaseYaml();
+        anyYaml = BenchmarkModels.anyYaml();
+        plainAnyYaml = BenchmarkModels.plainAnyYaml();
+
+        flat = vanillaFlatLoader.load(flatYaml);
+        aliasedFlat = aliasedLoader.load(aliasedYaml);
+        convertedFlat = convertedLoader.load(flatYaml);
+        anyFlat = anyLoader.load(anyYaml);
+        plainAnyFlat = vanillaAnyLoader.load(plainAnyYaml);
+    }
+
+    @Benchmark
+    public Object loadVanilla() {
+        return vanillaFlatLoader.load(flatYaml);
+    }
+
+    @Benchmark
+    public Object loadAliased() {
+        return aliasedLoader.load(aliasedYaml);
+    }
+
+    @Benchmark
+    public Object loadConverted() {
+        return convertedLoader.load(flatYaml);
+    }
+
+    @Benchmark
+    public Object loadCaseInsensitive() {
+        return caseInsensitiveLoader.load(upperCaseYaml);
+    }
+
+    @Benchmark
+    public Object loadAnyVanilla() {
+        return vanillaAnyLoader.load(plainAnyYaml);
+    }
+
+    @Benchmark
+    public Object loadAnySetter() {
+        return anyLoader.load(anyYaml);
+    }
+
+    @Benchmark
+    public String dumpVanilla() {
+        return vanillaDumper.dumpAsMap(flat);
+    }
+
+    @Benchmark
+    public String dumpAliased() {
+        return annotationAwareDumper.dumpAsMap(aliasedFlat);
+    }
+
+    @Benchmark
+    public String dumpConverted() {
+        return annotationAwareDumper.dumpAsMap(convertedFlat);
+    }
+
+    @Benchmark
+    public String dumpAnyVanilla() {
+        return vanillaDumper.dumpAsMap(plainAnyFlat);
+    }
+
+    @Benchmark
+    public String dumpAnyGetter() {
+        return annotationAwareDumper.dumpAsMap(anyFlat);
+    }
+}
@@ -1,40 +1,38 @@
 package de.beosign.snakeyamlanno;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
-import org.apache.commons.lang3.ClassUtils;
 import org.yaml.snakeyaml.error.YAMLException;
 import org.yaml.snakeyaml.introspector.BeanAccess;
 import org.yaml.snakeyaml.introspector.Property;
 import org.yaml.snakeyaml.introspector.PropertyUtils;
 
+import de.beosign.snakeyamlanno.adapter.YamlAdapter;
+import de.beosign.snakeyamlanno.adapter.YamlAdapters;
+import de.beosign.snakeyamlanno.convert.ConversionCache;
 import de.beosign.snakeyamlanno.convert.Converter;
 import de.beosign.snakeyamlanno.property.AliasedProperty;
 import de.beosign.snakeyamlanno.property.AnnotatedProperty;
 import de.beosign.snakeyamlanno.property.AnySetterProperty;
+import de.beosign.snakeyamlanno.property.CompiledProperty;
 import de.beosign.snakeyamlanno.property.ConvertedProperty;
 import de.beosign.snakeyamlanno.property.SkippedProperty;
 import de.beosign.snakeyamlanno.property.YamlAnyGetter;
-import de.beosign.snakeyamlanno.property.YamlAnySetter;
 import de.beosign.snakeyamlanno.property.YamlProperty;
 
 /**
- * YamlProperty Utils where properties are replaced by delegating properties so features like converting and aliasing can be implemented.
+ * YamlProperty Utils where properties are replaced by delegating properties so features like converting and aliasing can be implemented.<br>
+ * All properties access their getters, setters and fields by means of a {@link CompiledProperty} whenever possible. If a {@link YamlAdapter} has been
+ * generated for a type, its properties are used instead of discovering them by introspection.<br>
+ * The replaced properties are cached process-wide in the {@link PropertyMetadataCache}, so the property instances (and the converters they hold) are shared
+ * between all instances of this class and must therefore be thread-safe.
  * 
  * @author florian
  */
 public class AnnotationAwarePropertyUtils extends PropertyUtils {
-    private final Map<Class<?>, Map<String, Property>> typeToPropertiesMap = new HashMap<>();
-    private final Map<Class<?>, Method> typeToAnySetterMap = new HashMap<>();
-
     private final boolean caseInsensitive;
 
     public AnnotationAwarePropertyUtils() {
@@ -45,13 +43,41 @@ public class AnnotationAwarePropertyUtils extends PropertyUtils {
         this.caseInsensitive = caseInsensitive;
     }
 
+    /**
+     * Overridden to replace properties by annotated properties. The result is shared between all instances by means of the {@link PropertyMetadataCache}.
+     */
     @Override
     protected Map<String, Property> getPropertiesMap(Class<?> type, BeanAccess bAccess) {
-        if (typeToPropertiesMap.containsKey(type)) {
-            return typeToPropertiesMap.get(type);
+        return PropertyMetadataCache.getPropertiesMap(type, bAccess, caseInsensitive, () -> createPropertiesMap(type, bAccess));
+    }
+
+    /**
+     * Overridden to implement "Yaml-Any-Setter" feature.
+     */
+    @Override
+    public Property getProperty(Class<? extends Object> type, String name, BeanAccess bAccess) {
+        try {
+            return super.getProperty(type, name, bAccess);
+        } catch (YAMLException e) {
+            Method anySetterMethod = PropertyMetadataCache.getAnySetter(type);
+            if (anySetterMethod != null) {
+                return new AnySetterProperty(name, anySetterMethod, PropertyMetadataCache.getAnySetterHandle(type));
+            }
+            throw e;
         }
 
-        Map<String, Property> properties = super.getPropertiesMap(type, bAccess);
+    }
+
+    /**
+     * Creates the property map for the given type where the properties are replaced according to their annotations.
+     * 
+     * @param type type
+     * @param bAccess bean access
+     * @return unmodifiable property map
+     */
+    private Map<String, Property> createPropertiesMap(Class<?> type, BeanAccess bAccess) {
+        YamlAdapter<?> adapter = bAccess == BeanAccess.DEFAULT ? YamlAdapters.getAdapter(type) : null;
+        Map<String, Property> properties = adapter != null ? adapter.createProperties() : super.getPropertiesMap(type, bAccess);
 
         // Search for annotations and create instances of AnnotatedProperty in this case
         Map<String, Property> replacedMap = new LinkedHashMap<String, Property>();
@@ -63,7 +89,7 @@ public class AnnotationAwarePropertyUtils extends PropertyUtils {
 
             ReplacementResult replacementResult;
             try {
-                replacementResult = getReplacement(properties.get(name));
+                replacementResult = getReplacement(CompiledProperty.compile(type, properties.get(name)));
                 replacedMap.put(replacementResult.getName(), replacementResult.getProperty());
             } catch (InstantiationException | IllegalAccessException e) {
                 throw new YAMLException("Error while calculating a replacement property for property " + type.getTypeName() + "." + properties.get(name), e);
@@ -72,43 +98,10 @@ public class AnnotationAwarePropertyUtils extends PropertyUtils {
 
         if (caseInsensitive) {
             // Case Insensitivity feature - that's all that needs to be done for it
-            replacedMap = toCaseInsensitiveMap(replacedMap);
-        }
-
-        typeToPropertiesMap.put(type, replacedMap);
-        return replacedMap;
-    }
-
-    /**
-     * Overridden to implement "Yaml-Any-Setter" feature.
-     */
-    @Override
-    public Property getProperty(Class<? extends Object> type, String name, BeanAccess bAccess) {
-        try {
-            return super.getProperty(type, name, bAccess);
-        } catch (YAMLException e) {
-            Method anySetterMethod = typeToAnySetterMap.get(type);
-            if (anySetterMethod == null) {
-                List<Class<?>> typesInHierarchy = new ArrayList<>();
-                typesInHierarchy.add(type);
-                typesInHierarchy.addAll(ClassUtils.getAllSuperclasses(type));
-                typesInHierarchy.addAll(ClassUtils.getAllInterfaces(type));
-
-                anySetterMethod = typesInHierarchy.stream()
-                        .flatMap(t -> Arrays.stream(t.getDeclaredMethods()))
-                        .filter(m -> Modifier.isPublic(m.getModifiers()))
-                        .filter(m -> m.isAnnotationPresent(YamlAnySetter.class))
-                        .findFirst()
-                        .orElse(null);
-            }
-
-            if (anySetterMethod != null) {
-                typeToAnySetterMap.put(type, anySetterMethod);
-                return new AnySetterProperty(name, anySetterMethod);
-            }
-            throw e;
+            return Collections.unmodifiableMap(new CaseInsensitiveIndex<>(replacedMap));
         }
 
+        return Collections.unmodifiableMap(replacedMap);
     }
 
     /**
@@ -127,7 +120,9 @@ public class AnnotationAwarePropertyUtils extends PropertyUtils {
         YamlProperty propertyAnnotation = defaultProperty.getAnnotation(YamlProperty.class);
         if (propertyAnnotation != null) {
             if (propertyAnnotation.converter() != Converter.NoConverter.class) {
-                replacementProperty = new ConvertedProperty(replacementProperty, propertyAnnotation.converter());
+                ConversionCache conversionCache = propertyAnnotation.conversionCacheSize() > 0 ? new ConversionCache(propertyAnnotation.conversionCacheSize())
+                        : ConversionCache.forConverter(propertyAnnotation.converter());
+                replacementProperty = new ConvertedProperty(replacementProperty, propertyAnnotation.converter(), conversionCache);
             }
             if (!propertyAnnotation.key().equals("")) {
                 replacementName = propertyAnnotation.key();
@@ -138,7 +133,7 @@ public class AnnotationAwarePropertyUtils extends PropertyUtils {
                 replacementProperty = new SkippedProperty(replacementProperty);
             }
 
-            if (!(replacementProperty instanceof AnnotatedProperty)) {
+            if (replacementProperty == defaultProperty) {
                 // be sure to use the AnnotatedProperty as base class, so common functionality works
                 replacementProperty = new AnnotatedProperty(replacementProperty);
             }
@@ -148,29 +143,6 @@ public class AnnotationAwarePropertyUtils extends PropertyUtils {
         return new ReplacementResult(replacementName, replacementProperty);
     }
 
-    /**
-     * Taken from <a href="https://stackoverflow.com/questions/8236945/case-insensitive-string-as-hashmap-key">here</a>.
-     * 
-     * @param <T> type of values in map
-     * @return a case insensitive map
-     */
-    private static <T> Map<String, T> caseInsensitiveMap() {
-        return new TreeMap<String, T>(String.CASE_INSENSITIVE_ORDER);
-    }
-
-    /**
-     * Creates a new map that is case insensitive and contains all entries of the given map.
-     * 
-     * @param <T> type of values in map
-     * @param map map
-     * @return case insensitive version of given map
-     */
-    private static <T> Map<String, T> toCaseInsensitiveMap(Map<String, T> map) {
-        Map<String, T> caseInsensitiveMap = caseInsensitiveMap();
-        caseInsensitiveMap.putAll(map);
-        return caseInsensitiveMap;
-    }
-
     /**
      * Name/YamlProperty value holder.
      * 
@@ -0,0 +1,164 @@
+package de.beosign.snakeyamlanno;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * Immutable map with case insensitive string keys. Two keys are equal if they are equal according to {@link String#CASE_INSENSITIVE_ORDER}, but unlike a
+ * {@link java.util.TreeMap} using that comparator, a key is looked up by a hash of its case folded characters, so a lookup takes constant time and does not
+ * allocate.
+ * </p>
+ * <p>
+ * The entries are iterated in the order of the map the index was created from. If that map contains keys that differ in case only, the first key is kept
+ * together with the value of the last key, just as {@link java.util.TreeMap#putAll(Map)} would do.
+ * </p>
+ *
+ * @author florian
+ * @param <V> type of values
+ * @since 1.4.0
+ */
+final class CaseInsensitiveIndex<V> extends AbstractMap<String, V> {
+    private final String[] keys;
+    private final Object[] values;
+    private final int[] hashes;
+    /** Open addressing table of positions in {@link #keys}, plus one; <code>0</code> marks a free slot. */
+    private final int[] table;
+    private final int size;
+
+    /**
+     * Creates the index.
+     *
+     * @param map entries of the index
+     */
+    CaseInsensitiveIndex(Map<String, ? extends V> map) {
+        keys = new String[map.size()];
+        values = new Object[map.size()];
+        hashes = new int[map.size()];
+        table = new int[tableSize(map.size())];
+
+        int count = 0;
+        for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+            int hash = hash(entry.getKey());
+            int position = find(entry.getKey(), hash);
+            if (position >= 0) {
+                values[position] = entry.getValue();
+            } else {
+                keys[count] = entry.getKey();
+                values[count] = entry.getValue();
+                hashes[count] = hash;
+                table[-position - 1] = count + 1;
+                count++;
+            }
+        }
+        size = count;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int position = find((String) key, hash((String) key));
+        return position >= 0 ? value(position) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && find((String) key, hash((String) key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<Map.Entry<String, V>>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return new Iterator<Map.Entry<String, V>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Map.Entry<String, V> next() {
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, V> entry = new SimpleImmutableEntry<>(keys[next], value(next));
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Looks up the position of a key.
+     *
+     * @param key key
+     * @param hash hash of the key
+     * @return position of the key in {@link #keys}, or <code>-(slot + 1)</code> of the free slot of the table where the key would be inserted
+     */
+    private int find(String key, int hash) {
+        int mask = table.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -slot - 1;
+            }
+            int position = entry - 1;
+            if (hashes[position] == hash && keys[position].length() == key.length() && keys[position].regionMatches(true, 0, key, 0, key.length())) {
+                return position;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int position) {
+        return (V) values[position];
+    }
+
+    /**
+     * Calculates the hash of the case folded key, folding each character in the same way as {@link String#CASE_INSENSITIVE_ORDER} does.
+     *
+     * @param key key
+     * @return hash
+     */
+    private static int hash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        // spread the higher bits as the table size is a power of two
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @param entries number of entries
+     * @return power of two that keeps the load factor of the table at 0.5 or below
+     */
+    private static int tableSize(int entries) {
+        int tableSize = 2;
+        while (tableSize < entries * 2) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+}
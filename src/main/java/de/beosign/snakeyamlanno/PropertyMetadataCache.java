@@ -0,0 +1,185 @@
+package de.beosign.snakeyamlanno;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.yaml.snakeyaml.introspector.BeanAccess;
+import org.yaml.snakeyaml.introspector.Property;
+
+import de.beosign.snakeyamlanno.instrumentation.CacheType;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+import de.beosign.snakeyamlanno.property.YamlAnySetter;
+
+/**
+ * <p>
+ * Process-wide cache for the introspection results of {@link AnnotationAwarePropertyUtils}. The replaced property maps are stored per type, {@link BeanAccess}
+ * and case insensitivity, so all constructors and representers share the metadata of a type, no matter how many of them are created or in which thread they
+ * are used.
+ * </p>
+ * <p>
+ * The metadata is attached to the {@link Class} object via a {@link ClassValue}, so it does not prevent a class (and its class loader) from being garbage
+ * collected.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class PropertyMetadataCache {
+    private static final ClassValue<ConcurrentMap<Key, Map<String, Property>>> PROPERTIES = new ClassValue<ConcurrentMap<Key, Map<String, Property>>>() {
+        @Override
+        protected ConcurrentMap<Key, Map<String, Property>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<Optional<Method>> ANY_SETTERS = new ClassValue<Optional<Method>>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            return Optional.ofNullable(findAnySetter(type));
+        }
+    };
+
+    private static final ClassValue<Optional<MethodHandle>> ANY_SETTER_HANDLES = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return Optional.ofNullable(getAnySetter(type)).map(PropertyMetadataCache::unreflectAnySetter);
+        }
+    };
+
+    private PropertyMetadataCache() {
+    }
+
+    /**
+     * Returns the cached property map for the given parameters. If there is none yet, it is created using the given supplier; the supplier is called at most
+     * once per type, bean access and case insensitivity. Each call is reported to the {@link InstrumentationListener} as access to the
+     * {@link CacheType#PROPERTIES} cache.
+     *
+     * @param type type
+     * @param beanAccess bean access
+     * @param caseInsensitive whether the map is case insensitive
+     * @param propertiesSupplier creates the (unmodifiable) property map if it is not yet cached
+     * @return property map
+     */
+    public static Map<String, Property> getPropertiesMap(Class<?> type, BeanAccess beanAccess, boolean caseInsensitive,
+            Supplier<Map<String, Property>> propertiesSupplier) {
+        ConcurrentMap<Key, Map<String, Property>> propertiesMaps = PROPERTIES.get(type);
+        Key key = new Key(beanAccess, caseInsensitive);
+        Map<String, Property> properties = propertiesMaps.get(key);
+        InstrumentationListener listener = Instrumentation.getListener();
+        if (listener != null) {
+            listener.cacheAccessed(CacheType.PROPERTIES, properties != null);
+        }
+        if (properties == null) {
+            properties = propertiesMaps.computeIfAbsent(key, k -> propertiesSupplier.get());
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the public method annotated with {@link YamlAnySetter} of the given type or any of its super types.
+     *
+     * @param type type
+     * @return any setter method or <code>null</code> if there is none
+     */
+    public static Method getAnySetter(Class<?> type) {
+        return ANY_SETTERS.get(type).orElse(null);
+    }
+
+    /**
+     * Returns the method handle of the {@link #getAnySetter(Class) any setter} of the given type, adapted to the type
+     * <code>(Object, String, Object)void</code>.
+     *
+     * @param type type
+     * @return method handle or <code>null</code> if there is no any setter or it cannot be accessed by a method handle
+     * @since 1.4.0
+     */
+    public static MethodHandle getAnySetterHandle(Class<?> type) {
+        return ANY_SETTER_HANDLES.get(type).orElse(null);
+    }
+
+    /**
+     * Removes all metadata that is cached for the given type, so it will be recalculated on next access.
+     *
+     * @param type type
+     */
+    public static void invalidate(Class<?> type) {
+        PROPERTIES.remove(type);
+        ANY_SETTERS.remove(type);
+        ANY_SETTER_HANDLES.remove(type);
+    }
+
+    private static Method findAnySetter(Class<?> type) {
+        List<Class<?>> typesInHierarchy = new ArrayList<>();
+        typesInHierarchy.add(type);
+        typesInHierarchy.addAll(ClassUtils.getAllSuperclasses(type));
+        typesInHierarchy.addAll(ClassUtils.getAllInterfaces(type));
+
+        return typesInHierarchy.stream()
+                .flatMap(t -> Arrays.stream(t.getDeclaredMethods()))
+                .filter(m -> Modifier.isPublic(m.getModifiers()))
+                .filter(m -> m.isAnnotationPresent(YamlAnySetter.class))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static MethodHandle unreflectAnySetter(Method anySetterMethod) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(anySetterMethod);
+            if (Modifier.isStatic(anySetterMethod.getModifiers())) {
+                // like Method.invoke, ignore the target object
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(void.class, Object.class, String.class, Object.class));
+        } catch (IllegalAccessException | WrongMethodTypeException e) {
+            // the any setter is invoked reflectively
+            return null;
+        }
+    }
+
+    /**
+     * Cache key within a type.
+     *
+     * @author florian
+     */
+    private static final class Key {
+        private final BeanAccess beanAccess;
+        private final boolean caseInsensitive;
+
+        private Key(BeanAccess beanAccess, boolean caseInsensitive) {
+            this.beanAccess = beanAccess;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(beanAccess, caseInsensitive);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return beanAccess == other.beanAccess && caseInsensitive == other.caseInsensitive;
+        }
+    }
+}
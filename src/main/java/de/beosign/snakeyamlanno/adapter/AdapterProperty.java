@@ -0,0 +1,202 @@
+package de.beosign.snakeyamlanno.adapter;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.introspector.FieldProperty;
+import org.yaml.snakeyaml.introspector.MethodProperty;
+import org.yaml.snakeyaml.introspector.Property;
+
+/**
+ * <p>
+ * Property that is created by a generated {@link YamlAdapter}. The getter and setter are called directly by generated code.
+ * </p>
+ * <p>
+ * The annotations of SnakeYAML-Anno on the property are generated as well, so they are not read by reflection. Only if necessary, the property creates a
+ * delegate, i.e. the {@link MethodProperty} or {@link FieldProperty} SnakeYAML would have discovered by introspection. The delegate is used to read other
+ * annotations of the property if the property has any, and to set values that the setter does not accept without conversion, so conversions and error
+ * messages are the same as without an adapter.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class AdapterProperty extends Property {
+    private final Class<?> beanType;
+    private final String getterName;
+    private final String setterName;
+    private final Class<?>[] actualTypeArguments;
+    private final List<Annotation> annotations;
+    private final boolean reflectiveAnnotations;
+    private final Getter getter;
+    private final Setter setter;
+    private final Class<?> valueType;
+    private volatile Property delegate;
+
+    private AdapterProperty(Class<?> beanType, String name, Class<?> type, Class<?>[] actualTypeArguments, List<Annotation> annotations,
+            boolean reflectiveAnnotations, String getterName, Getter getter, String setterName, Setter setter) {
+        super(name, type);
+        this.beanType = beanType;
+        this.actualTypeArguments = actualTypeArguments;
+        this.annotations = Collections.unmodifiableList(new ArrayList<>(annotations));
+        this.reflectiveAnnotations = reflectiveAnnotations;
+        this.getterName = getterName;
+        this.getter = getter;
+        this.setterName = setterName;
+        this.setter = setter;
+        this.valueType = ClassUtils.primitiveToWrapper(type);
+    }
+
+    /**
+     * Creates a property that is accessed by a getter and/or a setter.
+     *
+     * @param beanType type the property belongs to
+     * @param name name of the property
+     * @param type (erased) type of the property
+     * @param actualTypeArguments actual type arguments of the property type or <code>null</code>, see {@link Property#getActualTypeArguments()}
+     * @param annotations annotations of SnakeYAML-Anno on the getter, followed by those on the setter
+     * @param reflectiveAnnotations whether the getter or setter have other annotations that are retained at runtime
+     * @param getterName name of the getter or <code>null</code> if the property is not readable
+     * @param getter calls the getter or <code>null</code> if the property is not readable
+     * @param setterName name of the setter or <code>null</code> if the property is not writable
+     * @param setter calls the setter or <code>null</code> if the property is not writable
+     * @return property
+     */
+    public static AdapterProperty ofMethods(Class<?> beanType, String name, Class<?> type, Class<?>[] actualTypeArguments,
+            List<Annotation> annotations, boolean reflectiveAnnotations, String getterName, Getter getter, String setterName, Setter setter) {
+        return new AdapterProperty(beanType, name, type, actualTypeArguments, annotations, reflectiveAnnotations, getterName, getter, setterName, setter);
+    }
+
+    /**
+     * Creates a property that is accessed by a public field.
+     *
+     * @param beanType type the property belongs to
+     * @param name name of the field
+     * @param type (erased) type of the field
+     * @param actualTypeArguments actual type arguments of the field type or <code>null</code>, see {@link Property#getActualTypeArguments()}
+     * @param annotations annotations of SnakeYAML-Anno on the field
+     * @param reflectiveAnnotations whether the field has other annotations that are retained at runtime
+     * @param getter reads the field
+     * @param setter writes the field or <code>null</code> if the field is final
+     * @return property
+     */
+    public static AdapterProperty ofField(Class<?> beanType, String name, Class<?> type, Class<?>[] actualTypeArguments,
+            List<Annotation> annotations, boolean reflectiveAnnotations, Getter getter, Setter setter) {
+        return new AdapterProperty(beanType, name, type, actualTypeArguments, annotations, reflectiveAnnotations, null, getter, null, setter);
+    }
+
+    @Override
+    public Class<?>[] getActualTypeArguments() {
+        return actualTypeArguments == null ? null : actualTypeArguments.clone();
+    }
+
+    @Override
+    public void set(Object object, Object value) throws Exception {
+        if (setter == null || (value == null ? getType().isPrimitive() : !valueType.isInstance(value))) {
+            getDelegate().set(object, value);
+            return;
+        }
+        setter.set(object, value);
+    }
+
+    @Override
+    public Object get(Object object) {
+        if (getter == null) {
+            return getDelegate().get(object);
+        }
+        try {
+            return getter.get(object);
+        } catch (Exception e) {
+            throw new YAMLException("Unable to get property '" + getName() + "' on object " + object + ":" + e, e);
+        }
+    }
+
+    @Override
+    public List<Annotation> getAnnotations() {
+        return reflectiveAnnotations ? getDelegate().getAnnotations() : annotations;
+    }
+
+    @Override
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType() == annotationType) {
+                return annotationType.cast(annotation);
+            }
+        }
+        return reflectiveAnnotations ? getDelegate().getAnnotation(annotationType) : null;
+    }
+
+    @Override
+    public boolean isReadable() {
+        return isField() || getterName != null;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return isField() || setterName != null;
+    }
+
+    private boolean isField() {
+        return getterName == null && setterName == null;
+    }
+
+    /**
+     * @return the property SnakeYAML would have discovered
+     */
+    private Property getDelegate() {
+        Property result = delegate;
+        if (result == null) {
+            result = createDelegate();
+            delegate = result;
+        }
+        return result;
+    }
+
+    private Property createDelegate() {
+        try {
+            if (isField()) {
+                return new FieldProperty(beanType.getField(getName()));
+            }
+            return new MethodProperty(new PropertyDescriptor(getName(), getterName == null ? null : beanType.getMethod(getterName),
+                    setterName == null ? null : beanType.getMethod(setterName, getType())));
+        } catch (NoSuchFieldException | NoSuchMethodException | IntrospectionException e) {
+            throw new YAMLException("Adapter of " + beanType.getName() + " does not match the class, property " + getName() + " not found", e);
+        }
+    }
+
+    /**
+     * Reads the value of the property.
+     *
+     * @author florian
+     */
+    @FunctionalInterface
+    public interface Getter {
+        /**
+         * @param bean JavaBean
+         * @return value of the property
+         * @throws Exception if the getter throws an exception
+         */
+        Object get(Object bean) throws Exception;
+    }
+
+    /**
+     * Writes the value of the property.
+     *
+     * @author florian
+     */
+    @FunctionalInterface
+    public interface Setter {
+        /**
+         * @param bean JavaBean
+         * @param value value, which is an instance of the property type
+         * @throws Exception if the setter throws an exception
+         */
+        void set(Object bean, Object value) throws Exception;
+    }
+}
@@ -0,0 +1,39 @@
+package de.beosign.snakeyamlanno.adapter;
+
+import java.util.Map;
+
+import org.yaml.snakeyaml.introspector.Property;
+
+/**
+ * <p>
+ * Binding adapter of a JavaBean type that provides the JavaBean properties of the type without introspection and accesses them without reflection.
+ * </p>
+ * <p>
+ * Adapters are generated at compile time by the annotation processor of the <code>processor</code> artifact for all classes that use annotations of this
+ * library. An adapter is named like the binary name of the type it adapts, followed by <code>_YamlAdapter</code>, and is picked up automatically by the
+ * {@link de.beosign.snakeyamlanno.AnnotationAwarePropertyUtils} if it is present, see {@link YamlAdapters}.
+ * </p>
+ *
+ * @param <T> adapted type
+ * @author florian
+ * @since 1.4.0
+ */
+public interface YamlAdapter<T> {
+    /**
+     * Suffix of the name of the adapter class.
+     */
+    String CLASS_NAME_SUFFIX = "_YamlAdapter";
+
+    /**
+     * @return adapted type
+     */
+    Class<T> getType();
+
+    /**
+     * Creates the JavaBean properties of the adapted type, exactly as SnakeYAML would discover them with {@link org.yaml.snakeyaml.introspector.BeanAccess#DEFAULT}
+     * bean access.
+     *
+     * @return properties by name in the order SnakeYAML would discover them
+     */
+    Map<String, Property> createProperties();
+}
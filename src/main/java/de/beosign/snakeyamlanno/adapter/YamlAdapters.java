@@ -0,0 +1,60 @@
+package de.beosign.snakeyamlanno.adapter;
+
+import java.util.Optional;
+
+import org.yaml.snakeyaml.error.YAMLException;
+
+/**
+ * Looks up the generated {@link YamlAdapter} of a type. The result of the lookup is attached to the type by means of a {@link ClassValue}, so the adapter
+ * class is searched only once per type.
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class YamlAdapters {
+    private static final ClassValue<Optional<YamlAdapter<?>>> ADAPTERS = new ClassValue<Optional<YamlAdapter<?>>>() {
+        @Override
+        protected Optional<YamlAdapter<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(findAdapter(type));
+        }
+    };
+
+    private YamlAdapters() {
+    }
+
+    /**
+     * Returns the adapter of the given type.
+     *
+     * @param <T> type
+     * @param type type
+     * @return adapter or <code>null</code> if no adapter has been generated for the given type
+     * @throws YAMLException if the adapter class exists but cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> YamlAdapter<T> getAdapter(Class<T> type) {
+        return (YamlAdapter<T>) ADAPTERS.get(type).orElse(null);
+    }
+
+    private static YamlAdapter<?> findAdapter(Class<?> type) {
+        if (type.getClassLoader() == null || type.isArray() || type.isPrimitive()) {
+            return null;
+        }
+
+        Class<?> adapterClass;
+        try {
+            adapterClass = Class.forName(type.getName() + YamlAdapter.CLASS_NAME_SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        if (!YamlAdapter.class.isAssignableFrom(adapterClass)) {
+            return null;
+        }
+        try {
+            YamlAdapter<?> adapter = (YamlAdapter<?>) adapterClass.getConstructor().newInstance();
+            return adapter.getType() == type ? adapter : null;
+        } catch (ReflectiveOperationException e) {
+            throw new YAMLException("Cannot create adapter " + adapterClass.getName(), e);
+        }
+    }
+}
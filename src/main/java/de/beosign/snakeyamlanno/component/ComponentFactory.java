@@ -0,0 +1,28 @@
+package de.beosign.snakeyamlanno.component;
+
+/**
+ * <p>
+ * Provides the instances of the user defined extension classes that are referenced by annotations or registrations, i.e. {@code CustomConstructor}s,
+ * {@code CustomInstantiator}s, {@code Converter}s and {@code SkipAtDumpPredicate}s.
+ * </p>
+ * <p>
+ * Implementations decide whether an instance is reused or whether a new instance is created for each use, see {@link DefaultComponentFactory}.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public interface ComponentFactory {
+
+    /**
+     * Returns an instance of the given type.
+     *
+     * @param type component type
+     * @param <T> component type
+     * @return instance, not <code>null</code>
+     * @throws InstantiationException if the type cannot be instantiated
+     * @throws IllegalAccessException if the type or its no-arg constructor is not accessible
+     */
+    <T> T getComponent(Class<T> type) throws InstantiationException, IllegalAccessException;
+
+}
@@ -0,0 +1,106 @@
+package de.beosign.snakeyamlanno.component;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Component factory that creates exactly one instance per class and reuses it for every use. Classes that are annotated with {@link YamlStateful} are
+ * instantiated for each use instead.
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class DefaultComponentFactory implements ComponentFactory {
+    private static final DefaultComponentFactory instance = new DefaultComponentFactory();
+
+    private final ClassValue<ComponentHolder> holders = new ClassValue<ComponentHolder>() {
+        @Override
+        protected ComponentHolder computeValue(Class<?> type) {
+            return new ComponentHolder(isShared(type));
+        }
+    };
+
+    /**
+     * Returns the singleton instance.
+     *
+     * @return singleton
+     */
+    public static DefaultComponentFactory getInstance() {
+        return instance;
+    }
+
+    @Override
+    public <T> T getComponent(Class<T> type) throws InstantiationException, IllegalAccessException {
+        ComponentHolder holder = holders.get(type);
+        if (!holder.shared) {
+            return createComponent(type);
+        }
+
+        Object component = holder.component.get();
+        if (component == null) {
+            holder.component.compareAndSet(null, createComponent(type));
+            component = holder.component.get();
+        }
+        return type.cast(component);
+    }
+
+    /**
+     * Determines whether one instance of the given type may be reused.
+     *
+     * @param type component type
+     * @return <code>true</code> if the type is not annotated with {@link YamlStateful}
+     */
+    protected boolean isShared(Class<?> type) {
+        return !type.isAnnotationPresent(YamlStateful.class);
+    }
+
+    /**
+     * Creates a new instance of the given type by calling its no-arg constructor. Neither the type nor the constructor may be private; they need not be
+     * public, though.
+     *
+     * @param type component type
+     * @param <T> component type
+     * @return new instance
+     * @throws InstantiationException if the type cannot be instantiated
+     * @throws IllegalAccessException if the type or its no-arg constructor is private
+     */
+    protected <T> T createComponent(Class<T> type) throws InstantiationException, IllegalAccessException {
+        if (Modifier.isPrivate(type.getModifiers())) {
+            throw new IllegalAccessException("Component type " + type.getName() + " must not be private");
+        }
+
+        Constructor<T> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw (InstantiationException) new InstantiationException("Component type " + type.getName() + " has no no-arg constructor").initCause(e);
+        }
+        if (Modifier.isPrivate(constructor.getModifiers())) {
+            throw new IllegalAccessException("No-arg constructor of component type " + type.getName() + " must not be private");
+        }
+
+        constructor.setAccessible(true);
+        try {
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            throw (InstantiationException) new InstantiationException("Cannot create component of type " + type.getName()).initCause(e.getCause());
+        }
+    }
+
+    /**
+     * Holds the shared instance of a type.
+     *
+     * @author florian
+     */
+    private static final class ComponentHolder {
+        private final boolean shared;
+        private final AtomicReference<Object> component = new AtomicReference<>();
+
+        private ComponentHolder(boolean shared) {
+            this.shared = shared;
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.beosign.snakeyamlanno.component;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Marks a {@code CustomConstructor}, {@code CustomInstantiator}, {@code Converter} or {@code SkipAtDumpPredicate} implementation as stateful.
+ * </p>
+ * <p>
+ * By default, the {@link DefaultComponentFactory} creates only one instance per implementation class and reuses it, so implementations must be thread-safe.
+ * For classes annotated with this annotation, a new instance is created for each use instead.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+@Target({ TYPE })
+@Retention(RUNTIME)
+@Documented
+public @interface YamlStateful {
+}
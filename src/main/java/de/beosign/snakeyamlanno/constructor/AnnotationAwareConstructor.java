@@ -3,17 +3,23 @@ package de.beosign.snakeyamlanno.constructor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.ClassUtils;
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.TypeDescription;
 import org.yaml.snakeyaml.constructor.Construct;
 import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.constructor.ConstructorException;
+import org.yaml.snakeyaml.constructor.DuplicateKeyException;
+import org.yaml.snakeyaml.error.Mark;
 import org.yaml.snakeyaml.error.YAMLException;
 import org.yaml.snakeyaml.introspector.Property;
 import org.yaml.snakeyaml.nodes.MappingNode;
@@ -21,8 +27,13 @@ import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.NodeId;
 import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
 
 import de.beosign.snakeyamlanno.AnnotationAwarePropertyUtils;
+import de.beosign.snakeyamlanno.component.ComponentFactory;
+import de.beosign.snakeyamlanno.component.DefaultComponentFactory;
+import de.beosign.snakeyamlanno.convert.Converter;
 import de.beosign.snakeyamlanno.instantiator.CustomInstantiator;
 import de.beosign.snakeyamlanno.instantiator.DefaultCustomInstantiator;
 import de.beosign.snakeyamlanno.instantiator.DefaultGlobalInstantiator;
@@ -30,6 +41,11 @@ import de.beosign.snakeyamlanno.instantiator.DefaultInstantiator;
 import de.beosign.snakeyamlanno.instantiator.GlobalCustomInstantiator;
 import de.beosign.snakeyamlanno.instantiator.GlobalInstantiator;
 import de.beosign.snakeyamlanno.instantiator.YamlInstantiateBy;
+import de.beosign.snakeyamlanno.instrumentation.CacheType;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+import de.beosign.snakeyamlanno.property.AnnotatedProperty;
+import de.beosign.snakeyamlanno.property.Lazy;
 import de.beosign.snakeyamlanno.property.YamlProperty;
 
 /**
@@ -38,10 +54,21 @@ import de.beosign.snakeyamlanno.property.YamlProperty;
  * @author florian
  */
 public class AnnotationAwareConstructor extends Constructor {
-    private Map<Class<?>, YamlConstructBy> constructByMap = new HashMap<>();
-    private Map<Class<?>, YamlInstantiateBy> instantiateByMap = new HashMap<>();
-    private IdentityHashMap<Node, Property> nodeToPropertyMap = new IdentityHashMap<>();
+    private final ResolutionTable<YamlConstructBy> constructByTable = new ResolutionTable<>(this::getConstructBy, CacheType.CONSTRUCT_BY);
+    private final ResolutionTable<YamlInstantiateBy> instantiateByTable = new ResolutionTable<>(this::getInstantiateBy, CacheType.INSTANTIATE_BY);
+    private ConstructionContext constructionContext;
+    /** Held while a document or a lazy value is constructed. */
+    private final ReentrantLock constructionLock = new ReentrantLock();
+    /** Number of enclosing properties whose exceptions are ignored. */
+    private int ignoreExceptionsDepth;
     private GlobalInstantiator globalInstantiator = new DefaultGlobalInstantiator();
+    private ComponentFactory componentFactory = DefaultComponentFactory.getInstance();
+    private StringPool stringPool;
+    private int documentStringPoolSize;
+    /** Objects of a previous load that are used instead of constructing the nodes again. */
+    private Map<Node, Object> reusableObjects;
+    /** Records the objects constructed from collection and mapping nodes. */
+    private Map<Node, Object> recordedObjects;
 
     /**
      * Creates constructor.
@@ -63,6 +90,7 @@ public class AnnotationAwareConstructor extends Constructor {
         setPropertyUtils(new AnnotationAwarePropertyUtils(caseInsensitive));
         yamlClassConstructors.put(NodeId.mapping, new AnnotationAwareMappingConstructor());
         yamlClassConstructors.put(NodeId.scalar, new AnnotationAwareScalarConstructor());
+        yamlConstructors.put(Tag.STR, new AnnotationAwareStringConstructor());
     }
 
     /**
@@ -79,6 +107,226 @@ public class AnnotationAwareConstructor extends Constructor {
         this.globalInstantiator = globalInstantiator;
     }
 
+    /**
+     * Sets the factory that provides the {@link CustomConstructor}, {@link CustomInstantiator} and {@link Converter} instances. By default, the
+     * {@link DefaultComponentFactory} is used, which reuses one instance per class.
+     * 
+     * @param componentFactory component factory - must not be <code>null</code>
+     * @throws NullPointerException if parameter is null
+     * @since 1.4.0
+     */
+    public void setComponentFactory(ComponentFactory componentFactory) {
+        Objects.requireNonNull(componentFactory, "Component factory must not be set to null");
+        this.componentFactory = componentFactory;
+    }
+
+    /**
+     * @return the factory that provides the {@link CustomConstructor}, {@link CustomInstantiator} and {@link Converter} instances
+     * @since 1.4.0
+     */
+    public ComponentFactory getComponentFactory() {
+        return componentFactory;
+    }
+
+    /**
+     * Sets a pool that deduplicates the strings of all documents constructed by this constructor. The pool may be shared with other constructors. A shared
+     * pool takes precedence over a {@link #setDocumentStringPoolSize(int) pool per document}.
+     * 
+     * @param stringPool string pool or <code>null</code> to disable the shared pool
+     * @since 1.4.0
+     */
+    public void setStringPool(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * @return pool that deduplicates the strings of all documents or <code>null</code> if there is none
+     * @since 1.4.0
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+
+    /**
+     * Enables the deduplication of strings within each document: a new {@link StringPool} of the given size is used for each document and discarded
+     * afterwards. This is ignored if a {@link #setStringPool(StringPool) shared pool} is set.
+     * 
+     * @param maximumSize maximum number of pooled strings per document; 0 disables the deduplication per document
+     * @throws IllegalArgumentException if the maximum size is negative
+     * @since 1.4.0
+     */
+    public void setDocumentStringPoolSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative, but is " + maximumSize);
+        }
+        this.documentStringPoolSize = maximumSize;
+    }
+
+    /**
+     * @return maximum number of pooled strings per document; 0 if strings are not deduplicated per document
+     * @since 1.4.0
+     */
+    public int getDocumentStringPoolSize() {
+        return documentStringPoolSize;
+    }
+
+    /**
+     * Overridden to construct the document within its own {@link ConstructionContext}.
+     */
+    @Override
+    public Object getData() {
+        return constructInContext(super::getData);
+    }
+
+    /**
+     * Overridden to construct the document within its own {@link ConstructionContext}.
+     */
+    @Override
+    public Object getSingleData(Class<?> type) {
+        return constructInContext(() -> super.getSingleData(type));
+    }
+
+    /**
+     * Runs the construction of a document within a new {@link ConstructionContext} that is discarded afterwards. The construction holds a lock, so values
+     * of lazy properties are not constructed by other threads at the same time.
+     * 
+     * @param documentConstructor constructs the document
+     * @param <T> type of the constructed document
+     * @return constructed document
+     * @since 1.4.0
+     */
+    protected <T> T constructInContext(Supplier<T> documentConstructor) {
+        return constructInContext(documentConstructor, new IdentityHashMap<>());
+    }
+
+    /**
+     * Runs a construction within a new {@link ConstructionContext}.
+     * 
+     * @param documentConstructor constructs the document
+     * @param anchoredObjects objects constructed for the anchored nodes of the document
+     * @param <T> type of the constructed document
+     * @return constructed document
+     */
+    private <T> T constructInContext(Supplier<T> documentConstructor, Map<Node, Object> anchoredObjects) {
+        constructionLock.lock();
+        ConstructionContext outerContext = constructionContext;
+        try {
+            StringPool pool = stringPool != null ? stringPool : documentStringPoolSize > 0 ? new StringPool(documentStringPoolSize) : null;
+            constructionContext = new ConstructionContext(pool, anchoredObjects);
+            return documentConstructor.get();
+        } finally {
+            constructionContext = outerContext;
+            constructionLock.unlock();
+        }
+    }
+
+    /**
+     * Constructs a document that has already been composed, in the same way as {@link #getData()} does.
+     * 
+     * @param node root node of the document
+     * @return constructed document
+     */
+    Object constructComposedDocument(Node node) {
+        return constructComposedDocument(node, Object.class);
+    }
+
+    /**
+     * Constructs a document that has already been composed, in the same way as {@link #getSingleData(Class)} does.
+     * 
+     * @param node root node of the document
+     * @param type type of the document, or {@link Object} to construct the root type of this constructor
+     * @return constructed document
+     */
+    Object constructComposedDocument(Node node, Class<?> type) {
+        if (type != Object.class) {
+            node.setTag(new Tag(type));
+        } else if (rootTag != null) {
+            node.setTag(rootTag);
+        }
+        return constructInContext(() -> constructDocument(node));
+    }
+
+    /**
+     * Constructs a document that has already been composed, reusing the objects of unchanged nodes.
+     * 
+     * @param node root node of the document
+     * @param reusable objects to be returned for the given nodes instead of constructing them
+     * @param recorded receives the objects that are constructed or reused for collection and mapping nodes
+     * @return constructed document
+     */
+    Object constructComposedDocument(Node node, Map<Node, Object> reusable, Map<Node, Object> recorded) {
+        reusableObjects = reusable;
+        recordedObjects = recorded;
+        try {
+            return constructComposedDocument(node);
+        } finally {
+            reusableObjects = null;
+            recordedObjects = null;
+        }
+    }
+
+    /**
+     * Constructs the value of a lazy property. If this constructor is loading a document at the same time, the value is constructed afterwards, unless it is
+     * accessed from within the construction of the document. Anchored nodes that have already been constructed for the document or for other lazy values are
+     * not constructed again, so aliases refer to the same objects as without lazy construction.
+     * 
+     * @param node value node
+     * @param anchoredObjects objects constructed for the anchored nodes of the document the node belongs to
+     * @return value
+     */
+    private Object constructLazily(Node node, Map<Node, Object> anchoredObjects) {
+        constructionLock.lock();
+        try {
+            if (constructionLock.getHoldCount() > 1) {
+                // the value is accessed while a document is being constructed, so the state of the document must be kept
+                return constructInContext(() -> constructObject(node), anchoredObjects);
+            }
+            return constructInContext(() -> constructDocument(node), anchoredObjects);
+        } finally {
+            constructionLock.unlock();
+        }
+    }
+
+    /**
+     * Overridden to reuse and record objects when constructing a document incrementally, and to keep the objects of anchored nodes for lazy values.
+     */
+    @Override
+    protected Object constructObject(Node node) {
+        Map<Node, Object> anchoredObjects = node.getAnchor() == null || constructionContext == null ? null : constructionContext.getAnchoredObjects();
+        Object object;
+        if (reusableObjects != null && reusableObjects.containsKey(node)) {
+            object = reusableObjects.get(node);
+        } else if (anchoredObjects != null && anchoredObjects.containsKey(node)) {
+            object = anchoredObjects.get(node);
+        } else {
+            object = super.constructObject(node);
+        }
+        if (anchoredObjects != null) {
+            anchoredObjects.put(node, object);
+        }
+        if (recordedObjects != null && node.getNodeId() != NodeId.scalar) {
+            recordedObjects.put(node, object);
+        }
+        return object;
+    }
+
+    /**
+     * @return loader options of this constructor
+     */
+    LoaderOptions getLoaderOptions() {
+        return loadingConfig;
+    }
+
+    /**
+     * Returns the context of the document that is currently being constructed.
+     * 
+     * @return construction context or <code>null</code> if no document is being constructed
+     * @since 1.4.0
+     */
+    protected ConstructionContext getConstructionContext() {
+        return constructionContext;
+    }
+
     /**
      * Overridden to implement the "instantiator" feature.
      */
@@ -90,10 +338,17 @@ public class AnnotationAwareConstructor extends Constructor {
          *  2. call global instantiator and return value => done
          */
         DefaultInstantiator defaultInstantiator = (anc, n, tryDef) -> super.newInstance(anc, n, tryDef);
-        YamlInstantiateBy instantiateBy = getInstantiateBy(node.getType());
+        YamlInstantiateBy instantiateBy = instantiateByTable.resolve(node.getType());
         if (instantiateBy != null) {
             try {
-                return instantiateBy.value().newInstance().createInstance(node, tryDefault, ancestor, defaultInstantiator, globalInstantiator);
+                CustomInstantiator<?> instantiator = componentFactory.getComponent(instantiateBy.value());
+                InstrumentationListener listener = Instrumentation.getListener();
+                long start = Instrumentation.start(listener);
+                Object instance = instantiator.createInstance(node, tryDefault, ancestor, defaultInstantiator, globalInstantiator);
+                if (listener != null) {
+                    listener.customInstantiated(instantiateBy.value(), Instrumentation.elapsed(start));
+                }
+                return instance;
             } catch (IllegalAccessException e) {
                 throw new InstantiationException(
                         "Cannot create instance using custom instantiator " + instantiateBy.value() + "for node " + node + " of type " + node.getType() + ": " + e.getMessage());
@@ -112,8 +367,8 @@ public class AnnotationAwareConstructor extends Constructor {
      */
     protected List<?> constructNodeAsList(Node node, Function<? super Node, ? extends Object> defaultConstructor) {
         Class<?> origType = node.getType();
-        Property propertyOfNode = nodeToPropertyMap.get(node);
-        if (propertyOfNode.getActualTypeArguments() != null && propertyOfNode.getActualTypeArguments().length > 0) {
+        Property propertyOfNode = constructionContext.getProperty(node);
+        if (propertyOfNode != null && propertyOfNode.getActualTypeArguments() != null && propertyOfNode.getActualTypeArguments().length > 0) {
             node.setType(propertyOfNode.getActualTypeArguments()[0]);
         }
         Object singleObject = constructObject(node, defaultConstructor);
@@ -134,75 +389,245 @@ public class AnnotationAwareConstructor extends Constructor {
     protected class AnnotationAwareMappingConstructor extends ConstructMapping {
         @Override
         public Object construct(Node node) {
+            InstrumentationListener listener = Instrumentation.getListener();
+            long start = Instrumentation.start(listener);
+            Object constructed;
             if (Collection.class.isAssignableFrom(node.getType())) {
-                return constructNodeAsList(node, super::construct);
+                constructed = constructNodeAsList(node, super::construct);
             } else {
-                return constructObject(node, super::construct);
+                constructed = constructObject(node, super::construct);
+            }
+            if (listener != null) {
+                listener.constructed(node.getType(), Instrumentation.elapsed(start));
             }
+            return constructed;
         }
 
         @Override
         protected Object constructJavaBean2ndStep(MappingNode node, Object object) {
-            List<NodeTuple> nodeTuplesToBeRemoved = new ArrayList<>();
+            constructionContext.enterBean(object);
+            try {
+                return constructJavaBeanProperties(node, object);
+            } finally {
+                constructionContext.exitBean();
+            }
+        }
+
+        /**
+         * Binds the tuples of the given node to the properties of the bean in a single pass, resolving the key and the property of each tuple only once.
+         * Apart from merging keys and removing duplicate keys, which is done by SnakeYAML as well, the node is not modified.
+         * 
+         * @param node mapping node
+         * @param object bean
+         * @return bean
+         */
+        private Object constructJavaBeanProperties(MappingNode node, Object object) {
+            flattenMapping(node);
 
             Class<? extends Object> beanType = node.getType();
-            List<NodeTuple> nodeValue = node.getValue();
-            for (NodeTuple tuple : nodeValue) {
+            TypeDescription memberDescription = typeDefinitions.get(beanType);
+            for (NodeTuple tuple : node.getValue()) {
                 ScalarNode keyNode = getKeyNode(tuple);
 
                 keyNode.setType(String.class);
                 String key = (String) AnnotationAwareConstructor.this.constructObject(keyNode);
 
-                TypeDescription memberDescription = typeDefinitions.get(beanType);
                 Property property = memberDescription == null ? getProperty(beanType, key) : memberDescription.getProperty(key);
                 Node valueNode = tuple.getValueNode();
 
-                nodeToPropertyMap.put(valueNode, property);
-
-                if (property.getAnnotation(YamlConstructBy.class) != null) {
-                    Object value = null;
-                    try {
-                        @SuppressWarnings("unchecked")
-                        CustomConstructor<Object> cc = (CustomConstructor<Object>) property.getAnnotation(YamlConstructBy.class).value().newInstance();
-                        Construct constructor = getConstructor(valueNode);
-                        value = cc.construct(valueNode, constructor::construct);
-                        property.set(object, value);
-                        nodeTuplesToBeRemoved.add(tuple);
-                    } catch (YAMLException e) {
-                        throw e;
-                    } catch (InstantiationException | IllegalAccessException e) {
-                        throw new YAMLException(
-                                "Custom constructor " + property.getAnnotation(YamlConstructBy.class).value() + //
-                                        " on property " + object.getClass().getTypeName() + "::" + property + " cannot be created",
-                                e);
-                    } catch (Exception e) {
-                        throw new YAMLException(
-                                "Cannot set value of type " + (value != null ? value.getClass().getTypeName() : "null") + //
-                                        " into property " + object.getClass().getTypeName() + "::" + property,
-                                e);
+                constructionContext.assign(valueNode, property);
+
+                YamlConstructBy constructBy = property.getAnnotation(YamlConstructBy.class);
+                YamlProperty propertyAnnotation = property.getAnnotation(YamlProperty.class);
+                if (propertyAnnotation != null && propertyAnnotation.lazy()) {
+                    if (!propertyAnnotation.skipAtLoad()) {
+                        constructLazyProperty(beanType, object, property, valueNode, propertyAnnotation, constructBy != null);
                     }
+                } else if (constructBy != null) {
+                    constructPropertyBy(constructBy, property, valueNode, object);
                 } else {
-                    YamlProperty propertyAnnotation = property.getAnnotation(YamlProperty.class);
-                    boolean ignoreExceptions = (propertyAnnotation != null && propertyAnnotation.ignoreExceptions());
-
-                    if (ignoreExceptions) {
-                        /* 
-                         * Let YAML set the value.
-                         */
+                    boolean skip = propertyAnnotation != null && propertyAnnotation.skipAtLoad();
+                    if (propertyAnnotation != null && propertyAnnotation.ignoreExceptions()) {
+                        ignoreExceptionsDepth++;
                         try {
-                            Construct constructor = getConstructor(valueNode);
-                            constructor.construct(valueNode);
+                            constructProperty(node, object, memberDescription, tuple, key, property, skip);
                         } catch (Exception e) {
-                            // could not construct property
-                            nodeTuplesToBeRemoved.add(tuple);
+                            // could not construct property, so it remains unset
+                            InstrumentationListener listener = Instrumentation.getListener();
+                            if (listener != null) {
+                                listener.exceptionIgnored(beanType, property.getName(), e);
+                            }
+                        } finally {
+                            ignoreExceptionsDepth--;
                         }
+                    } else {
+                        constructProperty(node, object, memberDescription, tuple, key, property, skip);
+                    }
+                }
+            }
+
+            return object;
+        }
+
+        /**
+         * Sets a {@link Lazy} into the property that constructs the value node on first access.
+         * 
+         * @param beanType type of the bean
+         * @param object bean
+         * @param property lazy property
+         * @param valueNode node of the value
+         * @param propertyAnnotation annotation of the property
+         * @param constructBy whether the property is annotated with {@link YamlConstructBy}
+         */
+        private void constructLazyProperty(Class<?> beanType, Object object, Property property, Node valueNode, YamlProperty propertyAnnotation,
+                boolean constructBy) {
+            String propertyName = beanType.getTypeName() + "::" + property.getName();
+            if (property.getType() != Lazy.class && property.getType() != Supplier.class) {
+                throw new YAMLException("Lazy property " + propertyName + " must be of type " + Lazy.class.getName() + " or " + Supplier.class.getName()
+                        + (propertyAnnotation.converter() != Converter.NoConverter.class ? " and cannot have a converter" : ""));
+            }
+            if (constructBy) {
+                throw new YAMLException("Lazy property " + propertyName + " cannot be annotated with " + YamlConstructBy.class.getName());
+            }
+
+            Class<?>[] arguments = property.getActualTypeArguments();
+            valueNode.setType(arguments != null && arguments.length > 0 ? arguments[0] : Object.class);
+            Map<Node, Object> anchoredObjects = constructionContext.getAnchoredObjects();
+            Lazy<Object> lazy = Lazy.of(() -> {
+                try {
+                    return constructLazily(valueNode, anchoredObjects);
+                } catch (RuntimeException e) {
+                    if (!propertyAnnotation.ignoreExceptions()) {
+                        throw e;
                     }
+                    // could not construct value, so it remains null
+                    InstrumentationListener listener = Instrumentation.getListener();
+                    if (listener != null) {
+                        listener.exceptionIgnored(beanType, property.getName(), e);
+                    }
+                    return null;
+                }
+            });
+            try {
+                property.set(object, lazy);
+            } catch (Exception e) {
+                throw new YAMLException("Cannot set lazy value into property " + propertyName, e);
+            }
+        }
+
+        /**
+         * Sets the value into the property; annotated properties obtain their converters from the component factory of this constructor.
+         */
+        private void setProperty(Property property, Object object, Object value) throws Exception {
+            if (property instanceof AnnotatedProperty) {
+                ((AnnotatedProperty) property).set(object, value, componentFactory);
+            } else {
+                property.set(object, value);
+            }
+        }
+
+        private void constructPropertyBy(YamlConstructBy constructBy, Property property, Node valueNode, Object object) {
+            Object value = null;
+            try {
+                @SuppressWarnings("unchecked")
+                CustomConstructor<Object> cc = (CustomConstructor<Object>) componentFactory.getComponent(constructBy.value());
+                Construct constructor = getConstructor(valueNode);
+                InstrumentationListener listener = Instrumentation.getListener();
+                long start = Instrumentation.start(listener);
+                value = cc.construct(valueNode, constructor::construct, constructionContext);
+                if (listener != null) {
+                    listener.customConstructed(constructBy.value(), Instrumentation.elapsed(start));
                 }
+                setProperty(property, object, value);
+            } catch (YAMLException e) {
+                throw e;
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new YAMLException(
+                        "Custom constructor " + constructBy.value() + //
+                                " on property " + object.getClass().getTypeName() + "::" + property + " cannot be created",
+                        e);
+            } catch (Exception e) {
+                throw new YAMLException(
+                        "Cannot set value of type " + (value != null ? value.getClass().getTypeName() : "null") + //
+                                " into property " + object.getClass().getTypeName() + "::" + property,
+                        e);
             }
+        }
+
+        /**
+         * Constructs the value of a property and sets it into the bean in the same way as SnakeYAML does. If the bean is described by a subclass of
+         * {@link TypeDescription}, the tuple is passed on to SnakeYAML, as such a type description may create the values itself.
+         * 
+         * @param node mapping node of the bean
+         * @param object bean
+         * @param memberDescription type description of the bean or <code>null</code>
+         * @param tuple tuple of the property
+         * @param key key of the property in the node
+         * @param property property
+         * @param skip if <code>true</code>, the value is neither constructed nor set
+         */
+        private void constructProperty(MappingNode node, Object object, TypeDescription memberDescription, NodeTuple tuple, String key, Property property,
+                boolean skip) {
+            if (memberDescription != null && memberDescription.getClass() != TypeDescription.class && !skip) {
+                MappingNode tupleNode = new MappingNode(node.getTag(), Collections.singletonList(tuple), node.getFlowStyle());
+                tupleNode.setType(node.getType());
+                super.constructJavaBean2ndStep(tupleNode, object);
+                return;
+            }
+
+            Node valueNode = tuple.getValueNode();
+            try {
+                if (!property.isWritable()) {
+                    throw new YAMLException("No writable property '" + key + "' on class: " + node.getType().getName());
+                }
+                if (skip) {
+                    return;
+                }
 
-            // Remove nodes that are unconstructable or already created
-            nodeTuplesToBeRemoved.forEach(nt -> node.getValue().remove(nt));
-            return super.constructJavaBean2ndStep(node, object);
+                valueNode.setType(property.getType());
+                boolean typeDetected = memberDescription != null ? memberDescription.setupPropertyType(key, valueNode) : false;
+                if (!typeDetected && valueNode.getNodeId() != NodeId.scalar) {
+                    // only if there is no explicit TypeDescription
+                    Class<?>[] arguments = property.getActualTypeArguments();
+                    if (arguments != null && arguments.length > 0) {
+                        // type safe (generic) collection may contain the proper class
+                        if (valueNode.getNodeId() == NodeId.sequence) {
+                            ((SequenceNode) valueNode).setListType(arguments[0]);
+                        } else if (Set.class.isAssignableFrom(valueNode.getType())) {
+                            MappingNode mappingNode = (MappingNode) valueNode;
+                            mappingNode.setOnlyKeyType(arguments[0]);
+                            mappingNode.setUseClassConstructor(true);
+                        } else if (Map.class.isAssignableFrom(valueNode.getType())) {
+                            MappingNode mappingNode = (MappingNode) valueNode;
+                            mappingNode.setTypes(arguments[0], arguments[1]);
+                            mappingNode.setUseClassConstructor(true);
+                        }
+                    }
+                }
+
+                Object value = constructObject(valueNode);
+                // Correct when the property expects float but double was constructed
+                if ((property.getType() == Float.TYPE || property.getType() == Float.class) && value instanceof Double) {
+                    value = ((Double) value).floatValue();
+                }
+                // Correct when the property a String but the value is binary
+                if (property.getType() == String.class && Tag.BINARY.equals(valueNode.getTag()) && value instanceof byte[]) {
+                    value = new String((byte[]) value);
+                }
+
+                if (memberDescription == null || !memberDescription.setProperty(object, key, value)) {
+                    setProperty(property, object, value);
+                }
+            } catch (DuplicateKeyException e) {
+                throw e;
+            } catch (Exception e) {
+                if (ignoreExceptionsDepth > 0) {
+                    // the exception is going to be ignored, so there is no need to capture another stack trace
+                    throw new IgnoredPropertyException("Cannot create property=" + key + " for JavaBean=" + object, e);
+                }
+                throw new PropertyConstructorException("Cannot create property=" + key + " for JavaBean=" + object, node.getStartMark(), e.getMessage(),
+                        valueNode.getStartMark(), e);
+            }
         }
 
     }
@@ -217,18 +642,42 @@ public class AnnotationAwareConstructor extends Constructor {
     protected class AnnotationAwareScalarConstructor extends ConstructScalar {
         @Override
         public Object construct(Node node) {
+            InstrumentationListener listener = Instrumentation.getListener();
+            long start = Instrumentation.start(listener);
+            Object constructed;
             if (Collection.class.isAssignableFrom(node.getType())) {
-                return constructNodeAsList(node, super::construct);
+                constructed = constructNodeAsList(node, super::construct);
+            } else {
+                constructed = constructObject(node, super::construct);
             }
-            return constructObject(node, super::construct);
+            if (listener != null) {
+                listener.constructed(node.getType(), Instrumentation.elapsed(start));
+            }
+            return constructed;
+        }
+    }
+
+    /**
+     * Deduplicates the constructed strings by means of the {@link StringPool} of the current {@link ConstructionContext}, if there is one. Strings are
+     * constructed by this class for string values, for keys of maps and JavaBeans, and thus for the names passed to any setters.
+     * 
+     * @author florian
+     * @since 1.4.0
+     */
+    protected class AnnotationAwareStringConstructor extends ConstructYamlStr {
+        @Override
+        public Object construct(Node node) {
+            String value = (String) super.construct(node);
+            StringPool pool = constructionContext != null ? constructionContext.getStringPool() : null;
+            return pool != null ? pool.intern(value) : value;
         }
     }
 
     /**
-     * @return all programmatically registered class-to-constructBy associations.
+     * @return all programmatically registered class-to-constructBy associations. Modifying the returned map resets the resolved {@link YamlConstructBy}s.
      */
     public Map<Class<?>, YamlConstructBy> getConstructByMap() {
-        return constructByMap;
+        return constructByTable.getRegistrations();
     }
 
     /**
@@ -240,7 +689,7 @@ public class AnnotationAwareConstructor extends Constructor {
      * @param <T> type for which a {@link CustomConstructor} is registered
      */
     public <T> void registerCustomConstructor(Class<T> forType, Class<? extends CustomConstructor<? extends T>> customConstructorClass) {
-        constructByMap.put(forType, YamlConstructBy.Factory.of(customConstructorClass));
+        getConstructByMap().put(forType, YamlConstructBy.Factory.of(customConstructorClass));
     }
 
     /**
@@ -251,7 +700,7 @@ public class AnnotationAwareConstructor extends Constructor {
      * @param forType type for which a {@link DefaultCustomConstructor} is to be registered
      */
     public void registerDefaultConstructor(Class<?> forType) {
-        constructByMap.put(forType, YamlConstructBy.Factory.of(DefaultCustomConstructor.class));
+        getConstructByMap().put(forType, YamlConstructBy.Factory.of(DefaultCustomConstructor.class));
     }
 
     /**
@@ -262,7 +711,7 @@ public class AnnotationAwareConstructor extends Constructor {
      * @param <T> type for which a {@link CustomInstantiator} is registered and thus the (sub-)type that the instantiator creates
      */
     public <T> void registerCustomInstantiator(Class<T> forType, Class<? extends CustomInstantiator<? extends T>> instantiator) {
-        instantiateByMap.put(forType, YamlInstantiateBy.Factory.of(instantiator));
+        instantiateByTable.getRegistrations().put(forType, YamlInstantiateBy.Factory.of(instantiator));
     }
 
     /**
@@ -271,7 +720,7 @@ public class AnnotationAwareConstructor extends Constructor {
      * @param forType type for which an {@link GlobalCustomInstantiator} is to be registered
      */
     public void registerGlobalInstantiator(Class<?> forType) {
-        instantiateByMap.put(forType, YamlInstantiateBy.Factory.of(GlobalCustomInstantiator.class));
+        instantiateByTable.getRegistrations().put(forType, YamlInstantiateBy.Factory.of(GlobalCustomInstantiator.class));
     }
 
     /**
@@ -281,7 +730,7 @@ public class AnnotationAwareConstructor extends Constructor {
      * @param forType type for which a {@link DefaultCustomInstantiator} is to be registered
      */
     public void registerDefaultInstantiator(Class<?> forType) {
-        instantiateByMap.put(forType, YamlInstantiateBy.Factory.of(DefaultCustomInstantiator.class));
+        instantiateByTable.getRegistrations().put(forType, YamlInstantiateBy.Factory.of(DefaultCustomInstantiator.class));
     }
 
     /**
@@ -294,12 +743,18 @@ public class AnnotationAwareConstructor extends Constructor {
      * @return constructed object
      */
     private <T> T constructObject(Node node, Function<? super Node, ? extends T> defaultConstructor) {
-        YamlConstructBy constructBy = getConstructBy(node.getType());
+        YamlConstructBy constructBy = constructByTable.resolve(node.getType());
         if (constructBy != null) {
             try {
                 @SuppressWarnings("unchecked")
-                CustomConstructor<T> constructor = (CustomConstructor<T>) constructBy.value().newInstance();
-                return constructor.construct(node, defaultConstructor);
+                CustomConstructor<T> constructor = (CustomConstructor<T>) componentFactory.getComponent(constructBy.value());
+                InstrumentationListener listener = Instrumentation.getListener();
+                long start = Instrumentation.start(listener);
+                T constructed = constructor.construct(node, defaultConstructor, constructionContext);
+                if (listener != null) {
+                    listener.customConstructed(constructBy.value(), Instrumentation.elapsed(start));
+                }
+                return constructed;
             } catch (InstantiationException | IllegalAccessException e) {
                 throw new YAMLException("Cannot create custom constructor " + constructBy.value().getName(), e);
             }
@@ -314,7 +769,8 @@ public class AnnotationAwareConstructor extends Constructor {
      * and if so, return the {@code YamlConstructBy} from the map;
      * if not, check if <code>S</code> is annotated with {@code YamlConstructBy}, and if so, return the {@code YamlConstructBy} from the annotation.<br>
      * If there is no match for <code>S</code>, proceed with the next superclass/interface.
-     * if no match was found after walking the whole hierarchy, <code>null</code> is returned.
+     * if no match was found after walking the whole hierarchy, <code>null</code> is returned.<br>
+     * The result is memoized per type until the registrations change, so this method is called at most once per type.
      * 
      * @param type type
      * @return {@link YamlConstructBy} or <code>null</code> if no matching {@code YamlConstructBy} found
@@ -329,7 +785,7 @@ public class AnnotationAwareConstructor extends Constructor {
         typesInHierarchy.addAll(ClassUtils.getAllInterfaces(type));
 
         for (Class<?> typeToFindInMap : typesInHierarchy) {
-            constructByFoundInMap = constructByMap.get(typeToFindInMap);
+            constructByFoundInMap = getConstructByMap().get(typeToFindInMap);
             if (constructByFoundInMap != null) {
                 return constructByFoundInMap;
             }
@@ -345,16 +801,17 @@ public class AnnotationAwareConstructor extends Constructor {
     /**
      * Returns a matching {@link YamlInstantiateBy} annotation by using the following rule:
      * <ol>
-     * <li>If there is an entry in the {@link #instantiateByMap} for <code>type</code> return the {@link YamlInstantiateBy} from the map</li>
+     * <li>If there is a programmatic registration for <code>type</code> return the {@link YamlInstantiateBy} from the registration</li>
      * <li>If <code>type</code> is annotated with {@link YamlInstantiateBy}, return the annotation.</li>
      * </ol>
-     * If no match was found, <code>null</code> is returned.
+     * If no match was found, <code>null</code> is returned.<br>
+     * The result is memoized per type until the registrations change, so this method is called at most once per type.
      * 
      * @param type type
      * @return {@link YamlInstantiateBy} or <code>null</code> if no matching {@link YamlInstantiateBy} found
      */
     protected YamlInstantiateBy getInstantiateBy(Class<?> type) {
-        return instantiateByMap.getOrDefault(type, type.getAnnotation(YamlInstantiateBy.class));
+        return instantiateByTable.getRegistrations().getOrDefault(type, type.getAnnotation(YamlInstantiateBy.class));
     }
 
     private static ScalarNode getKeyNode(NodeTuple tuple) {
@@ -365,4 +822,37 @@ public class AnnotationAwareConstructor extends Constructor {
         }
     }
 
+    /**
+     * Thrown if the value of a property cannot be constructed or set. Like in SnakeYAML, this is a {@link ConstructorException}, whose constructors are
+     * not accessible otherwise.
+     * 
+     * @author florian
+     */
+    private static final class PropertyConstructorException extends ConstructorException {
+        private static final long serialVersionUID = 1L;
+
+        private PropertyConstructorException(String context, Mark contextMark, String problem, Mark problemMark, Throwable cause) {
+            super(context, contextMark, problem, problemMark, cause);
+        }
+    }
+
+    /**
+     * Thrown instead of a {@link PropertyConstructorException} within a property whose exceptions are ignored. It does not capture a stack trace, as the
+     * cause already has one.
+     * 
+     * @author florian
+     */
+    private static final class IgnoredPropertyException extends YAMLException {
+        private static final long serialVersionUID = 1L;
+
+        private IgnoredPropertyException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
 }
@@ -1,12 +1,22 @@
 package de.beosign.snakeyamlanno.constructor;
 
+import java.io.Reader;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.SequenceNode;
 import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
 
 /**
  * Use this constructor if you have a list at the root of the yaml document and the list items are not explicitly typed, but you still want to have the list
@@ -47,15 +57,105 @@ public class AnnotationAwareListConstructor extends AnnotationAwareConstructor {
     @Override
     public Object getSingleData(Class<?> type) {
         if (Collection.class.isAssignableFrom(type)) {
-            // Found a collection type as root node; set type of item nodes to collectionItemType.getTypeName()
-            SequenceNode node = (SequenceNode) composer.getSingleNode();
-            node.setTag(new Tag(type));
-            for (Node n : node.getValue()) {
-                n.setType(collectionItemType);
-            }
-            return constructDocument(node);
+            return constructInContext(() -> {
+                // Found a collection type as root node; set type of item nodes to collectionItemType.getTypeName()
+                SequenceNode node = (SequenceNode) composer.getSingleNode();
+                node.setTag(new Tag(type));
+                for (Node n : node.getValue()) {
+                    n.setType(collectionItemType);
+                }
+                return constructDocument(node);
+            });
         }
         return super.getSingleData(type);
     }
 
+    /**
+     * <p>
+     * Loads the items of the sequence at the root of the given document lazily. Each item is composed from the parser events and constructed only when it is
+     * requested from the returned iterator, and it is not retained afterwards, so the memory needed is independent of the number of items. The only
+     * exception are anchored nodes: they are retained until the end of the document, together with their children, so later items can refer to them. For
+     * very large sequences, items should therefore not contain anchors.
+     * </p>
+     * <p>
+     * The items are constructed as if the whole list were loaded, except that an alias referring to an anchor within a <i>preceding</i> item is constructed
+     * into a new (equal) object instead of the object of the preceding item. The stream must contain exactly one document with a sequence at its root.
+     * </p>
+     * <p>
+     * Implicit tags are resolved by a default {@link Resolver}; if the {@link org.yaml.snakeyaml.Yaml} instance uses another resolver, e.g. one with
+     * additional implicit resolvers, pass it to {@link #loadAsIterator(Reader, Resolver)} instead.
+     * </p>
+     * <p>
+     * This constructor must not be used for anything else until the iterator has been consumed. The reader is not closed.
+     * </p>
+     * 
+     * @param yaml YAML data to load from
+     * @param <T> type of the list items
+     * @return iterator over the constructed list items
+     * @since 1.4.0
+     */
+    public <T> Iterator<T> loadAsIterator(Reader yaml) {
+        return loadAsIterator(yaml, new Resolver());
+    }
+
+    /**
+     * Loads the items of the sequence at the root of the given document lazily, see {@link #loadAsIterator(Reader)}.
+     * 
+     * @param yaml YAML data to load from
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     * @param <T> type of the list items
+     * @return iterator over the constructed list items
+     * @since 1.4.0
+     */
+    public <T> Iterator<T> loadAsIterator(Reader yaml, Resolver resolver) {
+        RootSequenceComposer rootSequenceComposer = new RootSequenceComposer(new ParserImpl(new StreamReader(yaml), loadingConfig.isProcessComments()),
+                resolver, loadingConfig);
+        setComposer(rootSequenceComposer);
+
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return rootSequenceComposer.hasNextItem();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more list items");
+                }
+                Node item = rootSequenceComposer.nextItem();
+                item.setType(collectionItemType);
+                return (T) constructInContext(() -> constructDocument(item));
+            }
+        };
+    }
+
+    /**
+     * Loads the items of the sequence at the root of the given document lazily as a sequential stream, see {@link #loadAsIterator(Reader)}. Implicit tags
+     * are resolved by a default {@link Resolver}.
+     * 
+     * @param yaml YAML data to load from
+     * @param <T> type of the list items
+     * @return stream of the constructed list items
+     * @since 1.4.0
+     */
+    public <T> Stream<T> loadAsStream(Reader yaml) {
+        return loadAsStream(yaml, new Resolver());
+    }
+
+    /**
+     * Loads the items of the sequence at the root of the given document lazily as a sequential stream, see {@link #loadAsIterator(Reader)}.
+     * 
+     * @param yaml YAML data to load from
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     * @param <T> type of the list items
+     * @return stream of the constructed list items
+     * @since 1.4.0
+     */
+    public <T> Stream<T> loadAsStream(Reader yaml, Resolver resolver) {
+        Iterator<T> iterator = loadAsIterator(yaml, resolver);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
 }
@@ -0,0 +1,130 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.Node;
+
+/**
+ * <p>
+ * State of the construction of a single YAML document. A new context is created by the {@link AnnotationAwareConstructor} for each document and discarded
+ * once the document has been constructed, so no nodes are retained across documents.
+ * </p>
+ * <p>
+ * The context knows which property and which bean the value nodes of the JavaBean that is currently being constructed belong to. Only the innermost JavaBean
+ * is tracked; as soon as its construction has finished, its information is dropped.
+ * </p>
+ * <p>
+ * If string deduplication is enabled, the context also provides the {@link StringPool} for the document.
+ * </p>
+ * <p>
+ * The objects constructed for anchored nodes are kept as well, so the values of lazy properties that are constructed after the document refer to the same
+ * objects as the document.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class ConstructionContext {
+    private final Deque<BeanFrame> beanFrames = new ArrayDeque<>();
+    private final StringPool stringPool;
+    private final Map<Node, Object> anchoredObjects;
+
+    /**
+     * New context without string deduplication.
+     */
+    public ConstructionContext() {
+        this(null, new IdentityHashMap<>());
+    }
+
+    /**
+     * New context.
+     *
+     * @param stringPool pool used to deduplicate the constructed strings or <code>null</code> if strings are not deduplicated
+     * @param anchoredObjects objects constructed for anchored nodes, shared with the contexts of the lazy values of the document
+     */
+    ConstructionContext(StringPool stringPool, Map<Node, Object> anchoredObjects) {
+        this.stringPool = stringPool;
+        this.anchoredObjects = anchoredObjects;
+    }
+
+    /**
+     * @return pool used to deduplicate the constructed strings or <code>null</code> if strings are not deduplicated
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+
+    /**
+     * @return objects constructed for anchored nodes of the document, by node identity
+     */
+    Map<Node, Object> getAnchoredObjects() {
+        return anchoredObjects;
+    }
+
+    /**
+     * Returns the property that the given node is assigned to.
+     *
+     * @param node value node of the JavaBean that is currently being constructed
+     * @return property or <code>null</code> if the node is not the value node of a property of the current JavaBean, e.g. because it is the root node or
+     *         a collection item
+     */
+    public Property getProperty(Node node) {
+        BeanFrame beanFrame = beanFrames.peek();
+        return beanFrame == null ? null : beanFrame.properties.get(node);
+    }
+
+    /**
+     * Returns the JavaBean that owns the property the given node is assigned to.
+     *
+     * @param node value node of the JavaBean that is currently being constructed
+     * @return JavaBean or <code>null</code> if the node is not the value node of a property of the current JavaBean
+     */
+    public Object getParent(Node node) {
+        BeanFrame beanFrame = beanFrames.peek();
+        return beanFrame == null || !beanFrame.properties.containsKey(node) ? null : beanFrame.bean;
+    }
+
+    /**
+     * Starts the construction of the properties of a JavaBean.
+     *
+     * @param bean JavaBean whose properties are constructed
+     */
+    void enterBean(Object bean) {
+        beanFrames.push(new BeanFrame(bean));
+    }
+
+    /**
+     * Associates a value node of the current JavaBean with its property.
+     *
+     * @param valueNode value node
+     * @param property property the value is assigned to
+     */
+    void assign(Node valueNode, Property property) {
+        beanFrames.element().properties.put(valueNode, property);
+    }
+
+    /**
+     * Finishes the construction of the properties of the current JavaBean.
+     */
+    void exitBean() {
+        beanFrames.pop();
+    }
+
+    /**
+     * Holds the property assignments of a single JavaBean.
+     *
+     * @author florian
+     */
+    private static final class BeanFrame {
+        private final Object bean;
+        private final Map<Node, Property> properties = new IdentityHashMap<>();
+
+        private BeanFrame(Object bean) {
+            this.bean = bean;
+        }
+    }
+}
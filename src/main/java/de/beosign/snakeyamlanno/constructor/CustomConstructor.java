@@ -24,4 +24,21 @@ public interface CustomConstructor<T> {
      * @throws YAMLException if object cannot be created
      */
     T construct(Node node, Function<? super Node, ? extends T> defaultConstructor) throws YAMLException;
+
+    /**
+     * Creates an object of type <code>T</code> for the given node. Override this method instead of {@link #construct(Node, Function)} if information about
+     * the surroundings of the node is needed, e.g. the property the constructed object is assigned to. By default, it delegates to
+     * {@link #construct(Node, Function)}.
+     * 
+     * @param node node
+     * @param defaultConstructor the constructor function that would be used by default. You can use it to delegate the work after you have done your
+     *            customizations.
+     * @param context context of the document that is currently being constructed
+     * @return object
+     * @throws YAMLException if object cannot be created
+     * @since 1.4.0
+     */
+    default T construct(Node node, Function<? super Node, ? extends T> defaultConstructor, ConstructionContext context) throws YAMLException {
+        return construct(node, defaultConstructor);
+    }
 }
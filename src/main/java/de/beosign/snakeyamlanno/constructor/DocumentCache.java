@@ -0,0 +1,363 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import de.beosign.snakeyamlanno.instrumentation.CacheType;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+
+/**
+ * <p>
+ * Cache of constructed documents, keyed by the content of the YAML payload and the type to construct. If the same payload is loaded again, the cached
+ * document is returned without parsing and constructing it. A payload is found by the hash of its characters or bytes and then compared as a whole, so
+ * different payloads never share a document; a payload given as string and the same payload given as bytes are cached separately.
+ * </p>
+ * <p>
+ * The cache is bounded by the total weight of the cached payloads, which is the number of their characters or bytes. Once the maximum weight is exceeded,
+ * the least recently used documents are evicted; a payload that is heavier than the maximum weight on its own is not cached at all. Exceptions are not
+ * cached. The weight covers only the payloads, not the cached documents or node trees, whose memory usage depends on the type and may be several times the
+ * size of the payload; choose the maximum weight accordingly.
+ * </p>
+ * <p>
+ * As cached documents are returned to several callers, their {@link ResultPolicy} must be chosen: either the same instance is returned to all callers, which
+ * must not modify it, or each caller gets a copy that is constructed from the cached node tree, which saves parsing but not construction.
+ * </p>
+ * <p>
+ * Constructors are not thread-safe, so each payload is constructed by a constructor that is used by no other thread at the same time. The constructors are
+ * created on demand by the given factory and reused; thus, the factory must create equally configured constructors. Each lookup is counted as hit or miss
+ * and reported to the {@link InstrumentationListener} as access to the {@link CacheType#DOCUMENTS} cache. Instances of this class are thread-safe.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class DocumentCache {
+    /**
+     * Determines what is returned for a cached document.
+     */
+    public enum ResultPolicy {
+        /** The cached document itself is returned, so it must be treated as immutable. */
+        SHARED,
+        /** A new document is constructed from the cached node tree for each lookup. */
+        COPY
+    }
+
+    private final Supplier<? extends AnnotationAwareConstructor> constructorFactory;
+    private final long maximumWeight;
+    private final ResultPolicy resultPolicy;
+    private final Resolver resolver;
+    private final Queue<AnnotationAwareConstructor> idleConstructors = new ConcurrentLinkedQueue<>();
+    /** Cached documents in access order; guarded by itself. */
+    private final Map<Key, CachedDocument> documents = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache that returns shared documents.
+     *
+     * @param constructorFactory creates the constructors
+     * @param maximumWeight maximum number of characters or bytes of all cached payloads
+     * @throws IllegalArgumentException if the maximum weight is less than 1
+     */
+    public DocumentCache(Supplier<? extends AnnotationAwareConstructor> constructorFactory, long maximumWeight) {
+        this(constructorFactory, maximumWeight, ResultPolicy.SHARED);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param constructorFactory creates the constructors
+     * @param maximumWeight maximum number of characters or bytes of all cached payloads
+     * @param resultPolicy determines what is returned for a cached document
+     * @throws IllegalArgumentException if the maximum weight is less than 1
+     */
+    public DocumentCache(Supplier<? extends AnnotationAwareConstructor> constructorFactory, long maximumWeight, ResultPolicy resultPolicy) {
+        this(constructorFactory, maximumWeight, resultPolicy, new Resolver());
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param constructorFactory creates the constructors
+     * @param maximumWeight maximum number of characters or bytes of all cached payloads
+     * @param resultPolicy determines what is returned for a cached document
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     * @throws IllegalArgumentException if the maximum weight is less than 1
+     */
+    public DocumentCache(Supplier<? extends AnnotationAwareConstructor> constructorFactory, long maximumWeight, ResultPolicy resultPolicy,
+            Resolver resolver) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be at least 1, but is " + maximumWeight);
+        }
+        this.constructorFactory = Objects.requireNonNull(constructorFactory, "Constructor factory must not be null");
+        this.maximumWeight = maximumWeight;
+        this.resultPolicy = Objects.requireNonNull(resultPolicy, "Result policy must not be null");
+        this.resolver = Objects.requireNonNull(resolver, "Resolver must not be null");
+    }
+
+    /**
+     * Loads the single document of the given YAML string, constructing the root type of the constructors.
+     *
+     * @param yaml YAML data to load from
+     * @return constructed document or <code>null</code> if the document is empty
+     */
+    public Object load(String yaml) {
+        return loadAs(yaml, Object.class);
+    }
+
+    /**
+     * Loads the single document of the given YAML string, like {@link org.yaml.snakeyaml.Yaml#loadAs(String, Class)} does.
+     *
+     * @param <T> type of the document
+     * @param yaml YAML data to load from
+     * @param type type of the document
+     * @return constructed document or <code>null</code> if the document is empty
+     */
+    public <T> T loadAs(String yaml, Class<T> type) {
+        return type.cast(load(Key.of(type, yaml, yaml.hashCode(), yaml.length()), () -> new StringReader(yaml)));
+    }
+
+    /**
+     * Loads the single document of the given YAML bytes, constructing the root type of the constructors. The encoding is detected like
+     * {@link org.yaml.snakeyaml.Yaml#load(java.io.InputStream)} does.
+     *
+     * @param yaml YAML data to load from; it must not be modified while it is loaded
+     * @return constructed document or <code>null</code> if the document is empty
+     */
+    public Object load(byte[] yaml) {
+        return loadAs(yaml, Object.class);
+    }
+
+    /**
+     * Loads the single document of the given YAML bytes. The encoding is detected like {@link org.yaml.snakeyaml.Yaml#load(java.io.InputStream)} does.
+     *
+     * @param <T> type of the document
+     * @param yaml YAML data to load from; it must not be modified while it is loaded
+     * @param type type of the document
+     * @return constructed document or <code>null</code> if the document is empty
+     */
+    public <T> T loadAs(byte[] yaml, Class<T> type) {
+        return type.cast(load(Key.of(type, yaml, Arrays.hashCode(yaml), yaml.length), () -> new UnicodeReader(new ByteArrayInputStream(yaml))));
+    }
+
+    private Object load(Key key, Supplier<Reader> reader) {
+        CachedDocument document;
+        synchronized (documents) {
+            document = documents.get(key);
+        }
+        InstrumentationListener listener = Instrumentation.getListener();
+        if (listener != null) {
+            listener.cacheAccessed(CacheType.DOCUMENTS, document != null);
+        }
+        if (document != null) {
+            hits.increment();
+            return resultPolicy == ResultPolicy.SHARED ? document.data : copy(document);
+        }
+
+        misses.increment();
+        // load outside of the lock; concurrent misses may load a payload twice
+        AnnotationAwareConstructor constructor = acquireConstructor();
+        Node node;
+        Object data;
+        try {
+            node = new Composer(new ParserImpl(new StreamReader(reader.get()), constructor.getLoaderOptions().isProcessComments()), resolver,
+                    constructor.getLoaderOptions()).getSingleNode();
+            data = construct(constructor, node, key.type);
+        } finally {
+            idleConstructors.add(constructor);
+        }
+        if (key.weight <= maximumWeight) {
+            // keep only what lookups return: the shared document, or the nodes to construct copies from
+            cache(key.retain(), resultPolicy == ResultPolicy.COPY ? new CachedDocument(node, key.type, null) : new CachedDocument(null, key.type, data));
+        }
+        return data;
+    }
+
+    private void cache(Key key, CachedDocument document) {
+        synchronized (documents) {
+            CachedDocument replaced = documents.put(key, document);
+            if (replaced == null) {
+                weight += key.weight;
+            }
+            for (Iterator<Key> keys = documents.keySet().iterator(); weight > maximumWeight && keys.hasNext();) {
+                weight -= keys.next().weight;
+                keys.remove();
+            }
+        }
+    }
+
+    private Object copy(CachedDocument document) {
+        AnnotationAwareConstructor constructor = acquireConstructor();
+        try {
+            // construction modifies the nodes, so a node tree must not be constructed by several threads at the same time
+            synchronized (document) {
+                return construct(constructor, document.node, document.type);
+            }
+        } finally {
+            idleConstructors.add(constructor);
+        }
+    }
+
+    private static Object construct(AnnotationAwareConstructor constructor, Node node, Class<?> type) {
+        if (node == null || Tag.NULL.equals(node.getTag())) {
+            return null;
+        }
+        return constructor.constructComposedDocument(node, type);
+    }
+
+    private AnnotationAwareConstructor acquireConstructor() {
+        AnnotationAwareConstructor constructor = idleConstructors.poll();
+        return constructor != null ? constructor : Objects.requireNonNull(constructorFactory.get(), "Constructor factory must not return null");
+    }
+
+    /**
+     * @return number of lookups that found a cached document
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that did not find a cached document
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return ratio of hits to all lookups or 0 if there have not been any
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return number of cached documents
+     */
+    public int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    /**
+     * @return number of characters or bytes of all cached payloads
+     */
+    public long getWeight() {
+        synchronized (documents) {
+            return weight;
+        }
+    }
+
+    /**
+     * @return maximum number of characters or bytes of all cached payloads
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Removes all cached documents.
+     */
+    public void clear() {
+        synchronized (documents) {
+            documents.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Type and content of a payload.
+     *
+     * @author florian
+     */
+    private static final class Key {
+        private final Class<?> type;
+        /** Either a string or a byte array. */
+        private final Object content;
+        private final int hash;
+        private final int weight;
+
+        private Key(Class<?> type, Object content, int hash, int weight) {
+            this.type = type;
+            this.content = content;
+            this.hash = hash;
+            this.weight = weight;
+        }
+
+        private static Key of(Class<?> type, Object content, int contentHash, int weight) {
+            return new Key(type, content, 31 * type.hashCode() + contentHash, weight);
+        }
+
+        /**
+         * @return key that does not share a mutable content with the caller
+         */
+        private Key retain() {
+            return content instanceof byte[] ? new Key(type, ((byte[]) content).clone(), hash, weight) : this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (hash != other.hash || weight != other.weight || type != other.type) {
+                return false;
+            }
+            if (content instanceof byte[]) {
+                return other.content instanceof byte[] && Arrays.equals((byte[]) content, (byte[]) other.content);
+            }
+            return content.equals(other.content);
+        }
+    }
+
+    /**
+     * A composed and constructed payload.
+     *
+     * @author florian
+     */
+    private static final class CachedDocument {
+        /** Nodes to construct copies from, or <code>null</code> if the document is shared. */
+        private final Node node;
+        private final Class<?> type;
+        /** Shared document, or <code>null</code> if copies are constructed. */
+        private final Object data;
+
+        private CachedDocument(Node node, Class<?> type, Object data) {
+            this.node = node;
+            this.type = type;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.parser.Parser;
+
+/**
+ * <p>
+ * Parser that drops the events of the mapping values and sequence items that are not selected by a {@link PathFilter}, so no nodes are composed for them.
+ * The path of a node consists of the keys of mappings separated by dots and the indexes of sequence items in brackets, e.g. <code>servers[2].host</code>;
+ * the root node is always kept. Values of merge keys (<code>&lt;&lt;</code>) are kept as well, as they belong to the mapping that contains them.
+ * </p>
+ * <p>
+ * The events of anchored nodes within dropped subtrees are retained. If such an anchor is referenced by an alias within a kept subtree, the alias is
+ * replaced by the events of the anchored node, so the composer sees the anchor where it is used.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+class FilteringParser implements Parser {
+    private static final String MERGE_KEY = "<<";
+
+    private final Parser parser;
+    private final PathFilter filter;
+    private final Deque<Event> ready = new ArrayDeque<>();
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    /** Events of the anchored nodes of dropped subtrees by anchor. */
+    private final Map<String, List<Event>> droppedAnchors = new HashMap<>();
+    /** Anchors that have been passed on to the composer in the current document. */
+    private final Set<String> keptAnchors = new HashSet<>();
+
+    /**
+     * Creates a filtering parser.
+     *
+     * @param parser parser whose events are filtered
+     * @param filter selects the paths to keep
+     */
+    FilteringParser(Parser parser, PathFilter filter) {
+        this.parser = parser;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean checkEvent(Event.ID choice) {
+        Event event = peekEvent();
+        return event != null && event.is(choice);
+    }
+
+    @Override
+    public Event peekEvent() {
+        fill();
+        return ready.peek();
+    }
+
+    @Override
+    public Event getEvent() {
+        fill();
+        return ready.poll();
+    }
+
+    /**
+     * Reads events from the underlying parser until there is at least one event to be passed on.
+     */
+    private void fill() {
+        while (ready.isEmpty() && parser.peekEvent() != null) {
+            Event event = parser.getEvent();
+            if (event.is(Event.ID.DocumentStart)) {
+                frames.clear();
+                droppedAnchors.clear();
+                keptAnchors.clear();
+                ready.add(event);
+            } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+                frames.pop();
+                ready.add(event);
+            } else if (event instanceof NodeEvent) {
+                handleNode((NodeEvent) event);
+            } else {
+                ready.add(event);
+            }
+        }
+    }
+
+    /**
+     * Keeps or drops the node starting with the given event, depending on its position.
+     */
+    private void handleNode(NodeEvent event) {
+        Frame parent = frames.peek();
+        String path;
+        PathFilter.Selection selection;
+        if (parent == null) {
+            path = "";
+            selection = PathFilter.Selection.CHILDREN;
+        } else if (parent.path == null) {
+            // the whole subtree is selected
+            path = null;
+            selection = PathFilter.Selection.ALL;
+        } else if (parent.mapping && parent.nextIsKey) {
+            if (!(event instanceof ScalarEvent)) {
+                // a complex key cannot be part of a path, so the key and its value are kept as they are
+                path = null;
+                selection = PathFilter.Selection.ALL;
+                parent.nextIsKey = false;
+                parent.valuePath = null;
+            } else {
+                String key = ((ScalarEvent) event).getValue();
+                String valuePath = parent.path.isEmpty() ? key : parent.path + "." + key;
+                PathFilter.Selection valueSelection = MERGE_KEY.equals(key) ? PathFilter.Selection.ALL : filter.select(valuePath);
+                if (valueSelection == PathFilter.Selection.NONE) {
+                    drop(event);
+                    drop(parser.getEvent());
+                    return;
+                }
+                parent.nextIsKey = false;
+                parent.valuePath = valueSelection == PathFilter.Selection.ALL ? null : valuePath;
+                keep(event, null);
+                return;
+            }
+        } else if (parent.mapping) {
+            path = parent.valuePath;
+            selection = path == null ? PathFilter.Selection.ALL : PathFilter.Selection.CHILDREN;
+            parent.nextIsKey = true;
+        } else {
+            path = parent.path + "[" + parent.index++ + "]";
+            selection = filter.select(path);
+            if (selection == PathFilter.Selection.NONE) {
+                drop(event);
+                return;
+            }
+        }
+        keep(event, selection == PathFilter.Selection.ALL ? null : path);
+    }
+
+    /**
+     * Passes on a node event, pushing a frame if it starts a collection.
+     *
+     * @param path path of the collection or <code>null</code> if all of its children are kept
+     */
+    private void keep(NodeEvent event, String path) {
+        if (event instanceof AliasEvent && !keptAnchors.contains(event.getAnchor()) && droppedAnchors.containsKey(event.getAnchor())) {
+            replay(droppedAnchors.get(event.getAnchor()));
+            return;
+        }
+        if (event.getAnchor() != null && !(event instanceof AliasEvent)) {
+            keptAnchors.add(event.getAnchor());
+        }
+        if (event instanceof CollectionStartEvent) {
+            frames.push(new Frame(event.is(Event.ID.MappingStart), path));
+        }
+        ready.add(event);
+    }
+
+    /**
+     * Passes on the events of a dropped anchored node instead of an alias.
+     */
+    private void replay(List<Event> events) {
+        for (Event event : events) {
+            if (event instanceof AliasEvent && !keptAnchors.contains(((AliasEvent) event).getAnchor())
+                    && droppedAnchors.containsKey(((AliasEvent) event).getAnchor())) {
+                replay(droppedAnchors.get(((AliasEvent) event).getAnchor()));
+            } else {
+                if (event instanceof NodeEvent && !(event instanceof AliasEvent) && ((NodeEvent) event).getAnchor() != null) {
+                    keptAnchors.add(((NodeEvent) event).getAnchor());
+                }
+                ready.add(event);
+            }
+        }
+    }
+
+    /**
+     * Drops the node starting with the given event, retaining the events of anchored nodes.
+     */
+    private void drop(Event first) {
+        List<Recording> recordings = new ArrayList<>();
+        int depth = 0;
+        Event event = first;
+        while (true) {
+            if (event instanceof NodeEvent && !(event instanceof AliasEvent) && ((NodeEvent) event).getAnchor() != null) {
+                recordings.add(new Recording(((NodeEvent) event).getAnchor(), depth));
+            }
+            for (Recording recording : recordings) {
+                recording.events.add(event);
+            }
+            if (event instanceof CollectionStartEvent) {
+                depth++;
+            } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+                depth--;
+            }
+            for (int i = recordings.size() - 1; i >= 0; i--) {
+                Recording recording = recordings.get(i);
+                if (recording.depth == depth && !(event instanceof CollectionStartEvent)) {
+                    droppedAnchors.put(recording.anchor, recording.events);
+                    keptAnchors.remove(recording.anchor);
+                    recordings.remove(i);
+                }
+            }
+            if (depth == 0 && !event.is(Event.ID.Comment)) {
+                return;
+            }
+            event = parser.getEvent();
+        }
+    }
+
+    /**
+     * A collection whose events are passed on.
+     *
+     * @author florian
+     */
+    private static final class Frame {
+        private final boolean mapping;
+        /** Path of the collection or <code>null</code> if all children are kept. */
+        private final String path;
+        private boolean nextIsKey = true;
+        private String valuePath;
+        private int index;
+
+        private Frame(boolean mapping, String path) {
+            this.mapping = mapping;
+            this.path = path;
+        }
+    }
+
+    /**
+     * Events of an anchored node within a dropped subtree.
+     *
+     * @author florian
+     */
+    private static final class Recording {
+        private final String anchor;
+        private final int depth;
+        private final List<Event> events = new ArrayList<>();
+
+        private Recording(String anchor, int depth) {
+            this.anchor = anchor;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * <p>
+ * Loads a single document again and again, e.g. a configuration file whenever it has changed, and constructs only what has changed since the previous load.
+ * The new document is composed as a whole and compared with the previous one by a structural hash of each node; collections and JavaBeans of unchanged
+ * subtrees are not constructed again, but the instances of the previous load are reused. So the construction time is proportional to the changes, whereas
+ * the document is still parsed completely.
+ * </p>
+ * <p>
+ * Subtrees are compared by their position in the document: mapping values by their key and sequence items by their index. The paths of the changed subtrees
+ * are reported in the {@link Result}. Mappings whose keys are no unique scalars are compared as a whole, and recursive documents are always constructed
+ * completely.
+ * </p>
+ * <p>
+ * <b>Be aware</b> that the reused instances are shared between the results of consecutive loads. They must therefore not be modified by the application,
+ * and custom constructors are not called again for them.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class IncrementalLoader {
+    private final AnnotationAwareConstructor constructor;
+    private final Resolver resolver;
+    private NodeFingerprint previous;
+
+    /**
+     * Creates a loader.
+     *
+     * @param constructor constructor used for all loads; it must not be used otherwise at the same time
+     */
+    public IncrementalLoader(AnnotationAwareConstructor constructor) {
+        this(constructor, new Resolver());
+    }
+
+    /**
+     * Creates a loader.
+     *
+     * @param constructor constructor used for all loads; it must not be used otherwise at the same time
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     */
+    public IncrementalLoader(AnnotationAwareConstructor constructor, Resolver resolver) {
+        this.constructor = Objects.requireNonNull(constructor, "Constructor must not be null");
+        this.resolver = Objects.requireNonNull(resolver, "Resolver must not be null");
+    }
+
+    /**
+     * Loads the document of the given YAML string.
+     *
+     * @param yaml YAML data to load from
+     * @return result
+     */
+    public Result load(String yaml) {
+        return load(new StringReader(yaml));
+    }
+
+    /**
+     * Loads the document of the given reader. The reader is not closed. If the construction fails, the state of the previous load is kept.
+     *
+     * @param yaml YAML data to load from
+     * @return result
+     */
+    public Result load(Reader yaml) {
+        Composer composer = new Composer(new ParserImpl(new StreamReader(yaml), constructor.getLoaderOptions().isProcessComments()), resolver,
+                constructor.getLoaderOptions());
+        Node node = composer.getSingleNode();
+        if (node == null) {
+            previous = null;
+            return new Result(null, Collections.singletonList(""));
+        }
+
+        NodeFingerprint fingerprint = NodeFingerprint.of(node);
+        Map<Node, Object> reusable = new IdentityHashMap<>();
+        List<String> changedPaths = new ArrayList<>();
+        if (previous != null && fingerprint != null) {
+            previous.diff(fingerprint, "", reusable, changedPaths);
+        } else {
+            changedPaths.add("");
+        }
+
+        Map<Node, Object> recorded = new IdentityHashMap<>();
+        Object data = constructor.constructComposedDocument(node, reusable, recorded);
+        if (fingerprint != null) {
+            fingerprint.record(recorded);
+        }
+        previous = fingerprint;
+        return new Result(data, Collections.unmodifiableList(changedPaths));
+    }
+
+    /**
+     * Forgets the previous load, so the next document is constructed completely.
+     */
+    public void reset() {
+        previous = null;
+    }
+
+    /**
+     * Result of a load.
+     *
+     * @author florian
+     * @since 1.4.0
+     */
+    public static final class Result {
+        private final Object data;
+        private final List<String> changedPaths;
+
+        private Result(Object data, List<String> changedPaths) {
+            this.data = data;
+            this.changedPaths = changedPaths;
+        }
+
+        /**
+         * @return constructed document
+         */
+        public Object getData() {
+            return data;
+        }
+
+        /**
+         * Returns the paths of the subtrees that have been added, removed or changed since the previous load, e.g. <code>servers[2].host</code>. A path
+         * consists of the keys of mappings separated by dots and the indexes of sequence items in brackets; the empty path denotes the whole document, which
+         * is reported if there was no previous load.
+         *
+         * @return changed paths in document order, with removed paths last; empty if nothing has changed
+         */
+        public List<String> getChangedPaths() {
+            return changedPaths;
+        }
+    }
+}
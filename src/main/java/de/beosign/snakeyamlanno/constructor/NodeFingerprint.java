@@ -0,0 +1,220 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+/**
+ * Structural hash of a composed node and its children, together with the object that was constructed from the node. It is taken before the node is
+ * constructed, because the construction may modify the node tree, e.g. by merging keys.
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+final class NodeFingerprint {
+    private final NodeId nodeId;
+    private final Tag tag;
+    private final String value;
+    private final List<NodeFingerprint> children;
+    /** Children of a mapping by their scalar key or <code>null</code> if the node is no mapping or not all keys are unique scalars. */
+    private final Map<String, NodeFingerprint> entries;
+    private final int hash;
+
+    /** Composed node; only retained until the document has been constructed. */
+    private Node node;
+    private boolean constructed;
+    private Object object;
+
+    private NodeFingerprint(Node node, NodeId nodeId, Tag tag, String value, List<NodeFingerprint> children, Map<String, NodeFingerprint> entries) {
+        this.node = node;
+        this.nodeId = nodeId;
+        this.tag = tag;
+        this.value = value;
+        this.children = children;
+        this.entries = entries;
+
+        int h = 31 * nodeId.hashCode() + tag.hashCode();
+        h = 31 * h + Objects.hashCode(value);
+        for (NodeFingerprint child : children) {
+            h = 31 * h + child.hash;
+        }
+        this.hash = h;
+    }
+
+    /**
+     * Takes the fingerprint of the given node tree.
+     *
+     * @param node root node
+     * @return fingerprint or <code>null</code> if the node tree is recursive
+     */
+    static NodeFingerprint of(Node node) {
+        try {
+            return of(node, new IdentityHashMap<>(), Collections.newSetFromMap(new IdentityHashMap<>()));
+        } catch (RecursiveNodeException e) {
+            return null;
+        }
+    }
+
+    private static NodeFingerprint of(Node node, Map<Node, NodeFingerprint> fingerprints, Set<Node> inProgress) {
+        NodeFingerprint fingerprint = fingerprints.get(node);
+        if (fingerprint != null) {
+            // an alias
+            return fingerprint;
+        }
+        if (!inProgress.add(node)) {
+            throw new RecursiveNodeException();
+        }
+
+        switch (node.getNodeId()) {
+            case scalar:
+                fingerprint = new NodeFingerprint(node, NodeId.scalar, node.getTag(), ((ScalarNode) node).getValue(), Collections.emptyList(), null);
+                break;
+            case sequence:
+                List<NodeFingerprint> items = new ArrayList<>();
+                for (Node item : ((SequenceNode) node).getValue()) {
+                    items.add(of(item, fingerprints, inProgress));
+                }
+                fingerprint = new NodeFingerprint(node, NodeId.sequence, node.getTag(), null, items, null);
+                break;
+            default:
+                List<NodeFingerprint> keysAndValues = new ArrayList<>();
+                Map<String, NodeFingerprint> entries = new LinkedHashMap<>();
+                for (NodeTuple tuple : ((MappingNode) node).getValue()) {
+                    NodeFingerprint key = of(tuple.getKeyNode(), fingerprints, inProgress);
+                    NodeFingerprint value = of(tuple.getValueNode(), fingerprints, inProgress);
+                    keysAndValues.add(key);
+                    keysAndValues.add(value);
+                    if (entries != null && (key.nodeId != NodeId.scalar || entries.put(key.value, value) != null)) {
+                        entries = null;
+                    }
+                }
+                fingerprint = new NodeFingerprint(node, node.getNodeId(), node.getTag(), null, keysAndValues, entries);
+                break;
+        }
+
+        inProgress.remove(node);
+        fingerprints.put(node, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * Compares this (previous) fingerprint with the fingerprint of a new node tree. The objects of unchanged subtrees are taken over by the new fingerprint
+     * and registered as reusable for its nodes; the paths of changed subtrees are reported.
+     *
+     * @param newFingerprint fingerprint of the new node tree
+     * @param path path of this node, e.g. <code>servers[2].host</code>; the empty string for the root
+     * @param reusable receives the objects to be reused by node
+     * @param changedPaths receives the paths of changed subtrees
+     */
+    void diff(NodeFingerprint newFingerprint, String path, Map<Node, Object> reusable, List<String> changedPaths) {
+        if (isEqualTo(newFingerprint)) {
+            transfer(newFingerprint, reusable);
+            return;
+        }
+        if (nodeId == newFingerprint.nodeId && tag.equals(newFingerprint.tag)) {
+            if (nodeId == NodeId.sequence) {
+                int size = Math.max(children.size(), newFingerprint.children.size());
+                for (int i = 0; i < size; i++) {
+                    String itemPath = path + "[" + i + "]";
+                    if (i < children.size() && i < newFingerprint.children.size()) {
+                        children.get(i).diff(newFingerprint.children.get(i), itemPath, reusable, changedPaths);
+                    } else {
+                        changedPaths.add(itemPath);
+                    }
+                }
+                return;
+            }
+            if (entries != null && newFingerprint.entries != null) {
+                for (Map.Entry<String, NodeFingerprint> newEntry : newFingerprint.entries.entrySet()) {
+                    String entryPath = path.isEmpty() ? newEntry.getKey() : path + "." + newEntry.getKey();
+                    NodeFingerprint oldValue = entries.get(newEntry.getKey());
+                    if (oldValue != null) {
+                        oldValue.diff(newEntry.getValue(), entryPath, reusable, changedPaths);
+                    } else {
+                        changedPaths.add(entryPath);
+                    }
+                }
+                for (String key : entries.keySet()) {
+                    if (!newFingerprint.entries.containsKey(key)) {
+                        changedPaths.add(path.isEmpty() ? key : path + "." + key);
+                    }
+                }
+                return;
+            }
+        }
+        changedPaths.add(path);
+    }
+
+    /**
+     * Takes over the objects constructed from the given nodes and releases the node tree.
+     *
+     * @param recorded objects constructed by node
+     */
+    void record(Map<Node, Object> recorded) {
+        if (node == null) {
+            // already recorded, e.g. an alias
+            return;
+        }
+        if (recorded.containsKey(node)) {
+            constructed = true;
+            object = recorded.get(node);
+        }
+        node = null;
+        for (NodeFingerprint child : children) {
+            child.record(recorded);
+        }
+    }
+
+    private void transfer(NodeFingerprint newFingerprint, Map<Node, Object> reusable) {
+        if (constructed) {
+            newFingerprint.constructed = true;
+            newFingerprint.object = object;
+            reusable.put(newFingerprint.node, object);
+        }
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).transfer(newFingerprint.children.get(i), reusable);
+        }
+    }
+
+    private boolean isEqualTo(NodeFingerprint other) {
+        if (this == other) {
+            return true;
+        }
+        if (hash != other.hash || nodeId != other.nodeId || !tag.equals(other.tag) || !Objects.equals(value, other.value)
+                || children.size() != other.children.size()) {
+            return false;
+        }
+        for (int i = 0; i < children.size(); i++) {
+            if (!children.get(i).isEqualTo(other.children.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Thrown if a node tree is recursive, so it cannot be fingerprinted.
+     *
+     * @author florian
+     */
+    private static final class RecursiveNodeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private RecursiveNodeException() {
+            super(null, null, false, false);
+        }
+    }
+}
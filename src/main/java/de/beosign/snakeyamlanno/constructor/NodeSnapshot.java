@@ -0,0 +1,539 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
+import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * <p>
+ * Compact binary snapshot of a composed node tree. Reading a snapshot is much faster than scanning, parsing and composing the YAML document it was created
+ * from, so a snapshot can be created once, e.g. at build time, and then be loaded at each startup.
+ * </p>
+ * <p>
+ * A snapshot keeps the tags, scalar and flow styles, anchors and the structure of the nodes, including nodes referenced by aliases and recursive nodes; marks
+ * are kept optionally, without the snippet of the document they point to. Comments are not kept. Strings that occur several times, e.g. keys and tags, are
+ * stored once.
+ * </p>
+ * <p>
+ * {@link #load(Path, Path, AnnotationAwareConstructor)} maintains a snapshot of a YAML file automatically: the snapshot contains a hash of the file content
+ * and a checksum of itself, and is replaced as soon as the file has changed or the snapshot is corrupt.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class NodeSnapshot {
+    private static final int MAGIC = 0x594E5331; // "YNS1"
+    private static final int VERSION = 2;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final int NO_NODE = 0;
+    private static final int SCALAR = 1;
+    private static final int SEQUENCE = 2;
+    private static final int MAPPING = 3;
+    private static final int ALIAS = 4;
+
+    private static final int FLAG_RESOLVED = 1;
+    private static final int FLAG_MERGED = 2;
+
+    private static final int FLAG_MARKS = 1;
+
+    private static final int[] NO_BUFFER = new int[0];
+    /** Maximum number of elements that are allocated in advance for a length or count read from a snapshot. */
+    private static final int MAXIMUM_INITIAL_CAPACITY = 8192;
+
+    private NodeSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the given node tree without marks.
+     *
+     * @param node root node of a document, or <code>null</code> for an empty document
+     * @param output stream to write to; it is not closed
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(Node node, OutputStream output) throws IOException {
+        write(node, output, false);
+    }
+
+    /**
+     * Writes a snapshot of the given node tree.
+     *
+     * @param node root node of a document, or <code>null</code> for an empty document
+     * @param output stream to write to; it is not closed
+     * @param includeMarks whether the positions of the nodes within the document are written as well, e.g. for error messages
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(Node node, OutputStream output, boolean includeMarks) throws IOException {
+        write(node, output, includeMarks, new byte[0]);
+    }
+
+    /**
+     * Reads a snapshot that has been written by {@link #write(Node, OutputStream, boolean)}.
+     *
+     * @param input stream to read from; it is not closed
+     * @return root node of the document, or <code>null</code> if the document is empty
+     * @throws IOException if the snapshot cannot be read
+     */
+    public static Node read(InputStream input) throws IOException {
+        return read(input, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads a snapshot and constructs the document from it, in the same way as the constructor constructs a document that has been loaded by
+     * {@link org.yaml.snakeyaml.Yaml#load(String)}.
+     *
+     * @param input stream to read from; it is not closed
+     * @param constructor constructor
+     * @return constructed document, or <code>null</code> if the document is empty
+     * @throws IOException if the snapshot cannot be read
+     */
+    public static Object load(InputStream input, AnnotationAwareConstructor constructor) throws IOException {
+        Objects.requireNonNull(constructor, "Constructor must not be null");
+        return construct(read(input), constructor);
+    }
+
+    /**
+     * Loads the single document of a YAML file by means of a snapshot. If the snapshot file does not exist, cannot be read or has been created from
+     * different content, the YAML file is composed with the default {@link Resolver} and the snapshot file is written; otherwise, the node tree is read from
+     * the snapshot. Either way, the document is then constructed by the given constructor.
+     *
+     * @param yamlFile YAML file
+     * @param snapshotFile snapshot file of the YAML file
+     * @param constructor constructor
+     * @return constructed document, or <code>null</code> if the document is empty
+     * @throws IOException if the YAML file cannot be read or the snapshot file cannot be written
+     */
+    public static Object load(Path yamlFile, Path snapshotFile, AnnotationAwareConstructor constructor) throws IOException {
+        Objects.requireNonNull(constructor, "Constructor must not be null");
+        byte[] yaml = Files.readAllBytes(yamlFile);
+        byte[] hash = hash(yaml);
+
+        Node node = null;
+        boolean upToDate = false;
+        if (Files.isRegularFile(snapshotFile)) {
+            try (InputStream input = Files.newInputStream(snapshotFile)) {
+                node = read(input, hash, (int) Math.min(Files.size(snapshotFile), Integer.MAX_VALUE));
+                upToDate = true;
+            } catch (IOException e) {
+                // outdated or corrupt snapshot, so create it again
+            }
+        }
+
+        if (!upToDate) {
+            node = new Composer(new ParserImpl(new StreamReader(new UnicodeReader(new ByteArrayInputStream(yaml))),
+                    constructor.getLoaderOptions().isProcessComments()), new Resolver(), constructor.getLoaderOptions()).getSingleNode();
+            writeAtomically(node, snapshotFile, hash);
+        }
+        return construct(node, constructor);
+    }
+
+    /**
+     * Writes the snapshot to a temporary file of its own, which then replaces the snapshot file in one step, so that concurrent writers do not interfere and
+     * readers never see a partly written snapshot.
+     */
+    private static void writeAtomically(Node node, Path snapshotFile, byte[] hash) throws IOException {
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                write(node, output, false, hash);
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static Object construct(Node node, AnnotationAwareConstructor constructor) {
+        if (node == null || Tag.NULL.equals(node.getTag())) {
+            return null;
+        }
+        return constructor.constructComposedDocument(node);
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new YAMLException("Hash algorithm " + HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static void write(Node node, OutputStream output, boolean includeMarks, byte[] sourceHash) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(output), new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte(includeMarks ? FLAG_MARKS : 0);
+        data.writeByte(sourceHash.length);
+        data.write(sourceHash);
+        new SnapshotWriter(data, includeMarks).writeNode(node);
+        data.writeInt((int) checked.getChecksum().getValue());
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param expectedHash hash of the content the snapshot must have been created from, or <code>null</code> if any snapshot is accepted
+     * @param maximumLength upper bound of the lengths and counts within the snapshot, e.g. the size of the snapshot file
+     */
+    private static Node read(InputStream input, byte[] expectedHash, int maximumLength) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(input), new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a node snapshot");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported node snapshot version " + version);
+        }
+        boolean marks = (data.readUnsignedByte() & FLAG_MARKS) != 0;
+        byte[] sourceHash = new byte[data.readUnsignedByte()];
+        data.readFully(sourceHash);
+        if (expectedHash != null && !Arrays.equals(sourceHash, expectedHash)) {
+            throw new IOException("Node snapshot has been created from different content");
+        }
+        Node node = new SnapshotReader(data, marks, maximumLength).readNode();
+        int checksum = (int) checked.getChecksum().getValue();
+        if (data.readInt() != checksum) {
+            throw new IOException("Node snapshot is corrupt");
+        }
+        return node;
+    }
+
+    /**
+     * Writes the nodes of a snapshot. Each node that is not an alias gets the next id, and each string the next index, when it is written first.
+     *
+     * @author florian
+     */
+    private static final class SnapshotWriter {
+        private final DataOutputStream output;
+        private final boolean includeMarks;
+        private final Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+        private SnapshotWriter(DataOutputStream output, boolean includeMarks) {
+            this.output = output;
+            this.includeMarks = includeMarks;
+        }
+
+        @SuppressWarnings("deprecation") // the resolved flag is still part of the nodes
+        private void writeNode(Node node) throws IOException {
+            if (node == null) {
+                output.writeByte(NO_NODE);
+                return;
+            }
+            Integer id = nodeIds.get(node);
+            if (id != null) {
+                output.writeByte(ALIAS);
+                writeInt(id);
+                return;
+            }
+            nodeIds.put(node, nodeIds.size());
+
+            int flags = node.isResolved() ? FLAG_RESOLVED : 0;
+            switch (node.getNodeId()) {
+            case scalar:
+                output.writeByte(SCALAR);
+                break;
+            case sequence:
+                output.writeByte(SEQUENCE);
+                break;
+            case mapping:
+                output.writeByte(MAPPING);
+                flags |= ((MappingNode) node).isMerged() ? FLAG_MERGED : 0;
+                break;
+            default:
+                throw new YAMLException("Cannot write node of type " + node.getNodeId() + " to a snapshot");
+            }
+            output.writeByte(flags);
+            writeString(node.getTag().getValue());
+            writeString(node.getAnchor());
+            if (includeMarks) {
+                writeMark(node.getStartMark());
+                writeMark(node.getEndMark());
+            }
+
+            if (node instanceof ScalarNode) {
+                output.writeByte(((ScalarNode) node).getScalarStyle().ordinal());
+                writeString(((ScalarNode) node).getValue());
+            } else if (node instanceof SequenceNode) {
+                output.writeByte(((SequenceNode) node).getFlowStyle().ordinal());
+                writeInt(((SequenceNode) node).getValue().size());
+                for (Node item : ((SequenceNode) node).getValue()) {
+                    writeNode(item);
+                }
+            } else {
+                output.writeByte(((MappingNode) node).getFlowStyle().ordinal());
+                writeInt(((MappingNode) node).getValue().size());
+                for (NodeTuple tuple : ((MappingNode) node).getValue()) {
+                    writeNode(tuple.getKeyNode());
+                    writeNode(tuple.getValueNode());
+                }
+            }
+        }
+
+        private void writeMark(Mark mark) throws IOException {
+            if (mark == null) {
+                output.writeBoolean(false);
+                return;
+            }
+            output.writeBoolean(true);
+            writeString(mark.getName());
+            writeInt(mark.getIndex());
+            writeInt(mark.getLine());
+            writeInt(mark.getColumn());
+        }
+
+        /**
+         * Writes <code>0</code> for <code>null</code>, the index of a string that has been written before plus 2, or 1 followed by the string.
+         */
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                writeInt(0);
+                return;
+            }
+            Integer index = stringIndexes.get(string);
+            if (index != null) {
+                writeInt(index + 2);
+                return;
+            }
+            stringIndexes.put(string, stringIndexes.size());
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeInt(1);
+            writeInt(bytes.length);
+            output.write(bytes);
+        }
+
+        /**
+         * Writes a non-negative integer with 7 bits per byte.
+         */
+        private void writeInt(int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                output.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            output.writeByte(remaining);
+        }
+    }
+
+    /**
+     * Reads the nodes of a snapshot in the order they have been written by the {@link SnapshotWriter}.
+     *
+     * @author florian
+     */
+    private static final class SnapshotReader {
+        private static final ScalarStyle[] SCALAR_STYLES = ScalarStyle.values();
+        private static final FlowStyle[] FLOW_STYLES = FlowStyle.values();
+
+        private final DataInputStream input;
+        private final boolean marks;
+        private final int maximumLength;
+        private final List<Node> nodes = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Tag> tags = new HashMap<>();
+
+        private SnapshotReader(DataInputStream input, boolean marks, int maximumLength) {
+            this.input = input;
+            this.marks = marks;
+            this.maximumLength = maximumLength;
+        }
+
+        private Node readNode() throws IOException {
+            int kind = input.readUnsignedByte();
+            if (kind == NO_NODE) {
+                return null;
+            } else if (kind == ALIAS) {
+                int id = readInt();
+                if (id >= nodes.size()) {
+                    throw new IOException("Invalid node reference " + id);
+                }
+                return nodes.get(id);
+            }
+
+            int flags = input.readUnsignedByte();
+            boolean resolved = (flags & FLAG_RESOLVED) != 0;
+            Tag tag = readTag();
+            String anchor = readString();
+            Mark startMark = marks ? readMark() : null;
+            Mark endMark = marks ? readMark() : null;
+
+            Node node;
+            switch (kind) {
+            case SCALAR:
+                ScalarStyle scalarStyle = readStyle(SCALAR_STYLES);
+                node = new ScalarNode(tag, resolved, readRequiredString("scalar value"), startMark, endMark, scalarStyle);
+                nodes.add(node);
+                break;
+            case SEQUENCE:
+                FlowStyle sequenceStyle = readStyle(FLOW_STYLES);
+                int itemCount = readLength("item count");
+                List<Node> items = new ArrayList<>(Math.min(itemCount, MAXIMUM_INITIAL_CAPACITY));
+                node = new SequenceNode(tag, resolved, items, startMark, endMark, sequenceStyle);
+                // register the node before its children, which may refer to it
+                nodes.add(node);
+                for (int i = 0; i < itemCount; i++) {
+                    items.add(readChildNode());
+                }
+                break;
+            case MAPPING:
+                FlowStyle mappingStyle = readStyle(FLOW_STYLES);
+                int tupleCount = readLength("tuple count");
+                List<NodeTuple> tuples = new ArrayList<>(Math.min(tupleCount, MAXIMUM_INITIAL_CAPACITY));
+                MappingNode mappingNode = new MappingNode(tag, resolved, tuples, startMark, endMark, mappingStyle);
+                mappingNode.setMerged((flags & FLAG_MERGED) != 0);
+                node = mappingNode;
+                nodes.add(node);
+                for (int i = 0; i < tupleCount; i++) {
+                    Node key = readChildNode();
+                    tuples.add(new NodeTuple(key, readChildNode()));
+                }
+                break;
+            default:
+                throw new IOException("Invalid node kind " + kind);
+            }
+            node.setAnchor(anchor);
+            return node;
+        }
+
+        private Node readChildNode() throws IOException {
+            Node node = readNode();
+            if (node == null) {
+                throw new IOException("Missing node");
+            }
+            return node;
+        }
+
+        private Mark readMark() throws IOException {
+            if (!input.readBoolean()) {
+                return null;
+            }
+            return new Mark(readString(), readInt(), readInt(), readInt(), NO_BUFFER, 0);
+        }
+
+        private String readString() throws IOException {
+            int reference = readInt();
+            if (reference == 0) {
+                return null;
+            } else if (reference > 1) {
+                if (reference - 2 >= strings.size()) {
+                    throw new IOException("Invalid string reference " + reference);
+                }
+                return strings.get(reference - 2);
+            }
+            int length = readLength("string length");
+            String string;
+            if (length <= MAXIMUM_INITIAL_CAPACITY) {
+                byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                string = new String(bytes, StandardCharsets.UTF_8);
+            } else {
+                // a corrupt length must not allocate a huge array before the end of the snapshot is reached
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(MAXIMUM_INITIAL_CAPACITY);
+                byte[] buffer = new byte[MAXIMUM_INITIAL_CAPACITY];
+                for (int remaining = length; remaining > 0; remaining -= buffer.length) {
+                    int count = Math.min(remaining, buffer.length);
+                    input.readFully(buffer, 0, count);
+                    bytes.write(buffer, 0, count);
+                }
+                string = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+            }
+            strings.add(string);
+            return string;
+        }
+
+        private Tag readTag() throws IOException {
+            String value = readRequiredString("tag");
+            Tag tag = tags.get(value);
+            if (tag == null) {
+                try {
+                    tag = new Tag(value);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid tag " + value, e);
+                }
+                tags.put(value, tag);
+            }
+            return tag;
+        }
+
+        private String readRequiredString(String name) throws IOException {
+            String string = readString();
+            if (string == null) {
+                throw new IOException("Missing " + name);
+            }
+            return string;
+        }
+
+        private <S> S readStyle(S[] styles) throws IOException {
+            int ordinal = input.readUnsignedByte();
+            if (ordinal >= styles.length) {
+                throw new IOException("Invalid style " + ordinal);
+            }
+            return styles[ordinal];
+        }
+
+        private int readLength(String name) throws IOException {
+            int length = readInt();
+            if (length > maximumLength) {
+                throw new IOException("Invalid " + name + " " + length);
+            }
+            return length;
+        }
+
+        private int readInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = input.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value < 0) {
+                        throw new IOException("Invalid integer " + Integer.toUnsignedString(value));
+                    }
+                    return value;
+                }
+            }
+            throw new IOException("Invalid integer");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * <p>
+ * Loads all documents of a YAML stream and constructs them in parallel. The documents are parsed and composed one after the other in the calling thread;
+ * each composed document is then handed over to an executor to be constructed.
+ * </p>
+ * <p>
+ * Constructors are not thread-safe, so each document is constructed by a constructor that is used by no other thread at the same time. The constructors
+ * are created on demand by the given factory and reused for subsequent documents; all of them share the process-wide property metadata. Thus, the factory
+ * must create equally configured constructors.
+ * </p>
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class ParallelLoader {
+    private final Supplier<? extends AnnotationAwareConstructor> constructorFactory;
+    private final Executor executor;
+    private final Resolver resolver;
+    private final Queue<AnnotationAwareConstructor> idleConstructors = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a loader that constructs the documents in the common {@link ForkJoinPool}.
+     *
+     * @param constructorFactory creates the constructors
+     */
+    public ParallelLoader(Supplier<? extends AnnotationAwareConstructor> constructorFactory) {
+        this(constructorFactory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a loader that constructs the documents using the given executor.
+     *
+     * @param constructorFactory creates the constructors
+     * @param executor executor in which the documents are constructed
+     */
+    public ParallelLoader(Supplier<? extends AnnotationAwareConstructor> constructorFactory, Executor executor) {
+        this(constructorFactory, executor, new Resolver());
+    }
+
+    /**
+     * Creates a loader that constructs the documents using the given executor.
+     *
+     * @param constructorFactory creates the constructors
+     * @param executor executor in which the documents are constructed
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     */
+    public ParallelLoader(Supplier<? extends AnnotationAwareConstructor> constructorFactory, Executor executor, Resolver resolver) {
+        this.constructorFactory = Objects.requireNonNull(constructorFactory, "Constructor factory must not be null");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        this.resolver = Objects.requireNonNull(resolver, "Resolver must not be null");
+    }
+
+    /**
+     * Loads all documents of the given YAML string.
+     *
+     * @param yaml YAML data to load from
+     * @return constructed documents in the order they appear in the stream
+     */
+    public List<Object> loadAll(String yaml) {
+        return loadAll(new StringReader(yaml));
+    }
+
+    /**
+     * Loads all documents of the given reader. The reader is not closed.
+     *
+     * @param yaml YAML data to load from
+     * @return constructed documents in the order they appear in the stream
+     */
+    public List<Object> loadAll(Reader yaml) {
+        AnnotationAwareConstructor composingConstructor = acquireConstructor();
+        Composer composer;
+        try {
+            composer = new Composer(new ParserImpl(new StreamReader(yaml), composingConstructor.getLoaderOptions().isProcessComments()), resolver,
+                    composingConstructor.getLoaderOptions());
+        } finally {
+            idleConstructors.add(composingConstructor);
+        }
+
+        List<CompletableFuture<Object>> documents = new ArrayList<>();
+        while (composer.checkNode()) {
+            Node node = composer.getNode();
+            documents.add(CompletableFuture.supplyAsync(() -> construct(node), executor));
+        }
+
+        List<Object> result = new ArrayList<>(documents.size());
+        for (CompletableFuture<Object> document : documents) {
+            try {
+                result.add(document.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new YAMLException(e.getCause());
+            }
+        }
+        return result;
+    }
+
+    private Object construct(Node node) {
+        AnnotationAwareConstructor constructor = acquireConstructor();
+        try {
+            return constructor.constructComposedDocument(node);
+        } finally {
+            idleConstructors.add(constructor);
+        }
+    }
+
+    private AnnotationAwareConstructor acquireConstructor() {
+        AnnotationAwareConstructor constructor = idleConstructors.poll();
+        return constructor != null ? constructor : Objects.requireNonNull(constructorFactory.get(), "Constructor factory must not return null");
+    }
+}
@@ -0,0 +1,63 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Selects the subtrees of a document by their path, e.g. <code>servers[2].host</code>.
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+interface PathFilter {
+    /**
+     * Selection of a subtree.
+     */
+    enum Selection {
+        /** The subtree is dropped. */
+        NONE,
+        /** The node is kept and its children are selected one by one. */
+        CHILDREN,
+        /** The whole subtree is kept. */
+        ALL
+    }
+
+    /**
+     * Selects the subtree at the given path. This method is only called if the parent has been selected by {@link Selection#CHILDREN}.
+     *
+     * @param path path of a mapping value or sequence item
+     * @return selection
+     */
+    Selection select(String path);
+
+    /**
+     * Creates a filter that keeps the subtrees at the given paths, together with their ancestors.
+     *
+     * @param paths paths
+     * @return filter
+     */
+    static PathFilter of(Collection<String> paths) {
+        Set<String> selected = new HashSet<>(paths);
+        Set<String> ancestors = new HashSet<>();
+        for (String path : paths) {
+            for (int i = 1; i < path.length(); i++) {
+                if (path.charAt(i) == '.' || path.charAt(i) == '[') {
+                    ancestors.add(path.substring(0, i));
+                }
+            }
+        }
+        return path -> selected.contains(path) ? Selection.ALL : ancestors.contains(path) ? Selection.CHILDREN : Selection.NONE;
+    }
+
+    /**
+     * Creates a filter that keeps the subtrees whose paths match the given predicate. The children of a kept subtree are tested as well.
+     *
+     * @param predicate predicate
+     * @return filter
+     */
+    static PathFilter of(Predicate<String> predicate) {
+        return path -> predicate.test(path) ? Selection.CHILDREN : Selection.NONE;
+    }
+}
@@ -0,0 +1,160 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import de.beosign.snakeyamlanno.instrumentation.CacheType;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+
+/**
+ * <p>
+ * Holds programmatic registrations per type together with a memoized table of resolved values per node type. A resolution is calculated only once per
+ * type; negative results (no value found) are cached as well.
+ * </p>
+ * <p>
+ * The resolved values are discarded whenever the registrations change, regardless of whether this is done via the {@link #getRegistrations()} map directly or
+ * via one of its views.
+ * </p>
+ *
+ * @author florian
+ * @param <V> type of registered and resolved values
+ * @since 1.4.0
+ */
+final class ResolutionTable<V> {
+    private final ConcurrentMap<Class<?>, Optional<V>> resolved = new ConcurrentHashMap<>();
+    private final Map<Class<?>, V> registrations = new Registrations();
+    private final Function<Class<?>, V> resolver;
+    private final CacheType cacheType;
+
+    /**
+     * New table.
+     *
+     * @param resolver calculates the value for a type if it is not yet resolved; may return <code>null</code>
+     * @param cacheType type under which accesses to the resolved values are reported to the {@link InstrumentationListener}
+     */
+    ResolutionTable(Function<Class<?>, V> resolver, CacheType cacheType) {
+        this.resolver = resolver;
+        this.cacheType = cacheType;
+    }
+
+    /**
+     * @return programmatic registrations; changes to this map invalidate all resolved values
+     */
+    Map<Class<?>, V> getRegistrations() {
+        return registrations;
+    }
+
+    /**
+     * Returns the resolved value for the given type, resolving it on first access.
+     *
+     * @param type type
+     * @return resolved value or <code>null</code> if there is none
+     */
+    V resolve(Class<?> type) {
+        Optional<V> value = resolved.get(type);
+        InstrumentationListener listener = Instrumentation.getListener();
+        if (listener != null) {
+            listener.cacheAccessed(cacheType, value != null);
+        }
+        if (value == null) {
+            value = Optional.ofNullable(resolver.apply(type));
+            resolved.putIfAbsent(type, value);
+        }
+        return value.orElse(null);
+    }
+
+    /**
+     * Discards all resolved values.
+     */
+    void invalidate() {
+        resolved.clear();
+    }
+
+    /**
+     * Map of registrations that invalidates the resolved values on every modification.
+     *
+     * @author florian
+     */
+    private final class Registrations extends AbstractMap<Class<?>, V> {
+        private final Map<Class<?>, V> delegate = new HashMap<>();
+
+        @Override
+        public V get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return delegate.containsKey(key);
+        }
+
+        @Override
+        public V put(Class<?> key, V value) {
+            invalidate();
+            return delegate.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            invalidate();
+            return delegate.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            invalidate();
+            delegate.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<Class<?>, V>> entrySet() {
+            return new AbstractSet<Map.Entry<Class<?>, V>>() {
+                @Override
+                public Iterator<Map.Entry<Class<?>, V>> iterator() {
+                    Iterator<Map.Entry<Class<?>, V>> iterator = delegate.entrySet().iterator();
+                    return new Iterator<Map.Entry<Class<?>, V>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<Class<?>, V> next() {
+                            Map.Entry<Class<?>, V> entry = iterator.next();
+                            return new AbstractMap.SimpleEntry<Class<?>, V>(entry) {
+                                private static final long serialVersionUID = 1L;
+
+                                @Override
+                                public V setValue(V value) {
+                                    invalidate();
+                                    super.setValue(value);
+                                    return entry.setValue(value);
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            invalidate();
+                            iterator.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return delegate.size();
+                }
+            };
+        }
+    }
+}
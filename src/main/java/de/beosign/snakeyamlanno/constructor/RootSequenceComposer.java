@@ -0,0 +1,101 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * Composer that composes the items of a sequence at the root of a single document one after the other, so the root sequence node is never created as a whole.
+ * Anchors and aliases work across items as usual, so anchored nodes are retained until the end of the document.
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+class RootSequenceComposer extends Composer {
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * New composer.
+     *
+     * @param parser parser
+     * @param resolver resolver
+     * @param loadingConfig loader options
+     */
+    RootSequenceComposer(Parser parser, Resolver resolver, LoaderOptions loadingConfig) {
+        super(parser, resolver, loadingConfig);
+    }
+
+    /**
+     * Checks if there is another item in the root sequence.
+     *
+     * @return <code>true</code> if there is another item
+     * @throws YAMLException if the document does not have a sequence at its root or if there is more than one document
+     */
+    boolean hasNextItem() {
+        if (!started) {
+            start();
+        }
+        if (finished) {
+            return false;
+        }
+        skipComments();
+        if (parser.checkEvent(Event.ID.SequenceEnd)) {
+            finish();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Composes the next item of the root sequence.
+     *
+     * @return item node
+     */
+    Node nextItem() {
+        // the parent is only used to detect recursive structures, and items cannot contain the root sequence
+        return composeValueNode(null);
+    }
+
+    private void start() {
+        started = true;
+        // Drop the STREAM-START event.
+        parser.getEvent();
+        if (parser.checkEvent(Event.ID.StreamEnd)) {
+            // empty stream
+            parser.getEvent();
+            finished = true;
+            return;
+        }
+        // Drop the DOCUMENT-START event.
+        parser.getEvent();
+        skipComments();
+        if (!parser.checkEvent(Event.ID.SequenceStart)) {
+            throw new YAMLException("Expected a sequence at the root of the document but found " + parser.peekEvent());
+        }
+        parser.getEvent();
+    }
+
+    private void finish() {
+        finished = true;
+        // Drop the SEQUENCE-END and DOCUMENT-END events.
+        parser.getEvent();
+        skipComments();
+        parser.getEvent();
+        skipComments();
+        if (!parser.checkEvent(Event.ID.StreamEnd)) {
+            throw new YAMLException("Expected a single document in the stream but found another document: " + parser.peekEvent());
+        }
+        parser.getEvent();
+    }
+
+    private void skipComments() {
+        while (parser.checkEvent(Event.ID.Comment)) {
+            parser.getEvent();
+        }
+    }
+}
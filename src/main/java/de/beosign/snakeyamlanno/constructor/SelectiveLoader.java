@@ -0,0 +1,98 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * <p>
+ * Loads only selected parts of a single document. The subtrees that are not selected are skipped at the level of parser events, so neither nodes nor objects
+ * are created for them; the root type is constructed from the selected parts only, the other properties remain unset.
+ * </p>
+ * <p>
+ * The parts are selected by their path, which consists of the keys of mappings separated by dots and the indexes of sequence items in brackets, e.g.
+ * <code>servers[2].host</code>. Either a collection of paths is given, in which case the subtrees at these paths are loaded completely, or a predicate that
+ * is tested for each path; if it does not match, the subtree is skipped, otherwise the paths of its children are tested as well. Values of merge keys are
+ * always loaded, as are anchored nodes that are referenced by the selected parts. Sequence items that are not selected are left out, so the indexes of the
+ * constructed list may differ from the indexes in the paths. As dots separate the keys, the path of a key that contains a dot is ambiguous.
+ * </p>
+ * <p>
+ * The document is still read and parsed completely, but the time and memory needed to compose and construct it depend on the selected parts only.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class SelectiveLoader {
+    private final AnnotationAwareConstructor constructor;
+    private final Resolver resolver;
+    private final PathFilter filter;
+
+    /**
+     * Creates a loader that loads the subtrees at the given paths.
+     *
+     * @param constructor constructor; it must not be used otherwise at the same time
+     * @param paths paths of the subtrees to load, e.g. <code>servers[2]</code> or <code>settings.timeout</code>
+     */
+    public SelectiveLoader(AnnotationAwareConstructor constructor, Collection<String> paths) {
+        this(constructor, new Resolver(), PathFilter.of(Objects.requireNonNull(paths, "Paths must not be null")));
+    }
+
+    /**
+     * Creates a loader that loads the subtrees whose paths match the given predicate.
+     *
+     * @param constructor constructor; it must not be used otherwise at the same time
+     * @param pathPredicate tests the paths of mapping values and sequence items; it must match the ancestors of all subtrees to be loaded
+     */
+    public SelectiveLoader(AnnotationAwareConstructor constructor, Predicate<String> pathPredicate) {
+        this(constructor, new Resolver(), PathFilter.of(Objects.requireNonNull(pathPredicate, "Path predicate must not be null")));
+    }
+
+    /**
+     * Creates a loader that loads the subtrees whose paths match the given predicate.
+     *
+     * @param constructor constructor; it must not be used otherwise at the same time
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     * @param pathPredicate tests the paths of mapping values and sequence items; it must match the ancestors of all subtrees to be loaded
+     */
+    public SelectiveLoader(AnnotationAwareConstructor constructor, Resolver resolver, Predicate<String> pathPredicate) {
+        this(constructor, resolver, PathFilter.of(Objects.requireNonNull(pathPredicate, "Path predicate must not be null")));
+    }
+
+    private SelectiveLoader(AnnotationAwareConstructor constructor, Resolver resolver, PathFilter filter) {
+        this.constructor = Objects.requireNonNull(constructor, "Constructor must not be null");
+        this.resolver = Objects.requireNonNull(resolver, "Resolver must not be null");
+        this.filter = filter;
+    }
+
+    /**
+     * Loads the selected parts of the document of the given YAML string.
+     *
+     * @param yaml YAML data to load from
+     * @return constructed document or <code>null</code> if the document is empty
+     */
+    public Object load(String yaml) {
+        return load(new StringReader(yaml));
+    }
+
+    /**
+     * Loads the selected parts of the document of the given reader. The reader is not closed.
+     *
+     * @param yaml YAML data to load from
+     * @return constructed document or <code>null</code> if the document is empty
+     */
+    public Object load(Reader yaml) {
+        ParserImpl parser = new ParserImpl(new StreamReader(yaml), constructor.getLoaderOptions().isProcessComments());
+        Composer composer = new Composer(new FilteringParser(parser, filter), resolver, constructor.getLoaderOptions());
+        Node node = composer.getSingleNode();
+        return node != null ? constructor.constructComposedDocument(node) : null;
+    }
+}
@@ -0,0 +1,75 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Bounded pool of strings that is used by the {@link AnnotationAwareConstructor} to deduplicate the strings it constructs from scalars, i.e. string values,
+ * keys of maps and properties and the names passed to any setters. Equal strings loaded from different nodes then share one instance, which reduces the
+ * retained heap of documents with many repeated values.
+ * </p>
+ * <p>
+ * Once the pool holds its maximum number of strings, further strings are no longer added but returned as they are; strings are never evicted, so the pool
+ * keeps the instances it returned consistent. A pool can be shared by many constructors and threads.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class StringPool {
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final int maximumSize;
+
+    /**
+     * New pool.
+     * 
+     * @param maximumSize maximum number of pooled strings
+     * @throws IllegalArgumentException if the maximum size is less than 1
+     */
+    public StringPool(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1, but is " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the pooled instance that is equal to the given string. If there is none, the given string is added to the pool unless the pool is full.
+     * 
+     * @param value string
+     * @return pooled string or the given string if it is not pooled
+     */
+    public String intern(String value) {
+        String pooled = strings.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (strings.size() >= maximumSize) {
+            return value;
+        }
+        pooled = strings.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    /**
+     * @return number of pooled strings
+     */
+    public int size() {
+        return strings.size();
+    }
+
+    /**
+     * @return maximum number of pooled strings
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Removes all strings from the pool.
+     */
+    public void clear() {
+        strings.clear();
+    }
+}
@@ -0,0 +1,189 @@
+package de.beosign.snakeyamlanno.convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import de.beosign.snakeyamlanno.instrumentation.CacheType;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+
+/**
+ * <p>
+ * Bounded least recently used cache for the results of {@link Converter#convertToModel(Object)}. The cache is split into segments that are locked
+ * independently, so it can be used by many threads concurrently; each segment evicts its least recently used entry once it is full.
+ * </p>
+ * <p>
+ * Only scalar values are cached, i.e. strings, booleans and numbers; other values (e.g. lists, maps or dates) are always converted. Exceptions thrown by the
+ * converter are not cached. Each lookup of a scalar value is counted as hit or miss and reported to the {@link InstrumentationListener} as access to the
+ * {@link CacheType#CONVERSIONS} cache.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class ConversionCache {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+    private static final Object NULL = new Object();
+
+    private static final ClassValue<ConversionCache> CONVERTER_CACHES = new ClassValue<ConversionCache>() {
+        @Override
+        protected ConversionCache computeValue(Class<?> converterClass) {
+            YamlConversionCache annotation = converterClass.getAnnotation(YamlConversionCache.class);
+            return annotation != null ? new ConversionCache(annotation.maximumSize()) : null;
+        }
+    };
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * New cache.
+     * 
+     * @param maximumSize maximum number of cached conversions
+     * @throws IllegalArgumentException if the maximum size is less than 1
+     */
+    public ConversionCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1, but is " + maximumSize);
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * MIN_SEGMENT_SIZE <= maximumSize) {
+            segmentCount <<= 1;
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maximumSize / segmentCount);
+        }
+    }
+
+    /**
+     * Returns the cache shared by all properties using the given converter class.
+     * 
+     * @param converterClass converter class
+     * @return cache or <code>null</code> if the converter class is not annotated with {@link YamlConversionCache}
+     */
+    public static ConversionCache forConverter(Class<?> converterClass) {
+        return CONVERTER_CACHES.get(converterClass);
+    }
+
+    /**
+     * Returns the cached conversion of the given value. If there is none, the value is converted by the given function and the result is cached.
+     * 
+     * @param value value to convert
+     * @param conversion conversion, usually {@link Converter#convertToModel(Object)}
+     * @return converted value
+     */
+    public Object convert(Object value, Function<Object, ?> conversion) {
+        if (!isScalar(value)) {
+            return conversion.apply(value);
+        }
+
+        Segment segment = segments[segmentIndex(value)];
+        Object result;
+        synchronized (segment) {
+            result = segment.get(value);
+        }
+        InstrumentationListener listener = Instrumentation.getListener();
+        if (listener != null) {
+            listener.cacheAccessed(CacheType.CONVERSIONS, result != null);
+        }
+        if (result != null) {
+            hits.increment();
+            return result == NULL ? null : result;
+        }
+
+        misses.increment();
+        // convert outside of the lock, so a slow converter does not block other threads; concurrent misses may convert a value twice
+        Object converted = conversion.apply(value);
+        synchronized (segment) {
+            segment.put(value, converted == null ? NULL : converted);
+        }
+        return converted;
+    }
+
+    /**
+     * @return number of lookups that found a cached conversion
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that did not find a cached conversion
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return ratio of hits to all lookups or 0 if there have not been any
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return number of cached conversions
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached conversions and resets the statistics.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    private int segmentIndex(Object value) {
+        int hash = value.hashCode();
+        return (hash ^ (hash >>> 16)) & (segments.length - 1);
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof BigInteger || value instanceof BigDecimal;
+    }
+
+    /**
+     * Part of the cache that is locked as a whole.
+     *
+     * @author florian
+     */
+    private static final class Segment extends LinkedHashMap<Object, Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+
+        private Segment(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.beosign.snakeyamlanno.convert;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Marks a {@link Converter} whose results of {@link Converter#convertToModel(Object)} are cached. All properties using the converter share one
+ * {@link ConversionCache}, so the converter is called only once per distinct scalar value as long as the value is not evicted from the cache.
+ * </p>
+ * <p>
+ * Only use this annotation if the conversion depends on nothing but the given value and the results are immutable, as the same result instance is set into
+ * all beans.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+@Target({ TYPE })
+@Retention(RUNTIME)
+@Documented
+public @interface YamlConversionCache {
+    /**
+     * Maximum number of cached conversions; if the cache is full, the least recently used conversion is evicted.
+     * 
+     * @return maximum size of the cache
+     */
+    int maximumSize() default 1024;
+}
@@ -0,0 +1,40 @@
+package de.beosign.snakeyamlanno.instrumentation;
+
+import de.beosign.snakeyamlanno.PropertyMetadataCache;
+import de.beosign.snakeyamlanno.constructor.DocumentCache;
+import de.beosign.snakeyamlanno.constructor.YamlConstructBy;
+import de.beosign.snakeyamlanno.convert.ConversionCache;
+import de.beosign.snakeyamlanno.instantiator.YamlInstantiateBy;
+
+/**
+ * Caches whose accesses are reported to the {@link InstrumentationListener}.
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public enum CacheType {
+    /**
+     * The property maps of the {@link PropertyMetadataCache}.
+     */
+    PROPERTIES,
+
+    /**
+     * The {@link YamlConstructBy} resolved per node type by a constructor.
+     */
+    CONSTRUCT_BY,
+
+    /**
+     * The {@link YamlInstantiateBy} resolved per node type by a constructor.
+     */
+    INSTANTIATE_BY,
+
+    /**
+     * The converted values of a {@link ConversionCache}.
+     */
+    CONVERSIONS,
+
+    /**
+     * The constructed documents of a {@link DocumentCache}.
+     */
+    DOCUMENTS
+}
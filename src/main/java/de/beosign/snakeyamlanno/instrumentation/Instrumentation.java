@@ -0,0 +1,112 @@
+package de.beosign.snakeyamlanno.instrumentation;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>
+ * Holds the process-wide {@link InstrumentationListener}. If no listener is registered, the instrumented code paths only read a volatile field and do not
+ * take any timestamps.
+ * </p>
+ * <p>
+ * To reduce the overhead of timing, a sampling interval <code>n</code> can be given, so that on average only every <code>n</code>-th invocation is timed.
+ * Counts are not sampled: the listener is notified about every invocation, with a duration of {@link #NOT_TIMED} if the invocation has not been timed.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class Instrumentation {
+    /** Passed to the listener instead of a duration if an invocation has not been timed. */
+    public static final long NOT_TIMED = -1;
+
+    private static volatile Registration registration;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Registers the given listener and times every invocation. A previously registered listener is replaced.
+     *
+     * @param listener listener - must not be <code>null</code>
+     * @throws NullPointerException if listener is null
+     */
+    public static void register(InstrumentationListener listener) {
+        register(listener, 1);
+    }
+
+    /**
+     * Registers the given listener. A previously registered listener is replaced.
+     *
+     * @param listener listener - must not be <code>null</code>
+     * @param samplingInterval on average, one out of <code>samplingInterval</code> invocations is timed; <code>1</code> times every invocation
+     * @throws NullPointerException if listener is null
+     * @throws IllegalArgumentException if sampling interval is less than 1
+     */
+    public static void register(InstrumentationListener listener, int samplingInterval) {
+        Objects.requireNonNull(listener, "Listener must not be null");
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1 but is " + samplingInterval);
+        }
+        registration = new Registration(listener, samplingInterval);
+    }
+
+    /**
+     * Removes the registered listener, if any.
+     */
+    public static void unregister() {
+        registration = null;
+    }
+
+    /**
+     * Returns the registered listener, which is to be notified about every invocation.
+     *
+     * @return listener or <code>null</code> if none is registered
+     */
+    public static InstrumentationListener getListener() {
+        Registration current = registration;
+        return current != null ? current.listener : null;
+    }
+
+    /**
+     * Starts timing the current invocation if it is sampled.
+     *
+     * @param listener listener as returned by {@link #getListener()}
+     * @return start timestamp for {@link #elapsed(long)}, or {@link #NOT_TIMED} if no listener is registered or the invocation is not sampled
+     */
+    public static long start(InstrumentationListener listener) {
+        if (listener == null) {
+            return NOT_TIMED;
+        }
+        Registration current = registration;
+        if (current == null || current.samplingInterval > 1 && ThreadLocalRandom.current().nextInt(current.samplingInterval) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Returns the duration of an invocation.
+     *
+     * @param start timestamp returned by {@link #start(InstrumentationListener)}
+     * @return nanoseconds since the start, or {@link #NOT_TIMED} if the invocation has not been timed
+     */
+    public static long elapsed(long start) {
+        return start == NOT_TIMED ? NOT_TIMED : System.nanoTime() - start;
+    }
+
+    /**
+     * Listener together with its sampling interval, so both are replaced atomically.
+     *
+     * @author florian
+     */
+    private static final class Registration {
+        private final InstrumentationListener listener;
+        private final int samplingInterval;
+
+        private Registration(InstrumentationListener listener, int samplingInterval) {
+            this.listener = listener;
+            this.samplingInterval = samplingInterval;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package de.beosign.snakeyamlanno.instrumentation;
+
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.constructor.CustomConstructor;
+import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.instantiator.CustomInstantiator;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+
+/**
+ * <p>
+ * Receives measurements from the hot paths of {@link AnnotationAwareConstructor} and {@link AnnotationAwareRepresenter}. A listener is registered
+ * process-wide with {@link Instrumentation#register(InstrumentationListener, int)}.
+ * </p>
+ * <p>
+ * Every invocation is reported, so the calls can be counted. Timings are given in nanoseconds and include the time spent on nested objects; they are only
+ * taken for sampled invocations, for all other invocations {@link Instrumentation#NOT_TIMED} is passed. The methods are called from all threads that load or
+ * dump YAML, so implementations must be thread-safe and should return quickly. All methods do nothing by default.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public interface InstrumentationListener {
+
+    /**
+     * Called after an object has been constructed from a mapping or scalar node.
+     *
+     * @param type node type
+     * @param nanos time needed to construct the object or {@link Instrumentation#NOT_TIMED}
+     */
+    default void constructed(Class<?> type, long nanos) {
+    }
+
+    /**
+     * Called after a JavaBean has been represented.
+     *
+     * @param type type of the bean
+     * @param nanos time needed to represent the bean or {@link Instrumentation#NOT_TIMED}
+     */
+    default void represented(Class<?> type, long nanos) {
+    }
+
+    /**
+     * Called after a {@link Converter} has converted a value.
+     *
+     * @param converterClass converter class
+     * @param toModel <code>true</code> if the value has been converted to the model, <code>false</code> if it has been converted to YAML
+     * @param nanos time needed by the converter or {@link Instrumentation#NOT_TIMED}
+     */
+    default void converted(Class<?> converterClass, boolean toModel, long nanos) {
+    }
+
+    /**
+     * Called after a {@link CustomConstructor} has constructed an object.
+     *
+     * @param constructorClass custom constructor class
+     * @param nanos time needed by the custom constructor or {@link Instrumentation#NOT_TIMED}
+     */
+    default void customConstructed(Class<?> constructorClass, long nanos) {
+    }
+
+    /**
+     * Called after a {@link CustomInstantiator} has created an instance.
+     *
+     * @param instantiatorClass custom instantiator class
+     * @param nanos time needed by the custom instantiator or {@link Instrumentation#NOT_TIMED}
+     */
+    default void customInstantiated(Class<?> instantiatorClass, long nanos) {
+    }
+
+    /**
+     * Called if an exception has been ignored because the property is annotated with {@link YamlProperty#ignoreExceptions()}.
+     *
+     * @param beanType type of the bean the property belongs to
+     * @param propertyName name of the property
+     * @param exception ignored exception; exceptions raised by the properties of nested beans do not have a stack trace, but their causes do
+     */
+    default void exceptionIgnored(Class<?> beanType, String propertyName, Exception exception) {
+    }
+
+    /**
+     * Called on each access to a cache.
+     *
+     * @param cache cache that has been accessed
+     * @param hit <code>true</code> if the value was cached, <code>false</code> if it had to be calculated
+     */
+    default void cacheAccessed(CacheType cache, boolean hit) {
+    }
+}
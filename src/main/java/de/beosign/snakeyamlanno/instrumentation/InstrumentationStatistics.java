@@ -0,0 +1,233 @@
+package de.beosign.snakeyamlanno.instrumentation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * {@link InstrumentationListener} that sums up all measurements in {@link LongAdder}s, so it can be used by many threads concurrently with little contention.
+ * The statistics can be read at any time, e.g. to export them to a metrics system:
+ * </p>
+ * 
+ * <pre>
+ * InstrumentationStatistics statistics = new InstrumentationStatistics();
+ * Instrumentation.register(statistics, 10);
+ * ...
+ * statistics.getConstructions().forEach((type, timing) -&gt; export(type, timing.getCount(), timing.getAverageNanos()));
+ * </pre>
+ * <p>
+ * The statistics are kept per class name, so they do not prevent classes and their class loaders from being garbage collected; classes of the same name
+ * from different class loaders share their statistics. If a sampling interval is used, {@link Timing#getCount()} is the number of all invocations,
+ * whereas the durations are those of the {@link Timing#getTimedCount() sampled invocations}.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class InstrumentationStatistics implements InstrumentationListener {
+    private final ConcurrentMap<String, Timing> constructions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> representations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> conversionsToModel = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> conversionsToYaml = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> customConstructions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> customInstantiations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> ignoredExceptions = new ConcurrentHashMap<>();
+    private final Map<CacheType, LongAdder> cacheHits = new EnumMap<>(CacheType.class);
+    private final Map<CacheType, LongAdder> cacheMisses = new EnumMap<>(CacheType.class);
+
+    /**
+     * New instance with all counters set to zero.
+     */
+    public InstrumentationStatistics() {
+        for (CacheType cacheType : CacheType.values()) {
+            cacheHits.put(cacheType, new LongAdder());
+            cacheMisses.put(cacheType, new LongAdder());
+        }
+    }
+
+    @Override
+    public void constructed(Class<?> type, long nanos) {
+        record(constructions, type, nanos);
+    }
+
+    @Override
+    public void represented(Class<?> type, long nanos) {
+        record(representations, type, nanos);
+    }
+
+    @Override
+    public void converted(Class<?> converterClass, boolean toModel, long nanos) {
+        record(toModel ? conversionsToModel : conversionsToYaml, converterClass, nanos);
+    }
+
+    @Override
+    public void customConstructed(Class<?> constructorClass, long nanos) {
+        record(customConstructions, constructorClass, nanos);
+    }
+
+    @Override
+    public void customInstantiated(Class<?> instantiatorClass, long nanos) {
+        record(customInstantiations, instantiatorClass, nanos);
+    }
+
+    @Override
+    public void exceptionIgnored(Class<?> beanType, String propertyName, Exception exception) {
+        ignoredExceptions.computeIfAbsent(beanType.getName(), t -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void cacheAccessed(CacheType cache, boolean hit) {
+        (hit ? cacheHits : cacheMisses).get(cache).increment();
+    }
+
+    /**
+     * @return timings of constructed objects per node type name
+     */
+    public Map<String, Timing> getConstructions() {
+        return Collections.unmodifiableMap(constructions);
+    }
+
+    /**
+     * @return timings of represented beans per bean type name
+     */
+    public Map<String, Timing> getRepresentations() {
+        return Collections.unmodifiableMap(representations);
+    }
+
+    /**
+     * @return timings of conversions to the model per converter class name
+     */
+    public Map<String, Timing> getConversionsToModel() {
+        return Collections.unmodifiableMap(conversionsToModel);
+    }
+
+    /**
+     * @return timings of conversions to YAML per converter class name
+     */
+    public Map<String, Timing> getConversionsToYaml() {
+        return Collections.unmodifiableMap(conversionsToYaml);
+    }
+
+    /**
+     * @return timings of custom constructors per custom constructor class name
+     */
+    public Map<String, Timing> getCustomConstructions() {
+        return Collections.unmodifiableMap(customConstructions);
+    }
+
+    /**
+     * @return timings of custom instantiators per custom instantiator class name
+     */
+    public Map<String, Timing> getCustomInstantiations() {
+        return Collections.unmodifiableMap(customInstantiations);
+    }
+
+    /**
+     * @param beanType bean type
+     * @return number of exceptions that have been ignored for properties of the given type
+     */
+    public long getIgnoredExceptions(Class<?> beanType) {
+        LongAdder count = ignoredExceptions.get(beanType.getName());
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * @param cache cache
+     * @return number of accesses where the value was cached
+     */
+    public long getCacheHits(CacheType cache) {
+        return cacheHits.get(cache).sum();
+    }
+
+    /**
+     * @param cache cache
+     * @return number of accesses where the value had to be calculated
+     */
+    public long getCacheMisses(CacheType cache) {
+        return cacheMisses.get(cache).sum();
+    }
+
+    /**
+     * @param cache cache
+     * @return ratio of hits to all accesses, or <code>0</code> if the cache has not been accessed yet
+     */
+    public double getCacheHitRatio(CacheType cache) {
+        long hits = getCacheHits(cache);
+        long accesses = hits + getCacheMisses(cache);
+        return accesses == 0 ? 0 : (double) hits / accesses;
+    }
+
+    /**
+     * Sets all counters to zero.
+     */
+    public void reset() {
+        constructions.clear();
+        representations.clear();
+        conversionsToModel.clear();
+        conversionsToYaml.clear();
+        customConstructions.clear();
+        customInstantiations.clear();
+        ignoredExceptions.clear();
+        cacheHits.values().forEach(LongAdder::reset);
+        cacheMisses.values().forEach(LongAdder::reset);
+    }
+
+    private static void record(ConcurrentMap<String, Timing> timings, Class<?> type, long nanos) {
+        Timing timing = timings.get(type.getName());
+        if (timing == null) {
+            timing = timings.computeIfAbsent(type.getName(), t -> new Timing());
+        }
+        timing.count.increment();
+        if (nanos != Instrumentation.NOT_TIMED) {
+            timing.timedCount.increment();
+            timing.nanos.add(nanos);
+        }
+    }
+
+    /**
+     * Number of invocations and total duration of the timed invocations.
+     *
+     * @author florian
+     */
+    public static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timedCount = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Timing() {
+        }
+
+        /**
+         * @return number of all invocations, whether they have been timed or not
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return number of timed invocations
+         */
+        public long getTimedCount() {
+            return timedCount.sum();
+        }
+
+        /**
+         * @return total duration of all timed invocations in nanoseconds
+         */
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * @return average duration of a timed invocation in nanoseconds, or <code>0</code> if there has been none
+         */
+        public double getAverageNanos() {
+            long invocations = getTimedCount();
+            return invocations == 0 ? 0 : (double) getNanos() / invocations;
+        }
+    }
+}
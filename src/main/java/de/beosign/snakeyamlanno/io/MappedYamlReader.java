@@ -0,0 +1,280 @@
+package de.beosign.snakeyamlanno.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>
+ * Reader that decodes a YAML file directly from a memory-mapped {@link ByteBuffer}, so the file is neither copied into a byte array nor into an intermediate
+ * char buffer: the characters are decoded straight into the buffer of the reader's caller, usually the {@link org.yaml.snakeyaml.reader.StreamReader} of
+ * SnakeYAML. Pass the reader to any method that loads from a {@link Reader}, e.g. {@code Yaml.load(Reader)} or
+ * {@code AnnotationAwareListConstructor.loadAsStream(Reader)}:
+ * </p>
+ *
+ * <pre>
+ * try (Reader reader = MappedYamlReader.open(path)) {
+ *     Config config = new Yaml(new AnnotationAwareConstructor(Config.class)).load(reader);
+ * }
+ * </pre>
+ * <p>
+ * Like SnakeYAML's {@code UnicodeReader}, the encoding is detected by the byte order mark and defaults to UTF-8, and malformed input is reported as
+ * exception. Runs of ASCII characters in UTF-8 input are copied without a {@link CharsetDecoder}; the decoders are pooled and reused by subsequent readers.
+ * Files larger than 2 GB are mapped in consecutive windows.
+ * </p>
+ * <p>
+ * The mapped memory is released when the buffer is garbage collected, not when the reader is closed.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class MappedYamlReader extends Reader {
+    private static final Map<Charset, Queue<CharsetDecoder>> DECODERS = new ConcurrentHashMap<>();
+    private static final int NO_PENDING_CHAR = -1;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long end;
+    private final int windowSize;
+    private final Charset charset;
+    private final boolean ascii;
+
+    private CharsetDecoder decoder;
+    /** Position of {@link #buffer} within the channel. */
+    private long windowStart;
+    private ByteBuffer buffer;
+    private boolean flushed;
+    /** Low surrogate that did not fit into the caller's buffer. */
+    private int pendingChar = NO_PENDING_CHAR;
+
+    /**
+     * Creates a reader.
+     *
+     * @param channel channel
+     * @param ownsChannel whether the channel is closed together with the reader
+     * @param windowSize maximum number of bytes that are mapped at once
+     * @throws IOException if the channel cannot be mapped
+     */
+    MappedYamlReader(FileChannel channel, boolean ownsChannel, int windowSize) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.windowSize = windowSize;
+        this.end = channel.size();
+        this.windowStart = Math.min(channel.position(), end);
+        map();
+
+        int bom = detectBom();
+        this.charset = bom == 2 ? (buffer.get(buffer.position() - 1) == (byte) 0xFF ? StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE)
+                : StandardCharsets.UTF_8;
+        this.ascii = charset == StandardCharsets.UTF_8;
+        this.decoder = acquireDecoder(charset);
+    }
+
+    /**
+     * Opens a reader for the given file. The file is closed when the reader is closed.
+     *
+     * @param path path of the file
+     * @return reader
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static MappedYamlReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedYamlReader(channel, true, Integer.MAX_VALUE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a reader for the given channel, starting at its current position. The channel is not closed when the reader is closed.
+     *
+     * @param channel channel
+     * @return reader
+     * @throws IOException if the channel cannot be mapped
+     */
+    public static MappedYamlReader open(FileChannel channel) throws IOException {
+        return new MappedYamlReader(channel, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return charset that is used to decode the input
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (decoder == null) {
+            throw new IOException("Reader has been closed");
+        }
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        if (pendingChar != NO_PENDING_CHAR) {
+            cbuf[off] = (char) pendingChar;
+            pendingChar = NO_PENDING_CHAR;
+            count++;
+        }
+        while (count < len && !flushed) {
+            if (ascii) {
+                count += copyAscii(cbuf, off + count, len - count);
+                if (count == len) {
+                    break;
+                }
+            }
+            count += decode(cbuf, off + count, len - count);
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (decoder == null) {
+            return;
+        }
+        DECODERS.computeIfAbsent(charset, c -> new ConcurrentLinkedQueue<>()).add(decoder);
+        decoder = null;
+        buffer = null;
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Copies the bytes of the buffer to the given array as long as they are ASCII characters.
+     *
+     * @return number of copied characters
+     */
+    private int copyAscii(char[] cbuf, int off, int len) {
+        int position = buffer.position();
+        int limit = Math.min(buffer.limit(), position + len);
+        int i = position;
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (b < 0) {
+                break;
+            }
+            cbuf[off + i - position] = (char) b;
+            i++;
+        }
+        buffer.position(i);
+        return i - position;
+    }
+
+    /**
+     * Decodes at least one character unless the input is exhausted. If the fast path is used, only the next run of non-ASCII bytes is decoded.
+     *
+     * @return number of decoded characters
+     * @throws CharacterCodingException if the input is malformed
+     */
+    private int decode(char[] cbuf, int off, int len) throws IOException {
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (true) {
+            boolean lastWindow = windowStart + buffer.limit() >= end;
+            ByteBuffer in = buffer;
+            if (ascii) {
+                // include the first ASCII byte after the run, so an incomplete sequence at the end of the run is reported as malformed
+                in = buffer.duplicate();
+                in.limit(Math.min(nextAscii() + 1, buffer.limit()));
+            }
+            boolean endOfInput = lastWindow && in.limit() == buffer.limit();
+            CoderResult result = decoder.decode(in, out, endOfInput);
+            buffer.position(in.position());
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow() && out.position() == off) {
+                // a surrogate pair does not fit into a single char
+                return decodeSurrogatePair(cbuf, off);
+            }
+            if (endOfInput && !buffer.hasRemaining() && !decoder.flush(out).isOverflow()) {
+                flushed = true;
+            }
+            if (out.position() > off || flushed) {
+                return out.position() - off;
+            }
+            if (!lastWindow) {
+                // move the window to the first byte that has not been decoded yet, e.g. an incomplete multi-byte sequence
+                windowStart += buffer.position();
+                map();
+            }
+        }
+    }
+
+    private int decodeSurrogatePair(char[] cbuf, int off) throws IOException {
+        CharBuffer pair = CharBuffer.allocate(2);
+        CoderResult result = decoder.decode(buffer, pair, false);
+        if (result.isError()) {
+            result.throwException();
+        }
+        cbuf[off] = pair.get(0);
+        pendingChar = pair.get(1);
+        return 1;
+    }
+
+    /**
+     * @return position of the next ASCII byte in the buffer after the current position, or the limit if there is none
+     */
+    private int nextAscii() {
+        int i = buffer.position();
+        while (i < buffer.limit() && buffer.get(i) < 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private void map() throws IOException {
+        long size = Math.min(end - windowStart, windowSize);
+        buffer = channel.map(MapMode.READ_ONLY, windowStart, size);
+    }
+
+    /**
+     * Skips the byte order mark, if there is one.
+     *
+     * @return number of skipped bytes
+     */
+    private int detectBom() {
+        if (buffer.remaining() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+            buffer.position(3);
+            return 3;
+        }
+        if (buffer.remaining() >= 2 && (buffer.get(0) == (byte) 0xFE && buffer.get(1) == (byte) 0xFF || buffer.get(0) == (byte) 0xFF && buffer.get(1) == (byte) 0xFE)) {
+            buffer.position(2);
+            return 2;
+        }
+        return 0;
+    }
+
+    private static CharsetDecoder acquireDecoder(Charset charset) {
+        Queue<CharsetDecoder> decoders = DECODERS.get(charset);
+        CharsetDecoder decoder = decoders != null ? decoders.poll() : null;
+        if (decoder == null) {
+            return charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+        }
+        return decoder.reset();
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 
 import org.yaml.snakeyaml.introspector.Property;
 
+import de.beosign.snakeyamlanno.component.ComponentFactory;
+
 /**
  * <p>
  * All annotated properties should have this class as base class.
@@ -51,6 +53,70 @@ public class AnnotatedProperty extends Property {
         return targetProperty.get(object);
     }
 
+    /**
+     * Sets the value like {@link #set(Object, Object)}, but obtains the components that are needed to do so, e.g. converters, from the given factory.
+     * 
+     * @param object object where the property belongs to
+     * @param value value to set
+     * @param componentFactory component factory of the constructor
+     * @throws Exception if the value cannot be set
+     * @since 1.4.0
+     */
+    public void set(Object object, Object value, ComponentFactory componentFactory) throws Exception {
+        if (targetProperty instanceof AnnotatedProperty) {
+            setTarget(object, value, componentFactory);
+        } else {
+            set(object, value);
+        }
+    }
+
+    /**
+     * Returns the value like {@link #get(Object)}, but obtains the components that are needed to do so, e.g. converters, from the given factory.
+     * 
+     * @param object object where the property belongs to
+     * @param componentFactory component factory of the representer
+     * @return value
+     * @since 1.4.0
+     */
+    public Object get(Object object, ComponentFactory componentFactory) {
+        if (targetProperty instanceof AnnotatedProperty) {
+            return getTarget(object, componentFactory);
+        }
+        return get(object);
+    }
+
+    /**
+     * Sets the value into the target property, passing on the component factory if the target property is annotated as well.
+     * 
+     * @param object object where the property belongs to
+     * @param value value to set
+     * @param componentFactory component factory
+     * @throws Exception if the value cannot be set
+     * @since 1.4.0
+     */
+    protected final void setTarget(Object object, Object value, ComponentFactory componentFactory) throws Exception {
+        if (targetProperty instanceof AnnotatedProperty) {
+            ((AnnotatedProperty) targetProperty).set(object, value, componentFactory);
+        } else {
+            targetProperty.set(object, value);
+        }
+    }
+
+    /**
+     * Returns the value of the target property, passing on the component factory if the target property is annotated as well.
+     * 
+     * @param object object where the property belongs to
+     * @param componentFactory component factory
+     * @return value
+     * @since 1.4.0
+     */
+    protected final Object getTarget(Object object, ComponentFactory componentFactory) {
+        if (targetProperty instanceof AnnotatedProperty) {
+            return ((AnnotatedProperty) targetProperty).get(object, componentFactory);
+        }
+        return targetProperty.get(object);
+    }
+
     @Override
     public List<Annotation> getAnnotations() {
         return targetProperty.getAnnotations();
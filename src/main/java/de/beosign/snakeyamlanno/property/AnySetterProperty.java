@@ -1,10 +1,12 @@
 package de.beosign.snakeyamlanno.property;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.yaml.snakeyaml.error.YAMLException;
 import org.yaml.snakeyaml.introspector.MissingProperty;
 
 /**
@@ -20,6 +22,7 @@ import org.yaml.snakeyaml.introspector.MissingProperty;
  */
 public class AnySetterProperty extends AnnotatedProperty {
     private final Method anySetterMethod;
+    private final MethodHandle anySetterHandle;
 
     /**
      * New instance.
@@ -29,6 +32,20 @@ public class AnySetterProperty extends AnnotatedProperty {
      * @throws IllegalArgumentException if the passed in method does not have exactly two parameters, namely {@link String} and {@link Object}.
      */
     public AnySetterProperty(String name, Method anySetterMethod) {
+        this(name, anySetterMethod, null);
+    }
+
+    /**
+     * New instance that calls the any setter by means of the given method handle.
+     * 
+     * @param name name of the property that is not present at the target object.
+     * @param anySetterMethod a method that takes two arguments, {@link String} and {@link Object}.
+     * @param anySetterHandle handle of the any setter method of type <code>(Object, String, Object)void</code>; if <code>null</code>, the method is invoked
+     *            reflectively
+     * @throws IllegalArgumentException if the passed in method does not have exactly two parameters, namely {@link String} and {@link Object}.
+     * @since 1.4.0
+     */
+    public AnySetterProperty(String name, Method anySetterMethod, MethodHandle anySetterHandle) {
         super(name, new MissingProperty(name));
 
         Supplier<String> messageSupplier = () -> {
@@ -43,6 +60,7 @@ public class AnySetterProperty extends AnnotatedProperty {
             throw new IllegalArgumentException(messageSupplier.get());
         }
         this.anySetterMethod = anySetterMethod;
+        this.anySetterHandle = anySetterHandle;
     }
 
     /**
@@ -50,7 +68,17 @@ public class AnySetterProperty extends AnnotatedProperty {
      */
     @Override
     public void set(Object object, Object value) throws Exception {
-        anySetterMethod.invoke(object, getName(), value);
+        if (anySetterHandle == null) {
+            anySetterMethod.invoke(object, getName(), value);
+            return;
+        }
+        try {
+            anySetterHandle.invokeExact(object, getName(), value);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new YAMLException("Unable to call any setter " + anySetterMethod.getName() + " on object " + object, e);
+        }
     }
 
 }
@@ -0,0 +1,196 @@
+package de.beosign.snakeyamlanno.property;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.introspector.FieldProperty;
+import org.yaml.snakeyaml.introspector.MethodProperty;
+import org.yaml.snakeyaml.introspector.Property;
+
+/**
+ * <p>
+ * This special property type accesses the getter, setter or field of the discovered property by means of a {@link MethodHandle} that is created once per
+ * property, instead of using reflection on each access. As the property metadata is shared process-wide, the method handles are created once per type and
+ * property.
+ * </p>
+ * <p>
+ * If a method handle cannot be created, e.g. because the setter is not public, the access is delegated to the discovered property, so the behavior is the same
+ * as without this property. Note that exceptions thrown by a getter or setter are not wrapped in an {@link java.lang.reflect.InvocationTargetException}.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class CompiledProperty extends AnnotatedProperty {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final Class<?> valueType;
+    private final boolean primitive;
+
+    private CompiledProperty(Property targetProperty, MethodHandle getter, MethodHandle setter, Class<?> valueType) {
+        super(targetProperty);
+        this.getter = getter;
+        this.setter = setter;
+        this.valueType = ClassUtils.primitiveToWrapper(valueType);
+        this.primitive = valueType.isPrimitive();
+    }
+
+    /**
+     * Creates a compiled property for the given discovered property.
+     *
+     * @param type type the property belongs to
+     * @param property property as discovered by the property utils
+     * @return compiled property or the given property if neither its getter nor its setter can be accessed by a method handle
+     */
+    public static Property compile(Class<?> type, Property property) {
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        Class<?> valueType = property.getType();
+        if (property instanceof MethodProperty) {
+            PropertyDescriptor descriptor = findPropertyDescriptor(type, property);
+            if (descriptor != null) {
+                getter = property.isReadable() ? unreflectGetter(descriptor.getReadMethod()) : null;
+                setter = property.isWritable() ? unreflectSetter(descriptor.getWriteMethod()) : null;
+                valueType = setter != null ? descriptor.getWriteMethod().getParameterTypes()[0] : valueType;
+            }
+        } else if (property instanceof FieldProperty) {
+            Field field = findField(type, property);
+            if (field != null) {
+                getter = unreflectGetter(field);
+                setter = unreflectSetter(field);
+                valueType = field.getType();
+            }
+        }
+
+        if (getter == null && setter == null) {
+            return property;
+        }
+        return new CompiledProperty(property, getter, setter, valueType);
+    }
+
+    /**
+     * Values that the setter does not accept without conversion are set by the delegate, so conversions and error messages are the same as without this
+     * property.
+     */
+    @Override
+    public void set(Object object, Object value) throws Exception {
+        if (setter == null || (value == null ? primitive : !valueType.isInstance(value))) {
+            super.set(object, value);
+            return;
+        }
+        try {
+            setter.invokeExact(object, value);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new YAMLException("Unable to set property '" + getName() + "' on object " + object, e);
+        }
+    }
+
+    @Override
+    public Object get(Object object) {
+        if (getter == null) {
+            return super.get(object);
+        }
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new YAMLException("Unable to get property '" + getName() + "' on object " + object + ":" + e, e);
+        }
+    }
+
+    /**
+     * Overridden so this property reports the readability of the delegate.
+     */
+    @Override
+    public boolean isReadable() {
+        return getTargetProperty().isReadable();
+    }
+
+    private static PropertyDescriptor findPropertyDescriptor(Class<?> type, Property property) {
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (descriptor.getName().equals(property.getName()) && descriptor.getPropertyType() == property.getType()) {
+                    return descriptor;
+                }
+            }
+        } catch (IntrospectionException e) {
+            // not compilable, use the discovered property
+        }
+        return null;
+    }
+
+    private static Field findField(Class<?> type, Property property) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(property.getName());
+                if (field.getType() != property.getType() || Modifier.isStatic(field.getModifiers())) {
+                    return null;
+                }
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // continue with super class
+            } catch (RuntimeException e) {
+                // security manager or module system prevent access
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The getter is made accessible, just like the {@link MethodProperty} does.
+     */
+    private static MethodHandle unreflectGetter(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // security manager or module system prevent access
+            return null;
+        }
+    }
+
+    /**
+     * The setter is only accessed if it is public, just like the {@link MethodProperty} does.
+     */
+    private static MethodHandle unreflectSetter(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflectGetter(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflectSetter(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+}
@@ -2,30 +2,56 @@ package de.beosign.snakeyamlanno.property;
 
 import org.yaml.snakeyaml.introspector.Property;
 
+import de.beosign.snakeyamlanno.component.ComponentFactory;
+import de.beosign.snakeyamlanno.component.DefaultComponentFactory;
+import de.beosign.snakeyamlanno.convert.ConversionCache;
 import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.convert.ConverterException;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
 
 /**
- * This special property type is used to indicate that a value must be converted when being set into the model class.
+ * This special property type is used to indicate that a value must be converted when being set into the model class.<br>
+ * The converter is obtained from the {@link ComponentFactory} of the constructor or representer each time a value is converted, so this property does not
+ * hold any converter instance itself; if the property is used without a component factory, the {@link DefaultComponentFactory} is used. If a
+ * {@link ConversionCache} is given, the converted values are taken from the cache, so converters that use a cache must convert equal values equally
+ * regardless of the component factory that provided them.
  * 
  * @author florian
  */
 public class ConvertedProperty extends AnnotatedProperty {
-    private final Converter<Object> converter;
+    private final Class<? extends Converter<?>> converterClass;
+    private final ConversionCache conversionCache;
 
     /**
      * New instance.
      * 
      * @param originalProperty property that was discovered and is now used as a delegate for this property
      * @param converterClass converter class
-     * @throws IllegalAccessException if converter class cannot be accessed
-     * @throws InstantiationException if converter class cannot be instantiated
+     * @throws IllegalAccessException never; converters are obtained when they are used
+     * @throws InstantiationException never; converters are obtained when they are used
      */
-    @SuppressWarnings("unchecked")
     public ConvertedProperty(Property originalProperty, Class<? extends Converter<?>> converterClass) throws InstantiationException, IllegalAccessException {
+        this(originalProperty, converterClass, ConversionCache.forConverter(converterClass));
+    }
+
+    /**
+     * New instance.
+     * 
+     * @param originalProperty property that was discovered and is now used as a delegate for this property
+     * @param converterClass converter class
+     * @param conversionCache cache for the converted values or <code>null</code> if every value is converted
+     * @throws IllegalAccessException never; converters are obtained when they are used
+     * @throws InstantiationException never; converters are obtained when they are used
+     * @since 1.4.0
+     */
+    public ConvertedProperty(Property originalProperty, Class<? extends Converter<?>> converterClass, ConversionCache conversionCache)
+            throws InstantiationException, IllegalAccessException {
         // use Object.class because otherwise Snakeyaml tries to already construct the concrete type without using the converted value which will fail
         super(originalProperty.getName(), Object.class, originalProperty);
 
-        this.converter = (Converter<Object>) converterClass.newInstance();
+        this.converterClass = converterClass;
+        this.conversionCache = conversionCache;
     }
 
     /**
@@ -36,7 +62,22 @@ public class ConvertedProperty extends AnnotatedProperty {
      */
     @Override
     public void set(Object object, Object value) throws Exception {
-        super.set(object, converter.convertToModel(value));
+        set(object, value, DefaultComponentFactory.getInstance());
+    }
+
+    /**
+     * Converts the given value with a converter of the given factory and sets it into this property.
+     * 
+     * @param object object where the property belongs to
+     * @param value value to convert
+     * @param componentFactory factory that provides the converter
+     * @since 1.4.0
+     */
+    @Override
+    public void set(Object object, Object value, ComponentFactory componentFactory) throws Exception {
+        Object modelValue = conversionCache != null ? conversionCache.convert(value, yamlValue -> convertToModel(yamlValue, componentFactory))
+                : convertToModel(value, componentFactory);
+        setTarget(object, modelValue, componentFactory);
     }
 
     /**
@@ -46,7 +87,55 @@ public class ConvertedProperty extends AnnotatedProperty {
      */
     @Override
     public Object get(Object object) {
-        return converter.convertToYaml(super.get(object));
+        return get(object, DefaultComponentFactory.getInstance());
+    }
+
+    /**
+     * Returns the value converted by a converter of the given factory.
+     * 
+     * @param object object where the property belongs to
+     * @param componentFactory factory that provides the converter
+     * @since 1.4.0
+     */
+    @Override
+    public Object get(Object object, ComponentFactory componentFactory) {
+        Converter<Object> currentConverter = getConverter(componentFactory);
+        Object modelValue = getTarget(object, componentFactory);
+        InstrumentationListener listener = Instrumentation.getListener();
+        long start = Instrumentation.start(listener);
+        Object yamlValue = currentConverter.convertToYaml(modelValue);
+        if (listener != null) {
+            listener.converted(converterClass, false, Instrumentation.elapsed(start));
+        }
+        return yamlValue;
+    }
+
+    /**
+     * @return cache for the converted values or <code>null</code> if every value is converted
+     * @since 1.4.0
+     */
+    public ConversionCache getConversionCache() {
+        return conversionCache;
+    }
+
+    private Object convertToModel(Object value, ComponentFactory componentFactory) {
+        Converter<Object> currentConverter = getConverter(componentFactory);
+        InstrumentationListener listener = Instrumentation.getListener();
+        long start = Instrumentation.start(listener);
+        Object modelValue = currentConverter.convertToModel(value);
+        if (listener != null) {
+            listener.converted(converterClass, true, Instrumentation.elapsed(start));
+        }
+        return modelValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Converter<Object> getConverter(ComponentFactory componentFactory) {
+        try {
+            return (Converter<Object>) componentFactory.getComponent(converterClass);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ConverterException("Cannot create converter " + converterClass.getName(), e);
+        }
     }
 
 }
@@ -0,0 +1,83 @@
+package de.beosign.snakeyamlanno.property;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Holder of a value that is created on first access. A property of this type (or of type {@link Supplier}) that is annotated with
+ * {@link YamlProperty#lazy()} is not constructed when the document is loaded, but when {@link #get()} is called for the first time.
+ * </p>
+ * <p>
+ * The value is created only once, even if it is accessed by many threads at the same time. If the creation fails, the exception is thrown and the creation
+ * is tried again on the next access.
+ * </p>
+ *
+ * @author florian
+ * @param <T> type of value
+ * @since 1.4.0
+ */
+public final class Lazy<T> implements Supplier<T> {
+    private volatile Supplier<? extends T> initializer;
+    private T value;
+
+    private Lazy(Supplier<? extends T> initializer, T value) {
+        this.initializer = initializer;
+        this.value = value;
+    }
+
+    /**
+     * Creates a holder whose value is created by the given supplier on first access.
+     *
+     * @param initializer creates the value
+     * @param <T> type of value
+     * @return holder
+     * @throws NullPointerException if the initializer is <code>null</code>
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> initializer) {
+        return new Lazy<>(Objects.requireNonNull(initializer, "Initializer must not be null"), null);
+    }
+
+    /**
+     * Creates a holder of a value that already exists.
+     *
+     * @param value value
+     * @param <T> type of value
+     * @return holder
+     */
+    public static <T> Lazy<T> ofValue(T value) {
+        return new Lazy<>(null, value);
+    }
+
+    /**
+     * Returns the value, creating it if this is the first access.
+     *
+     * @return value
+     */
+    @Override
+    public T get() {
+        if (initializer != null) {
+            synchronized (this) {
+                Supplier<? extends T> currentInitializer = initializer;
+                if (currentInitializer != null) {
+                    value = currentInitializer.get();
+                    // the volatile write publishes the value
+                    initializer = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return <code>true</code> if the value has been created
+     */
+    public boolean isInitialized() {
+        return initializer == null;
+    }
+
+    @Override
+    public String toString() {
+        return isInitialized() ? "Lazy[" + value + "]" : "Lazy[not initialized]";
+    }
+}
@@ -2,6 +2,8 @@ package de.beosign.snakeyamlanno.property;
 
 import org.yaml.snakeyaml.introspector.Property;
 
+import de.beosign.snakeyamlanno.component.ComponentFactory;
+
 /**
  * This special property type is used to indicate that a value must be skipped and <b>not</b> set into the model class, so a call to "set" does nothing.
  * 
@@ -25,4 +27,11 @@ public class SkippedProperty extends AnnotatedProperty {
     public void set(Object object, Object value) throws Exception {
     }
 
+    /**
+     * Setter does nothing.
+     */
+    @Override
+    public void set(Object object, Object value, ComponentFactory componentFactory) throws Exception {
+    }
+
 }
@@ -3,6 +3,7 @@ package de.beosign.snakeyamlanno.property;
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
@@ -24,4 +25,40 @@ import java.lang.annotation.Target;
 @Target({ METHOD })
 @Retention(RUNTIME)
 public @interface YamlAnyGetter {
+
+    /**
+     * Factory that creates instances of {@link YamlAnyGetter}. Used by generated adapters, so they do not need to read the annotation by reflection.
+     * 
+     * @since 1.4.0
+     */
+    final class Factory {
+        private static final YamlAnyGetter INSTANCE = new YamlAnyGetterImpl();
+
+        private Factory() {
+        }
+
+        /**
+         * Returns a {@link YamlAnyGetter}.
+         * 
+         * @return {@link YamlAnyGetter}
+         */
+        public static YamlAnyGetter of() {
+            return INSTANCE;
+        }
+
+        /**
+         * Implementation class.
+         * 
+         * @author florian
+         */
+        @SuppressWarnings({ "all" })
+        private static final class YamlAnyGetterImpl implements YamlAnyGetter {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return YamlAnyGetter.class;
+            }
+
+        }
+
+    }
 }
@@ -4,10 +4,13 @@ import static java.lang.annotation.ElementType.FIELD;
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
+import de.beosign.snakeyamlanno.convert.ConversionCache;
 import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.convert.YamlConversionCache;
 import de.beosign.snakeyamlanno.skip.SkipAtDumpPredicate;
 
 /**
@@ -33,6 +36,16 @@ public @interface YamlProperty {
      */
     Class<? extends Converter<?>> converter() default Converter.NoConverter.class;
 
+    /**
+     * If greater than 0, the results of the {@link #converter()} are cached for this property in a {@link ConversionCache} of the given size. This overrides a
+     * {@link YamlConversionCache} annotation on the converter class. Only use this if the conversion depends on nothing but the given value and the results
+     * are immutable.
+     * 
+     * @return maximum size of the conversion cache; defaults to 0, i.e. no cache unless the converter class defines one
+     * @since 1.4.0
+     */
+    int conversionCacheSize() default 0;
+
     /**
      * If true, exceptions are caught so the parsing process continues. This will leave some objects
      * in the tree <code>null</code>
@@ -75,4 +88,128 @@ public @interface YamlProperty {
      */
     int order() default 0;
 
+    /**
+     * If true, the value of this property is not constructed when the document is loaded, but on first access. The property must be of type {@link Lazy} or
+     * {@link java.util.function.Supplier}; its type argument is the type of the value. The node of the value is retained until the value is constructed by
+     * the same constructor, so the constructor must not be garbage collected or reconfigured in the meantime. {@link #ignoreExceptions()} is applied when the
+     * value is constructed; a lazy property cannot have a {@link #converter()} or a property-level {@code YamlConstructBy}. Aliases refer to the same objects
+     * as without lazy construction, whether the anchor or the alias is part of the lazy value; for this, the objects constructed for anchored nodes are
+     * retained as long as a lazy value of the document is.
+     * 
+     * @return <code>true</code> if the value is constructed on first access
+     * @since 1.4.0
+     */
+    boolean lazy() default false;
+
+    /**
+     * Factory that creates instances of {@link YamlProperty}. Used by generated adapters, so they do not need to read the annotation by reflection.
+     * 
+     * @since 1.4.0
+     */
+    final class Factory {
+        private Factory() {
+        }
+
+        /**
+         * Creates a {@link YamlProperty}.
+         * 
+         * @param key see {@link YamlProperty#key()}
+         * @param converter see {@link YamlProperty#converter()}
+         * @param conversionCacheSize see {@link YamlProperty#conversionCacheSize()}
+         * @param ignoreExceptions see {@link YamlProperty#ignoreExceptions()}
+         * @param skipAtLoad see {@link YamlProperty#skipAtLoad()}
+         * @param skipAtDump see {@link YamlProperty#skipAtDump()}
+         * @param skipAtDumpIf see {@link YamlProperty#skipAtDumpIf()}
+         * @param order see {@link YamlProperty#order()}
+         * @param lazy see {@link YamlProperty#lazy()}
+         * @return {@link YamlProperty}
+         */
+        public static YamlProperty of(String key, Class<? extends Converter<?>> converter, int conversionCacheSize, boolean ignoreExceptions,
+                boolean skipAtLoad, boolean skipAtDump, Class<? extends SkipAtDumpPredicate> skipAtDumpIf, int order, boolean lazy) {
+            return new YamlPropertyImpl(key, converter, conversionCacheSize, ignoreExceptions, skipAtLoad, skipAtDump, skipAtDumpIf, order, lazy);
+        }
+
+        /**
+         * Implementation class.
+         * 
+         * @author florian
+         */
+        @SuppressWarnings({ "all" })
+        private static final class YamlPropertyImpl implements YamlProperty {
+            private final String key;
+            private final Class<? extends Converter<?>> converter;
+            private final int conversionCacheSize;
+            private final boolean ignoreExceptions;
+            private final boolean skipAtLoad;
+            private final boolean skipAtDump;
+            private final Class<? extends SkipAtDumpPredicate> skipAtDumpIf;
+            private final int order;
+            private final boolean lazy;
+
+            private YamlPropertyImpl(String key, Class<? extends Converter<?>> converter, int conversionCacheSize, boolean ignoreExceptions,
+                    boolean skipAtLoad, boolean skipAtDump, Class<? extends SkipAtDumpPredicate> skipAtDumpIf, int order, boolean lazy) {
+                this.key = key;
+                this.converter = converter;
+                this.conversionCacheSize = conversionCacheSize;
+                this.ignoreExceptions = ignoreExceptions;
+                this.skipAtLoad = skipAtLoad;
+                this.skipAtDump = skipAtDump;
+                this.skipAtDumpIf = skipAtDumpIf;
+                this.order = order;
+                this.lazy = lazy;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return YamlProperty.class;
+            }
+
+            @Override
+            public String key() {
+                return key;
+            }
+
+            @Override
+            public Class<? extends Converter<?>> converter() {
+                return converter;
+            }
+
+            @Override
+            public int conversionCacheSize() {
+                return conversionCacheSize;
+            }
+
+            @Override
+            public boolean ignoreExceptions() {
+                return ignoreExceptions;
+            }
+
+            @Override
+            public boolean skipAtLoad() {
+                return skipAtLoad;
+            }
+
+            @Override
+            public boolean skipAtDump() {
+                return skipAtDump;
+            }
+
+            @Override
+            public Class<? extends SkipAtDumpPredicate> skipAtDumpIf() {
+                return skipAtDumpIf;
+            }
+
+            @Override
+            public int order() {
+                return order;
+            }
+
+            @Override
+            public boolean lazy() {
+                return lazy;
+            }
+
+        }
+
+    }
 }
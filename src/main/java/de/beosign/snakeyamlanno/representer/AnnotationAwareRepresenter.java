@@ -1,23 +1,47 @@
 package de.beosign.snakeyamlanno.representer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
 import org.yaml.snakeyaml.error.YAMLException;
 import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.AnchorNode;
 import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
 import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
 import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Represent;
 import org.yaml.snakeyaml.representer.Representer;
 
 import de.beosign.snakeyamlanno.AnnotationAwarePropertyUtils;
+import de.beosign.snakeyamlanno.component.ComponentFactory;
+import de.beosign.snakeyamlanno.component.DefaultComponentFactory;
+import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+import de.beosign.snakeyamlanno.property.AnnotatedProperty;
+import de.beosign.snakeyamlanno.property.Lazy;
 import de.beosign.snakeyamlanno.property.YamlAnyGetter;
 import de.beosign.snakeyamlanno.property.YamlProperty;
 import de.beosign.snakeyamlanno.skip.SkipAtDumpPredicate;
 import de.beosign.snakeyamlanno.skip.SkipIfEmpty;
 import de.beosign.snakeyamlanno.skip.SkipIfNull;
-import de.beosign.snakeyamlanno.util.NodeUtil;
 
 /**
  * Representer that is aware of annotations. Implements the features "order properties" and "skip properties to dump".
@@ -52,7 +76,12 @@ public class AnnotationAwareRepresenter extends Representer {
         }
     };
 
+    private final Map<Class<?>, DumpOrder> dumpOrders = new HashMap<>();
+    /** Value of the any getter of the bean that is currently represented, or <code>null</code> if it has not been represented. */
+    private Map<?, ?> anyGetterMap;
     private boolean skipEmpty;
+    private ComponentFactory componentFactory = DefaultComponentFactory.getInstance();
+    private ParallelRepresentation parallelRepresentation;
 
     /**
      * Sets the {@link AnnotationAwarePropertyUtils} into this representer. Skips all empty properties.
@@ -72,76 +101,472 @@ public class AnnotationAwareRepresenter extends Representer {
         this.skipEmpty = skipEmpty;
     }
 
+    /**
+     * Sets the factory that provides the {@link SkipAtDumpPredicate} and {@link Converter} instances. By default, the {@link DefaultComponentFactory} is used, which reuses one
+     * instance per class.
+     * 
+     * @param componentFactory component factory - must not be <code>null</code>
+     * @throws NullPointerException if parameter is null
+     * @since 1.4.0
+     */
+    public void setComponentFactory(ComponentFactory componentFactory) {
+        Objects.requireNonNull(componentFactory, "Component factory must not be set to null");
+        this.componentFactory = componentFactory;
+    }
+
+    /**
+     * @return the factory that provides the {@link SkipAtDumpPredicate} and {@link Converter} instances
+     * @since 1.4.0
+     */
+    public ComponentFactory getComponentFactory() {
+        return componentFactory;
+    }
+
+    /**
+     * Enables representing the items of large lists and arrays in parallel. If the items of a list share objects with each other or with the rest of the
+     * document, the list is represented again sequentially, so the anchors and aliases are the same as without parallel representation.
+     * 
+     * @param parallelRepresentation settings, or <code>null</code> to represent all items sequentially, which is the default
+     * @since 1.4.0
+     */
+    public void setParallelRepresentation(ParallelRepresentation parallelRepresentation) {
+        this.parallelRepresentation = parallelRepresentation;
+    }
+
+    /**
+     * @return settings for representing the items of large lists and arrays in parallel, or <code>null</code>
+     * @since 1.4.0
+     */
+    public ParallelRepresentation getParallelRepresentation() {
+        return parallelRepresentation;
+    }
+
+    /**
+     * Overridden to order the properties as defined by {@link #ORDER_COMPARATOR}. The ordered properties of a type are calculated once and reused as long as
+     * the properties returned by the super class do not change.
+     * 
+     * @return unmodifiable set of ordered properties
+     */
     @Override
     protected Set<Property> getProperties(Class<? extends Object> type) {
         Set<Property> propertySet = super.getProperties(type);
 
-        // order properties
-        TreeSet<Property> orderedProperties = new TreeSet<>(ORDER_COMPARATOR);
-        orderedProperties.addAll(propertySet);
-
-        return orderedProperties;
+        DumpOrder dumpOrder = dumpOrders.get(type);
+        if (dumpOrder == null || dumpOrder.source != propertySet) {
+            dumpOrder = new DumpOrder(propertySet);
+            dumpOrders.put(type, dumpOrder);
+        }
+        return dumpOrder.properties;
     }
 
     /**
-     * Overridden to implement "YamlAnyGetter" feature.
+     * Overridden to implement "YamlAnyGetter" feature: the entries of the any getter map are appended to the mapping node of the bean. The property values
+     * are read in the same way as SnakeYAML does, except that annotated properties obtain their converters from the component factory of this representer.
+     * The time needed to represent the bean is reported to the {@link InstrumentationListener}, if any.
      * 
      * @since 1.1.0
      */
     @Override
     protected MappingNode representJavaBean(Set<Property> properties, Object javaBean) {
-        MappingNode mappingNode = super.representJavaBean(properties, javaBean);
-
-        Property anyGetterProperty = (properties.stream().filter(p -> p.getAnnotation(YamlAnyGetter.class) != null)).findFirst().orElse(null);
-        if (anyGetterProperty != null) {
-            String name = anyGetterProperty.getName();
-            NodeTuple anyGetterNodeTuple = null;
-            for (NodeTuple nt : mappingNode.getValue()) {
-                if (name.equals(NodeUtil.getValue(nt.getKeyNode()))) {
-                    anyGetterNodeTuple = nt;
-                    break;
+        InstrumentationListener listener = Instrumentation.getListener();
+        long start = Instrumentation.start(listener);
+
+        Map<?, ?> outerAnyGetterMap = anyGetterMap;
+        Map<?, ?> beanAnyGetterMap;
+        MappingNode mappingNode;
+        anyGetterMap = null;
+        try {
+            mappingNode = representBeanProperties(properties, javaBean);
+            beanAnyGetterMap = anyGetterMap;
+        } finally {
+            anyGetterMap = outerAnyGetterMap;
+        }
+
+        if (beanAnyGetterMap != null) {
+            for (Map.Entry<?, ?> entry : beanAnyGetterMap.entrySet()) {
+                mappingNode.getValue().add(new NodeTuple(representData(entry.getKey()), representData(entry.getValue())));
+            }
+            if (defaultFlowStyle == FlowStyle.AUTO) {
+                // a nested map would not have been dumped in flow style either
+                mappingNode.setFlowStyle(FlowStyle.BLOCK);
+            }
+        }
+
+        if (listener != null) {
+            listener.represented(javaBean.getClass(), Instrumentation.elapsed(start));
+        }
+        return mappingNode;
+    }
+
+    private MappingNode representBeanProperties(Set<Property> properties, Object javaBean) {
+        List<NodeTuple> value = new ArrayList<>(properties.size());
+        Tag customTag = classTags.get(javaBean.getClass());
+        MappingNode node = new MappingNode(customTag != null ? customTag : new Tag(javaBean.getClass()), value, FlowStyle.AUTO);
+        representedObjects.put(javaBean, node);
+        FlowStyle bestStyle = FlowStyle.FLOW;
+        for (Property property : properties) {
+            Object memberValue = getPropertyValue(javaBean, property);
+            Tag customPropertyTag = memberValue == null ? null : classTags.get(memberValue.getClass());
+            NodeTuple tuple = representJavaBeanProperty(javaBean, property, memberValue, customPropertyTag);
+            if (tuple == null) {
+                continue;
+            }
+            if (!((ScalarNode) tuple.getKeyNode()).isPlain()) {
+                bestStyle = FlowStyle.BLOCK;
+            }
+            Node nodeValue = tuple.getValueNode();
+            if (!(nodeValue instanceof ScalarNode && ((ScalarNode) nodeValue).isPlain())) {
+                bestStyle = FlowStyle.BLOCK;
+            }
+            value.add(tuple);
+        }
+        node.setFlowStyle(defaultFlowStyle != FlowStyle.AUTO ? defaultFlowStyle : bestStyle);
+        return node;
+    }
+
+    /**
+     * Reads the value of a property; annotated properties obtain their converters from the component factory of this representer.
+     * 
+     * @param javaBean bean
+     * @param property property of the bean
+     * @return value to represent
+     */
+    Object getPropertyValue(Object javaBean, Property property) {
+        return property instanceof AnnotatedProperty ? ((AnnotatedProperty) property).get(javaBean, componentFactory) : property.get(javaBean);
+    }
+
+    /**
+     * Overridden to represent the items of large lists in parallel, if enabled.
+     * 
+     * @since 1.4.0
+     */
+    @Override
+    protected Node representSequence(Tag tag, Iterable<?> sequence, FlowStyle flowStyle) {
+        if (parallelRepresentation == null || !(sequence instanceof List) || ((List<?>) sequence).size() < parallelRepresentation.getMinimumSize()) {
+            return super.representSequence(tag, sequence, flowStyle);
+        }
+
+        Object sequenceObject = objectToRepresent;
+        List<?> items = sequence instanceof RandomAccess ? (List<?>) sequence : new ArrayList<>((List<?>) sequence);
+        int chunkSize = parallelRepresentation.getChunkSize();
+        List<CompletableFuture<RepresentedChunk>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<?> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> representChunk(chunk), parallelRepresentation.getExecutor()));
+        }
+
+        List<RepresentedChunk> chunks = new ArrayList<>(futures.size());
+        for (CompletableFuture<RepresentedChunk> future : futures) {
+            try {
+                chunks.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
                 }
+                throw new YAMLException(e.getCause());
             }
-            if (anyGetterNodeTuple != null) {
-                mappingNode.getValue().remove(anyGetterNodeTuple);
-                for (NodeTuple nt : ((MappingNode) anyGetterNodeTuple.getValueNode()).getValue()) {
-                    mappingNode.getValue().add(nt);
+        }
+
+        // an object represented by several chunks, or by a chunk and the rest of the document, needs an alias
+        Set<Object> chunkObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RepresentedChunk chunk : chunks) {
+            for (Object object : chunk.representedObjects.keySet()) {
+                if (object == sequenceObject || representedObjects.containsKey(object) || !chunkObjects.add(object)) {
+                    objectToRepresent = sequenceObject;
+                    return super.representSequence(tag, sequence, flowStyle);
                 }
             }
         }
 
-        return mappingNode;
+        List<Node> value = new ArrayList<>(items.size());
+        SequenceNode node = new SequenceNode(tag, value, flowStyle);
+        representedObjects.put(sequenceObject, node);
+        FlowStyle bestStyle = FlowStyle.FLOW;
+        for (RepresentedChunk chunk : chunks) {
+            for (Map.Entry<Object, Node> entry : chunk.representedObjects.entrySet()) {
+                Node representedNode = entry.getValue();
+                representedObjects.put(entry.getKey(), representedNode instanceof AnchorNode ? ((AnchorNode) representedNode).getRealNode() : representedNode);
+            }
+            for (Node itemNode : chunk.nodes) {
+                if (!(itemNode instanceof ScalarNode && ((ScalarNode) itemNode).isPlain())) {
+                    bestStyle = FlowStyle.BLOCK;
+                }
+                value.add(itemNode);
+            }
+        }
+        if (flowStyle == FlowStyle.AUTO) {
+            node.setFlowStyle(defaultFlowStyle != FlowStyle.AUTO ? defaultFlowStyle : bestStyle);
+        }
+        return node;
+    }
+
+    private RepresentedChunk representChunk(List<?> chunk) {
+        AnnotationAwareRepresenter representer = parallelRepresentation.acquireRepresenter(this);
+        try {
+            List<Node> nodes = new ArrayList<>(chunk.size());
+            for (Object item : chunk) {
+                nodes.add(representer.representData(item));
+            }
+            return new RepresentedChunk(nodes, new IdentityHashMap<>(representer.representedObjects));
+        } finally {
+            representer.representedObjects.clear();
+            representer.objectToRepresent = null;
+            parallelRepresentation.releaseRepresenter(representer);
+        }
     }
 
+    /**
+     * Overridden to implement the "skip properties to dump" feature. The value of a {@link YamlAnyGetter} property is not represented here but kept for
+     * {@link #representJavaBean(Set, Object)}. The value of a {@link Lazy} property is represented as if it were the value of the property itself.
+     */
     @Override
-    protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue, Tag customTag) {
-        if (skipEmpty && SkipIfEmpty.getInstance().skip(javaBean, property, propertyValue, customTag)) {
+    protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object value, Tag customTag) {
+        Object propertyValue = value instanceof Lazy ? ((Lazy<?>) value).get() : value;
+        if (isSkipped(javaBean, property, propertyValue, customTag)) {
             return null;
         }
-        if (skipEmpty && SkipIfNull.getInstance().skip(javaBean, property, propertyValue, customTag)) {
+
+        if (isAnyGetter(javaBean.getClass(), property) && anyGetterMap == null) {
+            anyGetterMap = propertyValue != null ? (Map<?, ?>) propertyValue : Collections.emptyMap();
             return null;
         }
 
-        YamlProperty propertyAnnotation = property.getAnnotation(YamlProperty.class);
-        if (propertyAnnotation != null) {
-            if (propertyAnnotation.skipAtDump()) {
-                return null;
+        return representPropertyValue(javaBean, property, value, customTag);
+    }
+
+    /**
+     * Represents a property that is neither skipped nor an any getter.
+     * 
+     * @param javaBean bean the property belongs to
+     * @param property property
+     * @param value value of the property, possibly a {@link Lazy}
+     * @param customTag user defined tag of the value, if any
+     * @return key and value node of the property
+     */
+    private NodeTuple representPropertyValue(Object javaBean, Property property, Object value, Tag customTag) {
+        Object propertyValue = value instanceof Lazy ? ((Lazy<?>) value).get() : value;
+        NodeTuple tuple = super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
+        if (propertyValue != value && propertyValue != null && customTag == null && tuple.getValueNode().getNodeId() == NodeId.mapping
+                && !(propertyValue instanceof Map)) {
+            // like SnakeYAML for other properties, omit the tag if the value is of the declared type
+            Class<?>[] arguments = property.getActualTypeArguments();
+            if (arguments != null && arguments.length > 0 && arguments[0] == propertyValue.getClass()) {
+                tuple.getValueNode().setTag(Tag.MAP);
             }
+        }
+        return tuple;
+    }
+
+    /**
+     * Checks whether a property is skipped at dump, either because it is empty or because of its {@link YamlProperty} annotation.
+     * 
+     * @param javaBean bean the property belongs to
+     * @param property property
+     * @param propertyValue value of the property, with a {@link Lazy} value already unwrapped
+     * @param customTag user defined tag of the value, if any
+     * @return <code>true</code> if the property is not dumped
+     */
+    boolean isSkipped(Object javaBean, Property property, Object propertyValue, Tag customTag) {
+        if (skipEmpty && SkipIfEmpty.getInstance().skip(javaBean, property, propertyValue, customTag)) {
+            return true;
+        }
+        if (skipEmpty && SkipIfNull.getInstance().skip(javaBean, property, propertyValue, customTag)) {
+            return true;
+        }
+
+        DumpSettings dumpSettings = getDumpSettings(javaBean.getClass(), property);
+        if (dumpSettings.skipAtDump) {
+            return true;
+        }
+
+        if (dumpSettings.skipAtDumpIf != null) {
+            try {
+                SkipAtDumpPredicate skipAtDumpPredicate = componentFactory.getComponent(dumpSettings.skipAtDumpIf);
+                return skipAtDumpPredicate.skip(javaBean, property, propertyValue, customTag);
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new YAMLException("Cannot create an instance of " + dumpSettings.skipAtDumpIf.getName(), e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param type bean type
+     * @param property property of the bean type
+     * @return <code>true</code> if the property is annotated with {@link YamlAnyGetter}
+     */
+    boolean isAnyGetter(Class<?> type, Property property) {
+        return getDumpSettings(type, property).anyGetter;
+    }
 
-            if (propertyAnnotation.skipAtDumpIf() != SkipAtDumpPredicate.class) {
-                try {
-                    SkipAtDumpPredicate skipAtDumpPredicate = propertyAnnotation.skipAtDumpIf().newInstance();
-                    if (skipAtDumpPredicate.skip(javaBean, property, propertyValue, customTag)) {
-                        return null;
-                    }
-                } catch (InstantiationException | IllegalAccessException e) {
-                    throw new YAMLException("Cannot create an instance of " + propertyAnnotation.skipAtDumpIf().getName(), e);
+    /**
+     * Represents a single property of a bean on its own, without remembering the represented objects for aliases. The property must not be skipped or
+     * an any getter, see {@link #isSkipped(Object, Property, Object, Tag)} and {@link #isAnyGetter(Class, Property)}.
+     * 
+     * @param javaBean bean the property belongs to
+     * @param property property
+     * @param value value of the property
+     * @param customTag user defined tag of the value, if any
+     * @return key and value node of the property
+     */
+    NodeTuple representDetachedProperty(Object javaBean, Property property, Object value, Tag customTag) {
+        try {
+            return representPropertyValue(javaBean, property, value, customTag);
+        } finally {
+            representedObjects.clear();
+            objectToRepresent = null;
+        }
+    }
+
+    /**
+     * @param type class
+     * @return tag defined for the given class, or <code>null</code>
+     */
+    Tag getClassTag(Class<?> type) {
+        return classTags.get(type);
+    }
+
+    /**
+     * @param type class
+     * @param defaultTag tag to use if none is defined for the given class
+     * @return tag defined for the given class, or the default tag
+     */
+    Tag getClassTag(Class<?> type, Tag defaultTag) {
+        return getTag(type, defaultTag);
+    }
+
+    /**
+     * Tells how the given object would be represented, if it is represented by the default representation of beans or collections.
+     * 
+     * @param data object to represent
+     * @return kind of representation or <code>null</code> if the object is represented in another way, e.g. as scalar or by a custom representation
+     */
+    StreamedKind getStreamedKind(Object data) {
+        if (data == null || representers.containsKey(data.getClass())) {
+            return null;
+        }
+        for (Map.Entry<Class<?>, Represent> entry : multiRepresenters.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().isInstance(data)) {
+                Represent represent = entry.getValue();
+                if (represent instanceof RepresentList || represent instanceof RepresentIterator || represent instanceof RepresentArray) {
+                    return StreamedKind.SEQUENCE;
+                } else if (represent instanceof RepresentMap) {
+                    return StreamedKind.MAPPING;
+                } else if (represent instanceof RepresentSet) {
+                    return StreamedKind.SET;
                 }
+                return null;
+            }
+        }
+        if (!multiRepresenters.containsKey(null) && representers.get(null) instanceof RepresentJavaBean) {
+            return StreamedKind.BEAN;
+        }
+        return null;
+    }
+
+    /**
+     * Nodes of a chunk of list items, together with the objects that have been represented for them.
+     * 
+     * @author florian
+     */
+    private static final class RepresentedChunk {
+        private final List<Node> nodes;
+        private final Map<Object, Node> representedObjects;
+
+        private RepresentedChunk(List<Node> nodes, Map<Object, Node> representedObjects) {
+            this.nodes = nodes;
+            this.representedObjects = representedObjects;
+        }
+    }
+
+    /**
+     * Default representations of beans and collections, which {@link StreamingDumper} replaces by its own.
+     */
+    enum StreamedKind {
+        BEAN, SEQUENCE, MAPPING, SET
+    }
+
+    private DumpSettings getDumpSettings(Class<?> type, Property property) {
+        DumpOrder dumpOrder = dumpOrders.get(type);
+        DumpSettings dumpSettings = dumpOrder != null ? dumpOrder.settings.get(property) : null;
+        return dumpSettings != null ? dumpSettings : DumpSettings.of(property);
+    }
+
+    /**
+     * The properties of a type in the order they are dumped, together with the annotation values that are needed to dump them.
+     * 
+     * @author florian
+     */
+    private static final class DumpOrder {
+        private final Set<Property> source;
+        private final Set<Property> properties;
+        private final Map<Property, DumpSettings> settings = new IdentityHashMap<>();
+
+        /**
+         * Orders the given properties in the same way as a {@link java.util.TreeSet} using {@link AnnotationAwareRepresenter#ORDER_COMPARATOR} would do, but
+         * reads the order of each property only once.
+         * 
+         * @param source properties to order
+         */
+        private DumpOrder(Set<Property> source) {
+            this.source = source;
+
+            Property[] sorted = source.toArray(new Property[0]);
+            Map<Property, Integer> orders = new IdentityHashMap<>();
+            for (Property property : sorted) {
+                YamlProperty propertyAnnotation = property.getAnnotation(YamlProperty.class);
+                orders.put(property, propertyAnnotation != null ? propertyAnnotation.order() : 0);
+                settings.put(property, DumpSettings.of(property, propertyAnnotation));
+            }
+            Comparator<Property> comparator = (property1, property2) -> {
+                int order1 = orders.get(property1);
+                int order2 = orders.get(property2);
+                return order2 != order1 ? order2 - order1 : property1.compareTo(property2);
+            };
+            Arrays.sort(sorted, comparator);
 
+            Set<Property> orderedProperties = new LinkedHashSet<>();
+            for (int i = 0; i < sorted.length; i++) {
+                // like a TreeSet, keep only the first of properties that are equal according to the comparator
+                if (i == 0 || comparator.compare(sorted[i - 1], sorted[i]) != 0) {
+                    orderedProperties.add(sorted[i]);
+                }
             }
+            this.properties = Collections.unmodifiableSet(orderedProperties);
         }
+    }
 
-        return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
+    /**
+     * Annotation values that are evaluated for each dumped property.
+     * 
+     * @author florian
+     */
+    private static final class DumpSettings {
+        private static final DumpSettings NONE = new DumpSettings(false, null, false);
+
+        private final boolean skipAtDump;
+        private final Class<? extends SkipAtDumpPredicate> skipAtDumpIf;
+        private final boolean anyGetter;
+
+        private DumpSettings(boolean skipAtDump, Class<? extends SkipAtDumpPredicate> skipAtDumpIf, boolean anyGetter) {
+            this.skipAtDump = skipAtDump;
+            this.skipAtDumpIf = skipAtDumpIf;
+            this.anyGetter = anyGetter;
+        }
+
+        private static DumpSettings of(Property property) {
+            return of(property, property.getAnnotation(YamlProperty.class));
+        }
+
+        private static DumpSettings of(Property property, YamlProperty propertyAnnotation) {
+            boolean anyGetter = property.getAnnotation(YamlAnyGetter.class) != null;
+            if (propertyAnnotation == null && !anyGetter) {
+                return NONE;
+            }
+            return new DumpSettings(propertyAnnotation != null && propertyAnnotation.skipAtDump(),
+                    propertyAnnotation != null && propertyAnnotation.skipAtDumpIf() != SkipAtDumpPredicate.class ? propertyAnnotation.skipAtDumpIf() : null,
+                    anyGetter);
+        }
     }
 
 }
@@ -0,0 +1,122 @@
+package de.beosign.snakeyamlanno.representer;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Settings for representing the items of large lists and arrays in parallel, see
+ * {@link AnnotationAwareRepresenter#setParallelRepresentation(ParallelRepresentation)}. The items are split into chunks, and each chunk is represented by
+ * another representer using the given executor; the nodes of the chunks are then put together in the original order.
+ * </p>
+ * <p>
+ * Representers are not thread-safe, so each chunk is represented by a representer that is used by no other thread at the same time. These representers are
+ * created on demand by the given factory and reused for subsequent chunks; before a chunk is represented, the flow style, scalar style, time zone,
+ * component factory and read-only property setting of the representer that represents the list are applied to them. Apart from that, the factory must create equally configured
+ * representers.
+ * </p>
+ * <p>
+ * Instances of this class are thread-safe and may be shared by several representers.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public final class ParallelRepresentation {
+    /** Default minimum number of items of a list to be represented in parallel. */
+    public static final int DEFAULT_MINIMUM_SIZE = 1024;
+    /** Default number of items per chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final Supplier<? extends AnnotationAwareRepresenter> representerFactory;
+    private final Executor executor;
+    private final int minimumSize;
+    private final int chunkSize;
+    private final Queue<AnnotationAwareRepresenter> idleRepresenters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates settings that represent lists of at least {@value #DEFAULT_MINIMUM_SIZE} items in chunks of {@value #DEFAULT_CHUNK_SIZE} items in the common
+     * {@link ForkJoinPool}.
+     *
+     * @param representerFactory creates the representers for the chunks
+     */
+    public ParallelRepresentation(Supplier<? extends AnnotationAwareRepresenter> representerFactory) {
+        this(representerFactory, ForkJoinPool.commonPool(), DEFAULT_MINIMUM_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates settings.
+     *
+     * @param representerFactory creates the representers for the chunks
+     * @param executor executor in which the chunks are represented
+     * @param minimumSize minimum number of items of a list to be represented in parallel
+     * @param chunkSize number of items per chunk
+     */
+    public ParallelRepresentation(Supplier<? extends AnnotationAwareRepresenter> representerFactory, Executor executor, int minimumSize, int chunkSize) {
+        this.representerFactory = Objects.requireNonNull(representerFactory, "Representer factory must not be null");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        if (minimumSize < 1) {
+            throw new IllegalArgumentException("Minimum size must be at least 1, but is " + minimumSize);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1, but is " + chunkSize);
+        }
+        this.minimumSize = minimumSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return minimum number of items of a list to be represented in parallel
+     */
+    public int getMinimumSize() {
+        return minimumSize;
+    }
+
+    /**
+     * @return number of items per chunk
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Takes an idle representer or creates a new one, and applies the settings of the given representer.
+     *
+     * @param template representer that represents the list
+     * @return representer for a chunk
+     */
+    AnnotationAwareRepresenter acquireRepresenter(AnnotationAwareRepresenter template) {
+        AnnotationAwareRepresenter representer = idleRepresenters.poll();
+        if (representer == null) {
+            representer = Objects.requireNonNull(representerFactory.get(), "Representer factory must not return null");
+            if (representer == template) {
+                throw new IllegalStateException("Representer factory must create new representers");
+            }
+            // chunks are not split any further
+            representer.setParallelRepresentation(null);
+        }
+        representer.setDefaultFlowStyle(template.getDefaultFlowStyle());
+        representer.setDefaultScalarStyle(template.getDefaultScalarStyle());
+        representer.setTimeZone(template.getTimeZone());
+        representer.setComponentFactory(template.getComponentFactory());
+        representer.getPropertyUtils().setAllowReadOnlyProperties(template.getPropertyUtils().isAllowReadOnlyProperties());
+        return representer;
+    }
+
+    /**
+     * Returns a representer that is no longer used.
+     *
+     * @param representer representer
+     */
+    void releaseRepresenter(AnnotationAwareRepresenter representer) {
+        idleRepresenters.add(representer);
+    }
+}
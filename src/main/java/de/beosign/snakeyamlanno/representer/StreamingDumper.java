@@ -0,0 +1,497 @@
+package de.beosign.snakeyamlanno.representer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.AnchorNode;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import de.beosign.snakeyamlanno.instrumentation.Instrumentation;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationListener;
+import de.beosign.snakeyamlanno.property.Lazy;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter.StreamedKind;
+
+/**
+ * <p>
+ * Dumps objects without building a node tree for the whole object graph first. Beans, lists, sets, maps, arrays and iterators are walked and their events
+ * are passed to the {@link Emitter} one by one, so the memory needed depends on the nesting depth of the data rather than on its size. All other values,
+ * e.g. scalars or objects with a custom representation, are represented by the {@link AnnotationAwareRepresenter} as usual.
+ * </p>
+ * <p>
+ * Properties are dumped with the same semantics as {@link AnnotationAwareRepresenter} does, i.e. they are ordered, skipped and converted according to their
+ * annotations, and the entries of a {@link de.beosign.snakeyamlanno.property.YamlAnyGetter} are appended to the bean. Unlike a tree, the walked objects are
+ * not remembered, so an object that is referenced several times is dumped several times instead of using an alias, and a recursive object graph cannot be
+ * dumped.
+ * </p>
+ * <p>
+ * If the flow style is {@link FlowStyle#AUTO}, the items of collections, maps and arrays are examined twice in order to find out whether they can be dumped
+ * in flow style; iterators are always dumped in block style. Set a different flow style to walk collections only once.
+ * </p>
+ * <p>
+ * Like the representer, a dumper must not be used by several threads at the same time.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+public class StreamingDumper {
+    private final AnnotationAwareRepresenter representer;
+    private final DumperOptions dumperOptions;
+    private final Resolver resolver;
+    /** Objects that are being dumped, to detect recursion. */
+    private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Emitter emitter;
+
+    /**
+     * Creates a dumper with default options.
+     *
+     * @param representer representer
+     */
+    public StreamingDumper(AnnotationAwareRepresenter representer) {
+        this(representer, new DumperOptions());
+    }
+
+    /**
+     * Creates a dumper. Like {@link org.yaml.snakeyaml.Yaml}, the options are applied to the representer.
+     *
+     * @param representer representer
+     * @param dumperOptions options
+     */
+    public StreamingDumper(AnnotationAwareRepresenter representer, DumperOptions dumperOptions) {
+        this(representer, dumperOptions, new Resolver());
+    }
+
+    /**
+     * Creates a dumper. Like {@link org.yaml.snakeyaml.Yaml}, the options are applied to the representer.
+     *
+     * @param representer representer
+     * @param dumperOptions options
+     * @param resolver resolver for implicit tags; use the same resolver as the {@link org.yaml.snakeyaml.Yaml} instance would
+     */
+    public StreamingDumper(AnnotationAwareRepresenter representer, DumperOptions dumperOptions, Resolver resolver) {
+        this.representer = Objects.requireNonNull(representer, "Representer must not be null");
+        this.dumperOptions = Objects.requireNonNull(dumperOptions, "Dumper options must not be null");
+        this.resolver = Objects.requireNonNull(resolver, "Resolver must not be null");
+        representer.setDefaultFlowStyle(dumperOptions.getDefaultFlowStyle());
+        representer.setDefaultScalarStyle(dumperOptions.getDefaultScalarStyle());
+        representer.getPropertyUtils().setAllowReadOnlyProperties(dumperOptions.isAllowReadOnlyProperties());
+        representer.setTimeZone(dumperOptions.getTimeZone());
+    }
+
+    /**
+     * Dumps an object as a single document.
+     *
+     * @param data object to dump
+     * @param output writer to write to; it is not closed
+     */
+    public void dump(Object data, Writer output) {
+        dumpAll(Collections.singletonList(data).iterator(), output, null);
+    }
+
+    /**
+     * Dumps each object as a separate document.
+     *
+     * @param data objects to dump
+     * @param output writer to write to; it is not closed
+     */
+    public void dumpAll(Iterator<?> data, Writer output) {
+        dumpAll(data, output, null);
+    }
+
+    /**
+     * Dumps an object as a single document in block style without the tag of the root object, like {@link org.yaml.snakeyaml.Yaml#dumpAsMap(Object)}.
+     *
+     * @param data object to dump
+     * @param output writer to write to; it is not closed
+     */
+    public void dumpAsMap(Object data, Writer output) {
+        FlowStyle flowStyle = representer.getDefaultFlowStyle();
+        representer.setDefaultFlowStyle(FlowStyle.BLOCK);
+        try {
+            dumpAll(Collections.singletonList(data).iterator(), output, Tag.MAP);
+        } finally {
+            representer.setDefaultFlowStyle(flowStyle);
+        }
+    }
+
+    private void dumpAll(Iterator<?> data, Writer output, Tag rootTag) {
+        emitter = new Emitter(output, dumperOptions);
+        try {
+            emit(new StreamStartEvent(null, null));
+            while (data.hasNext()) {
+                emit(new DocumentStartEvent(null, null, dumperOptions.isExplicitStart(), dumperOptions.getVersion(), dumperOptions.getTags()));
+                dumpValue(data.next(), rootTag, null, TagRule.NONE, null);
+                emit(new DocumentEndEvent(null, null, dumperOptions.isExplicitEnd()));
+            }
+            emit(new StreamEndEvent(null, null));
+        } finally {
+            emitter = null;
+            path.clear();
+        }
+    }
+
+    /**
+     * Dumps a value.
+     *
+     * @param data value
+     * @param explicitTag tag that replaces the tag of the value, or <code>null</code>
+     * @param type type that makes the tag of the value implicit, or <code>null</code>
+     * @param tagRule rule that determines whether the type makes the tag implicit
+     * @param typeArguments type arguments of the property the value belongs to, or <code>null</code>
+     */
+    private void dumpValue(Object data, Tag explicitTag, Class<?> type, TagRule tagRule, Class<?>[] typeArguments) {
+        StreamedKind kind = representer.getStreamedKind(data);
+        if (kind == null) {
+            Node node = representer.represent(data);
+            node.setTag(explicitTag != null ? explicitTag : implicitTag(node.getTag(), node.getNodeId() == NodeId.mapping, data, type, tagRule));
+            serialize(node);
+            return;
+        }
+
+        if (!path.add(data)) {
+            throw new YAMLException("Cannot dump recursive object graph of " + data.getClass().getName() + " while streaming");
+        }
+        try {
+            Tag tag;
+            switch (kind) {
+            case BEAN:
+                Tag classTag = representer.getClassTag(data.getClass());
+                tag = classTag != null ? classTag : new Tag(data.getClass());
+                break;
+            case SEQUENCE:
+                tag = data.getClass().isArray() ? Tag.SEQ : representer.getClassTag(data.getClass(), Tag.SEQ);
+                break;
+            default:
+                tag = representer.getClassTag(data.getClass(), kind == StreamedKind.SET ? Tag.SET : Tag.MAP);
+                break;
+            }
+            tag = explicitTag != null ? explicitTag : implicitTag(tag, kind != StreamedKind.SEQUENCE, data, type, tagRule);
+
+            if (kind == StreamedKind.BEAN) {
+                dumpBean(data, tag);
+            } else if (kind == StreamedKind.SEQUENCE) {
+                dumpSequence(data, tag, typeArguments);
+            } else {
+                dumpMapping(data, tag, kind == StreamedKind.SET, typeArguments);
+            }
+        } finally {
+            path.remove(data);
+        }
+    }
+
+    /**
+     * Dumps a bean in the same way as {@link AnnotationAwareRepresenter#representJavaBean(Set, Object)}. The entries of the mapping are collected first, as
+     * the flow style depends on them; values that are walked are represented by their property.
+     */
+    private void dumpBean(Object javaBean, Tag tag) {
+        InstrumentationListener listener = Instrumentation.getListener();
+        long start = Instrumentation.start(listener);
+
+        List<BeanEntry> entries = new ArrayList<>();
+        Map<?, ?> anyGetterMap = null;
+        boolean flow = true;
+        for (Property property : representer.getProperties(javaBean.getClass())) {
+            Object value = representer.getPropertyValue(javaBean, property);
+            Tag customTag = value != null ? representer.getClassTag(value.getClass()) : null;
+            Object propertyValue = value instanceof Lazy ? ((Lazy<?>) value).get() : value;
+            if (representer.isSkipped(javaBean, property, propertyValue, customTag)) {
+                continue;
+            }
+            if (representer.isAnyGetter(javaBean.getClass(), property) && anyGetterMap == null) {
+                anyGetterMap = propertyValue != null ? (Map<?, ?>) propertyValue : Collections.emptyMap();
+                continue;
+            }
+
+            BeanEntry entry;
+            if (representer.getStreamedKind(propertyValue) != null) {
+                entry = new BeanEntry(representer.represent(property.getName()), property, propertyValue, customTag, value != propertyValue);
+                flow = false;
+            } else {
+                NodeTuple tuple = representer.representDetachedProperty(javaBean, property, value, customTag);
+                entry = new BeanEntry(tuple.getKeyNode(), tuple.getValueNode());
+                flow &= isPlainScalar(tuple.getValueNode());
+            }
+            flow &= isPlainScalar(entry.key);
+            entries.add(entry);
+        }
+
+        FlowStyle flowStyle = representer.getDefaultFlowStyle();
+        if (flowStyle == FlowStyle.AUTO) {
+            flowStyle = flow && anyGetterMap == null ? FlowStyle.FLOW : FlowStyle.BLOCK;
+        }
+        emit(new MappingStartEvent(null, tag.getValue(), tag.equals(Tag.MAP), null, null, flowStyle));
+        for (BeanEntry entry : entries) {
+            serialize(entry.key);
+            if (entry.valueNode != null) {
+                serialize(entry.valueNode);
+            } else if (entry.customTag != null) {
+                dumpValue(entry.value, null, null, TagRule.NONE, null);
+            } else if (entry.lazy) {
+                Class<?>[] arguments = entry.property.getActualTypeArguments();
+                dumpValue(entry.value, null, arguments != null && arguments.length > 0 ? arguments[0] : null, TagRule.PROPERTY, null);
+            } else {
+                dumpValue(entry.value, null, entry.property.getType(), TagRule.PROPERTY, entry.property.getActualTypeArguments());
+            }
+        }
+        if (anyGetterMap != null) {
+            for (Map.Entry<?, ?> anyEntry : anyGetterMap.entrySet()) {
+                dumpValue(anyEntry.getKey(), null, null, TagRule.NONE, null);
+                dumpValue(anyEntry.getValue(), null, null, TagRule.NONE, null);
+            }
+        }
+        emit(new MappingEndEvent(null, null));
+
+        if (listener != null) {
+            listener.represented(javaBean.getClass(), Instrumentation.elapsed(start));
+        }
+    }
+
+    private void dumpSequence(Object data, Tag tag, Class<?>[] typeArguments) {
+        Class<?> itemType = typeArguments != null && typeArguments.length > 0 ? typeArguments[0] : null;
+        FlowStyle flowStyle = representer.getDefaultFlowStyle();
+        if (flowStyle == FlowStyle.AUTO) {
+            flowStyle = !(data instanceof Iterator) && allPlainScalars(items(data)) ? FlowStyle.FLOW : FlowStyle.BLOCK;
+        }
+        emit(new SequenceStartEvent(null, tag.getValue(), tag.equals(Tag.SEQ), null, null, flowStyle));
+        for (Iterator<?> items = items(data); items.hasNext();) {
+            dumpValue(items.next(), null, itemType, TagRule.ITEM, null);
+        }
+        emit(new SequenceEndEvent(null, null));
+    }
+
+    private void dumpMapping(Object data, Tag tag, boolean set, Class<?>[] typeArguments) {
+        Class<?> keyType = typeArguments != null && typeArguments.length > 0 ? typeArguments[0] : null;
+        Class<?> valueType = typeArguments != null && typeArguments.length > 1 ? typeArguments[1] : null;
+        FlowStyle flowStyle = representer.getDefaultFlowStyle();
+        if (flowStyle == FlowStyle.AUTO) {
+            boolean flow = set ? allPlainScalars(((Set<?>) data).iterator()) && isPlainScalar(representer.represent(null))
+                    : allPlainScalars(((Map<?, ?>) data).keySet().iterator()) && allPlainScalars(((Map<?, ?>) data).values().iterator());
+            flowStyle = flow ? FlowStyle.FLOW : FlowStyle.BLOCK;
+        }
+        emit(new MappingStartEvent(null, tag.getValue(), tag.equals(Tag.MAP), null, null, flowStyle));
+        if (set) {
+            for (Object key : (Set<?>) data) {
+                dumpValue(key, null, keyType, TagRule.ITEM, null);
+                dumpValue(null, null, null, TagRule.NONE, null);
+            }
+        } else {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) data).entrySet()) {
+                dumpValue(entry.getKey(), null, keyType, TagRule.ENTRY, null);
+                dumpValue(entry.getValue(), null, valueType, TagRule.ENTRY, null);
+            }
+        }
+        emit(new MappingEndEvent(null, null));
+    }
+
+    private boolean allPlainScalars(Iterator<?> values) {
+        while (values.hasNext()) {
+            Object value = values.next();
+            if (representer.getStreamedKind(value) != null || !isPlainScalar(representer.represent(value))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPlainScalar(Node node) {
+        return node instanceof ScalarNode && ((ScalarNode) node).isPlain();
+    }
+
+    private static Iterator<?> items(Object data) {
+        if (data instanceof Iterator) {
+            return (Iterator<?>) data;
+        } else if (data instanceof Collection) {
+            return ((Collection<?>) data).iterator();
+        }
+        return new Iterator<Object>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < Array.getLength(data);
+            }
+
+            @Override
+            public Object next() {
+                return Array.get(data, next++);
+            }
+        };
+    }
+
+    /**
+     * Omits the tag of a value whose type is implied by the property it belongs to, in the same way as {@link org.yaml.snakeyaml.representer.Representer}
+     * does.
+     */
+    private static Tag implicitTag(Tag tag, boolean mapping, Object data, Class<?> type, TagRule tagRule) {
+        if (type == null || data == null) {
+            return tag;
+        }
+        switch (tagRule) {
+        case ENTRY:
+            return tag.matches(type) ? Enum.class.isAssignableFrom(type) ? Tag.STR : Tag.MAP : tag;
+        case PROPERTY:
+            return mapping && data.getClass() == type && !(data instanceof Map) && !tag.equals(Tag.SET) ? Tag.MAP : tag;
+        case ITEM:
+            return mapping && data.getClass() == type ? Tag.MAP : tag;
+        default:
+            return tag;
+        }
+    }
+
+    /**
+     * Serializes a node that has been built by the representer, like {@link org.yaml.snakeyaml.serializer.Serializer} does.
+     */
+    private void serialize(Node node) {
+        Map<Node, String> anchors = new HashMap<>();
+        anchorNode(node, anchors);
+        serializeNode(node, anchors, new HashSet<>());
+    }
+
+    private void anchorNode(Node node, Map<Node, String> anchors) {
+        Node realNode = node.getNodeId() == NodeId.anchor ? ((AnchorNode) node).getRealNode() : node;
+        if (anchors.containsKey(realNode)) {
+            if (anchors.get(realNode) == null) {
+                anchors.put(realNode, dumperOptions.getAnchorGenerator().nextAnchor(realNode));
+            }
+            return;
+        }
+        anchors.put(realNode, realNode.getAnchor() != null ? dumperOptions.getAnchorGenerator().nextAnchor(realNode) : null);
+        if (realNode.getNodeId() == NodeId.sequence) {
+            for (Node item : ((SequenceNode) realNode).getValue()) {
+                anchorNode(item, anchors);
+            }
+        } else if (realNode.getNodeId() == NodeId.mapping) {
+            for (NodeTuple tuple : ((MappingNode) realNode).getValue()) {
+                anchorNode(tuple.getKeyNode(), anchors);
+                anchorNode(tuple.getValueNode(), anchors);
+            }
+        }
+    }
+
+    private void serializeNode(Node node, Map<Node, String> anchors, Set<Node> serializedNodes) {
+        Node realNode = node.getNodeId() == NodeId.anchor ? ((AnchorNode) node).getRealNode() : node;
+        String anchor = anchors.get(realNode);
+        if (!serializedNodes.add(realNode)) {
+            emit(new AliasEvent(anchor, null, null));
+            return;
+        }
+        switch (realNode.getNodeId()) {
+        case scalar:
+            ScalarNode scalarNode = (ScalarNode) realNode;
+            Tag detectedTag = resolver.resolve(NodeId.scalar, scalarNode.getValue(), true);
+            Tag defaultTag = resolver.resolve(NodeId.scalar, scalarNode.getValue(), false);
+            ImplicitTuple implicit = new ImplicitTuple(realNode.getTag().equals(detectedTag), realNode.getTag().equals(defaultTag));
+            emit(new ScalarEvent(anchor, realNode.getTag().getValue(), implicit, scalarNode.getValue(), null, null, scalarNode.getScalarStyle()));
+            break;
+        case sequence:
+            SequenceNode sequenceNode = (SequenceNode) realNode;
+            emit(new SequenceStartEvent(anchor, realNode.getTag().getValue(), realNode.getTag().equals(Tag.SEQ), null, null, sequenceNode.getFlowStyle()));
+            for (Node item : sequenceNode.getValue()) {
+                serializeNode(item, anchors, serializedNodes);
+            }
+            emit(new SequenceEndEvent(null, null));
+            break;
+        default:
+            MappingNode mappingNode = (MappingNode) realNode;
+            if (realNode.getTag() == Tag.COMMENT) {
+                return;
+            }
+            emit(new MappingStartEvent(anchor, realNode.getTag().getValue(), realNode.getTag().equals(Tag.MAP), null, null, mappingNode.getFlowStyle()));
+            for (NodeTuple tuple : mappingNode.getValue()) {
+                serializeNode(tuple.getKeyNode(), anchors, serializedNodes);
+                serializeNode(tuple.getValueNode(), anchors, serializedNodes);
+            }
+            emit(new MappingEndEvent(null, null));
+            break;
+        }
+    }
+
+    private void emit(Event event) {
+        try {
+            emitter.emit(event);
+        } catch (IOException e) {
+            throw new YAMLException(e);
+        }
+    }
+
+    /**
+     * Determines whether the tag of a value is omitted because its type is implied.
+     */
+    private enum TagRule {
+        /** The value of a property; the tag of a bean of the property type is omitted. */
+        PROPERTY,
+        /** An item of a sequence or set; the tag of a mapping of the item type is omitted. */
+        ITEM,
+        /** A key or value of a map; a tag matching the key or value type is omitted. */
+        ENTRY,
+        /** The tag is kept. */
+        NONE
+    }
+
+    /**
+     * A property of a bean that is dumped, either as nodes or as a value to walk.
+     *
+     * @author florian
+     */
+    private static final class BeanEntry {
+        private final Node key;
+        private final Node valueNode;
+        private final Property property;
+        private final Object value;
+        private final Tag customTag;
+        private final boolean lazy;
+
+        private BeanEntry(Node key, Node valueNode) {
+            this(key, valueNode, null, null, null, false);
+        }
+
+        private BeanEntry(Node key, Property property, Object value, Tag customTag, boolean lazy) {
+            this(key, null, property, value, customTag, lazy);
+        }
+
+        private BeanEntry(Node key, Node valueNode, Property property, Object value, Tag customTag, boolean lazy) {
+            this.key = key;
+            this.valueNode = valueNode;
+            this.property = property;
+            this.value = value;
+            this.customTag = customTag;
+            this.lazy = lazy;
+        }
+    }
+}
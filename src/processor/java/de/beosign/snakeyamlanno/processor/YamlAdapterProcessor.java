@@ -0,0 +1,469 @@
+package de.beosign.snakeyamlanno.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * <p>
+ * Annotation processor that generates a <code>YamlAdapter</code> for each class that uses annotations of SnakeYAML-Anno on its properties or on the class
+ * itself. The adapter provides the JavaBean properties of the class as SnakeYAML would discover them, but without introspection, and calls getters, setters
+ * and fields directly. The annotations of SnakeYAML-Anno on the properties are generated as well, only other annotations are read by reflection.
+ * </p>
+ * <p>
+ * An adapter is only generated if the properties of the class can be determined with certainty at compile time. Otherwise, e.g. if the class is not public,
+ * has indexed or overloaded accessors or a <code>BeanInfo</code>, a note is issued and the properties are discovered by introspection at runtime as usual.
+ * </p>
+ *
+ * @author florian
+ * @since 1.4.0
+ */
+@SupportedAnnotationTypes({
+        "de.beosign.snakeyamlanno.property.YamlProperty",
+        "de.beosign.snakeyamlanno.property.YamlAnySetter",
+        "de.beosign.snakeyamlanno.property.YamlAnyGetter",
+        "de.beosign.snakeyamlanno.constructor.YamlConstructBy",
+        "de.beosign.snakeyamlanno.instantiator.YamlInstantiateBy" })
+public class YamlAdapterProcessor extends AbstractProcessor {
+    private static final String ADAPTER_SUFFIX = "_YamlAdapter";
+
+    /** Annotations on properties that are generated, they all have a nested <code>Factory</code> class. */
+    private static final Set<String> GENERATED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "de.beosign.snakeyamlanno.property.YamlProperty",
+            "de.beosign.snakeyamlanno.property.YamlAnyGetter",
+            "de.beosign.snakeyamlanno.constructor.YamlConstructBy"));
+
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> beanTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element beanType = element.getKind().isClass() || element.getKind().isInterface() ? element : element.getEnclosingElement();
+                if (beanType.getKind() == ElementKind.CLASS) {
+                    beanTypes.add((TypeElement) beanType);
+                }
+            }
+        }
+
+        for (TypeElement beanType : beanTypes) {
+            String binaryName = processingEnv.getElementUtils().getBinaryName(beanType).toString();
+            if (processedTypes.add(binaryName)) {
+                try {
+                    generateAdapter(beanType, binaryName);
+                } catch (UnsupportedTypeException e) {
+                    processingEnv.getMessager().printMessage(Kind.NOTE, "No YAML adapter generated for " + binaryName + ": " + e.getMessage(), beanType);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Kind.ERROR, "Cannot write YAML adapter for " + binaryName + ": " + e, beanType);
+                }
+            }
+        }
+
+        // the annotations may be processed by other processors as well
+        return false;
+    }
+
+    private void generateAdapter(TypeElement beanType, String binaryName) throws UnsupportedTypeException, IOException {
+        checkAccessible(beanType);
+        if (processingEnv.getElementUtils().getTypeElement(beanType.getQualifiedName() + "BeanInfo") != null) {
+            throw new UnsupportedTypeException("the class has a BeanInfo");
+        }
+
+        Map<String, PropertyModel> properties = new LinkedHashMap<>(collectMethodProperties(beanType));
+        boolean inaccessibleFieldsExist = collectFieldProperties(beanType, properties);
+        if (properties.isEmpty() && inaccessibleFieldsExist) {
+            throw new UnsupportedTypeException("the class has no JavaBean properties");
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(beanType);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String adapterName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + ADAPTER_SUFFIX;
+        String beanTypeName = erasure(beanType.asType());
+
+        Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? adapterName : packageName + "." + adapterName, beanType).openWriter();
+        try (PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * YAML adapter of {@link " + beanTypeName + "}, generated by " + getClass().getName() + ".");
+            out.println(" */");
+            out.println("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })");
+            out.println("public final class " + adapterName + " implements de.beosign.snakeyamlanno.adapter.YamlAdapter<" + beanTypeName + "> {");
+            out.println("    @Override");
+            out.println("    public Class<" + beanTypeName + "> getType() {");
+            out.println("        return " + beanTypeName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.Map<String, org.yaml.snakeyaml.introspector.Property> createProperties() {");
+            out.println("        java.util.Map<String, org.yaml.snakeyaml.introspector.Property> properties = new java.util.LinkedHashMap<>();");
+            for (PropertyModel property : properties.values()) {
+                out.println("        properties.put(\"" + property.name + "\", " + property.toSource(beanTypeName) + ");");
+            }
+            out.println("        return properties;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void checkAccessible(TypeElement beanType) throws UnsupportedTypeException {
+        for (Element element = beanType; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement type = (TypeElement) element;
+            if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+                throw new UnsupportedTypeException("the class is not public");
+            }
+            if (type.getNestingKind() == NestingKind.MEMBER && type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedTypeException("the class is an inner class");
+            }
+            if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new UnsupportedTypeException("the class is a local class");
+            }
+        }
+    }
+
+    /**
+     * Determines the properties like the <code>java.beans.Introspector</code>: public getters and setters of the class and its super classes.
+     */
+    private Map<String, PropertyModel> collectMethodProperties(TypeElement beanType) throws UnsupportedTypeException {
+        Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+        Set<TypeElement> interfaces = new LinkedHashSet<>();
+        for (TypeElement type = beanType; type != null; type = superclass(type)) {
+            if (type.getQualifiedName().contentEquals(Object.class.getName())) {
+                // getClass() is not a property for SnakeYAML
+                break;
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                ExecutableElement overriding = methods.putIfAbsent(signature(method), method);
+                if (overriding != null && !erasure(overriding.getReturnType()).equals(erasure(method.getReturnType()))) {
+                    throw new UnsupportedTypeException("method " + method + " is overridden with a covariant return type");
+                }
+            }
+            collectInterfaces(type, interfaces);
+        }
+        for (TypeElement type : interfaces) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.DEFAULT) && !methods.containsKey(signature(method)) && accessorName(method) != null) {
+                    throw new UnsupportedTypeException("the default method " + method + " is an accessor");
+                }
+            }
+        }
+
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        Map<String, ExecutableElement> setters = new HashMap<>();
+        for (ExecutableElement method : methods.values()) {
+            String name = accessorName(method);
+            if (name == null) {
+                continue;
+            }
+            if (name.isEmpty() || name.equals("class")) {
+                throw new UnsupportedTypeException("method " + method + " is an unsupported accessor");
+            }
+            if (method.getAnnotationMirrors().stream().anyMatch(a -> erasure(a.getAnnotationType()).equals("java.beans.Transient"))) {
+                throw new UnsupportedTypeException("method " + method + " is annotated with @Transient");
+            }
+            Map<String, ExecutableElement> accessors = method.getParameters().isEmpty() ? getters : setters;
+            if (accessors.put(name, method) != null) {
+                throw new UnsupportedTypeException("property " + name + " has more than one " + (accessors == getters ? "getter" : "setter"));
+            }
+        }
+
+        Map<String, PropertyModel> properties = new TreeMap<>();
+        Set<String> names = new HashSet<>(getters.keySet());
+        names.addAll(setters.keySet());
+        for (String name : names) {
+            ExecutableElement getter = getters.get(name);
+            ExecutableElement setter = setters.get(name);
+            TypeMirror getterType = getter == null ? null : getter.getReturnType();
+            TypeMirror setterType = setter == null ? null : setter.getParameters().get(0).asType();
+            if (getterType != null && setterType != null && !erasure(getterType).equals(erasure(setterType))) {
+                throw new UnsupportedTypeException("the getter and setter of property " + name + " have different types");
+            }
+            TypeMirror type = getterType != null ? getterType : setterType;
+            if (isTypeVariable(type)) {
+                // the introspector resolves type variables in the context of the class
+                throw new UnsupportedTypeException("the type of property " + name + " is a type variable");
+            }
+            properties.put(name, new PropertyModel(name, type, actualTypeArguments(type), getter, setter, null));
+        }
+        return properties;
+    }
+
+    /**
+     * Adds the public fields like SnakeYAML does.
+     *
+     * @return whether there are fields that are not accessible
+     */
+    private boolean collectFieldProperties(TypeElement beanType, Map<String, PropertyModel> properties) {
+        boolean inaccessibleFieldsExist = false;
+        for (TypeElement type = beanType; type != null; type = superclass(type)) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                if (modifiers.contains(Modifier.PUBLIC)) {
+                    String name = field.getSimpleName().toString();
+                    properties.put(name, new PropertyModel(name, field.asType(), actualTypeArguments(field.asType()), null, null, field));
+                } else {
+                    inaccessibleFieldsExist = true;
+                }
+            }
+        }
+        return inaccessibleFieldsExist;
+    }
+
+    private void collectInterfaces(TypeElement type, Set<TypeElement> interfaces) {
+        for (TypeMirror interfaceType : type.getInterfaces()) {
+            TypeElement interfaceElement = (TypeElement) ((DeclaredType) interfaceType).asElement();
+            if (interfaces.add(interfaceElement)) {
+                collectInterfaces(interfaceElement, interfaces);
+            }
+        }
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    /**
+     * @return name of the property if the method is a getter, a setter or an indexed accessor, otherwise <code>null</code>
+     */
+    private String accessorName(ExecutableElement method) {
+        String methodName = method.getSimpleName().toString();
+        int parameterCount = method.getParameters().size();
+        boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+
+        if (methodName.startsWith("get") && !isVoid && parameterCount == 0) {
+            return decapitalize(methodName.substring(3));
+        }
+        if (methodName.startsWith("is") && method.getReturnType().getKind() == TypeKind.BOOLEAN && parameterCount == 0) {
+            return decapitalize(methodName.substring(2));
+        }
+        if (methodName.startsWith("set") && isVoid && parameterCount == 1) {
+            return decapitalize(methodName.substring(3));
+        }
+        if (methodName.startsWith("get") && !isVoid && parameterCount == 1 && method.getParameters().get(0).asType().getKind() == TypeKind.INT
+                || methodName.startsWith("set") && isVoid && parameterCount == 2 && method.getParameters().get(0).asType().getKind() == TypeKind.INT) {
+            // indexed properties are not supported
+            return "";
+        }
+        return null;
+    }
+
+    /**
+     * Same as <code>java.beans.Introspector.decapitalize</code>.
+     */
+    private static String decapitalize(String name) {
+        if (name.isEmpty() || name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private String signature(ExecutableElement method) {
+        StringBuilder signature = new StringBuilder(method.getSimpleName()).append('(');
+        for (VariableElement parameter : method.getParameters()) {
+            signature.append(erasure(parameter.asType())).append(',');
+        }
+        return signature.append(')').toString();
+    }
+
+    /**
+     * Creates the source of the list of the annotations of SnakeYAML-Anno on the given elements, in the order SnakeYAML's <code>MethodProperty</code> looks
+     * them up.
+     */
+    private String annotations(Element... elements) {
+        List<String> annotations = new ArrayList<>();
+        for (Element element : elements) {
+            if (element == null) {
+                continue;
+            }
+            for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+                String annotationType = erasure(annotation.getAnnotationType());
+                if (GENERATED_ANNOTATIONS.contains(annotationType)) {
+                    annotations.add(annotationType + ".Factory.of(" + String.join(", ", annotationValues(annotation)) + ")");
+                }
+            }
+        }
+        if (annotations.isEmpty()) {
+            return "java.util.Collections.emptyList()";
+        }
+        return "java.util.Arrays.<java.lang.annotation.Annotation> asList(" + String.join(", ", annotations) + ")";
+    }
+
+    /**
+     * Creates the source of the values of an annotation, including the defaults, in the order of the annotation's methods.
+     */
+    private List<String> annotationValues(AnnotationMirror annotation) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        List<String> sources = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(annotation.getAnnotationType().asElement().getEnclosedElements())) {
+            Object value = values.get(method).getValue();
+            sources.add(value instanceof TypeMirror ? erasure((TypeMirror) value) + ".class" : processingEnv.getElementUtils().getConstantExpression(value));
+        }
+        return sources;
+    }
+
+    /**
+     * Whether one of the elements has annotations that can only be read by reflection, i.e. other annotations than those of SnakeYAML-Anno that are retained
+     * at runtime.
+     */
+    private boolean hasReflectiveAnnotations(Element... elements) {
+        for (Element element : elements) {
+            if (element == null) {
+                continue;
+            }
+            for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+                Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+                if (retention != null && retention.value() == RetentionPolicy.RUNTIME && !GENERATED_ANNOTATIONS.contains(erasure(annotation.getAnnotationType()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the source of the actual type arguments in the same way as SnakeYAML's <code>GenericProperty</code> does.
+     */
+    private String actualTypeArguments(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            List<String> classes = new ArrayList<>();
+            for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                if (typeArgument.getKind() == TypeKind.DECLARED || typeArgument.getKind() == TypeKind.ARRAY && isReifiable(typeArgument)) {
+                    classes.add(erasure(typeArgument) + ".class");
+                } else {
+                    return "null";
+                }
+            }
+            return "new Class<?>[] { " + String.join(", ", classes) + " }";
+        }
+        if (type.getKind() == TypeKind.ARRAY && isReifiable(type)) {
+            return "new Class<?>[] { " + erasure(((ArrayType) type).getComponentType()) + ".class }";
+        }
+        return "null";
+    }
+
+    private boolean isTypeVariable(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isTypeVariable(((ArrayType) type).getComponentType());
+        }
+        return type.getKind() == TypeKind.TYPEVAR;
+    }
+
+    private boolean isReifiable(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isReifiable(((ArrayType) type).getComponentType());
+        }
+        return type.getKind().isPrimitive() || type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String castTarget(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        }
+        return erasure(type);
+    }
+
+    /**
+     * A JavaBean property and how to generate it.
+     *
+     * @author florian
+     */
+    private final class PropertyModel {
+        private final String name;
+        private final TypeMirror type;
+        private final String actualTypeArguments;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+        private final VariableElement field;
+
+        private PropertyModel(String name, TypeMirror type, String actualTypeArguments, ExecutableElement getter, ExecutableElement setter,
+                VariableElement field) {
+            this.name = name;
+            this.type = type;
+            this.actualTypeArguments = actualTypeArguments;
+            this.getter = getter;
+            this.setter = setter;
+            this.field = field;
+        }
+
+        private String toSource(String beanTypeName) {
+            String bean = "((" + beanTypeName + ") bean)";
+            String value = "(" + castTarget(type) + ") value";
+            String common = beanTypeName + ".class, \"" + name + "\", " + erasure(type) + ".class, " + actualTypeArguments + ", "
+                    + (field != null ? annotations(field) + ", " + hasReflectiveAnnotations(field)
+                            : annotations(getter, setter) + ", " + hasReflectiveAnnotations(getter, setter));
+            if (field != null) {
+                String setterSource = field.getModifiers().contains(Modifier.FINAL) ? "null" : "(bean, value) -> " + bean + "." + name + " = " + value;
+                return "de.beosign.snakeyamlanno.adapter.AdapterProperty.ofField(" + common + ", bean -> " + bean + "." + name + ", " + setterSource + ")";
+            }
+            String getterSource = getter == null ? "null, null" : "\"" + getter.getSimpleName() + "\", bean -> " + bean + "." + getter.getSimpleName() + "()";
+            String setterSource = setter == null ? "null, null"
+                    : "\"" + setter.getSimpleName() + "\", (bean, value) -> " + bean + "." + setter.getSimpleName() + "(" + value + ")";
+            return "de.beosign.snakeyamlanno.adapter.AdapterProperty.ofMethods(" + common + ", " + getterSource + ", " + setterSource + ")";
+        }
+    }
+
+    /**
+     * Thrown if no adapter can be generated for a type.
+     *
+     * @author florian
+     */
+    private static final class UnsupportedTypeException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedTypeException(String message) {
+            super(message);
+        }
+    }
+}
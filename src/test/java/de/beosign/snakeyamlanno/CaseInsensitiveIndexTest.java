@@ -0,0 +1,94 @@
+package de.beosign.snakeyamlanno;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the case insensitive index.
+ *
+ * @author florian
+ */
+public class CaseInsensitiveIndexTest {
+
+    /**
+     * Tests that keys are found in any case and iterated in the original order.
+     */
+    @Test
+    public void lookupInAnyCase() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("name", 1);
+        map.put("age", 2);
+        map.put("aliasProperty", 3);
+        CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(map);
+
+        assertThat(index.get("NAME"), is(1));
+        assertThat(index.get("nAmE"), is(1));
+        assertThat(index.get("AliasPROPERTY"), is(3));
+        assertThat(index.get("alias"), nullValue());
+        assertThat(index.get(null), nullValue());
+        assertThat(index.containsKey("AGE"), is(true));
+        assertThat(index.containsKey("ages"), is(false));
+        assertThat(index.size(), is(3));
+        assertThat(new ArrayList<>(index.keySet()), is(Arrays.asList("name", "age", "aliasProperty")));
+    }
+
+    /**
+     * Tests that keys differing in case only are merged like in a {@link TreeMap} using {@link String#CASE_INSENSITIVE_ORDER}.
+     */
+    @Test
+    public void keysDifferingInCase() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("name", 1);
+        map.put("NAME", 2);
+        map.put("size", 3);
+        Map<String, Integer> treeMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        treeMap.putAll(map);
+
+        CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(map);
+
+        assertThat(index, is(treeMap));
+        assertThat(index.keySet().iterator().next(), is("name"));
+        assertThat(index.get("Name"), is(2));
+    }
+
+    /**
+     * Tests many keys, including characters whose case folding differs from a simple lower case conversion.
+     */
+    @Test
+    public void manyKeys() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < 500; i++) {
+            map.put("property" + i, i);
+        }
+        map.put("straße", 500);
+        map.put("İd", 501);
+        CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(map);
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(index.get("PROPERTY" + i), is(i));
+        }
+        assertThat(index.get("STRAßE"), is(500));
+        assertThat(index.get("id"), is(String.CASE_INSENSITIVE_ORDER.compare("İd", "id") == 0 ? 501 : null));
+        assertThat(index.size(), is(502));
+    }
+
+    /**
+     * Tests an empty index.
+     */
+    @Test
+    public void empty() {
+        CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(new LinkedHashMap<>());
+
+        assertThat(index.get("name"), nullValue());
+        assertThat(index.isEmpty(), is(true));
+    }
+}
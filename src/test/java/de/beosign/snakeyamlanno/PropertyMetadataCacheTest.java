@@ -0,0 +1,83 @@
+package de.beosign.snakeyamlanno;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.introspector.BeanAccess;
+import org.yaml.snakeyaml.introspector.Property;
+
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.property.StellarObject;
+
+/**
+ * Tests the process-wide property cache.
+ *
+ * @author florian
+ */
+public class PropertyMetadataCacheTest {
+
+    /**
+     * Tests that different property utils instances share the same properties.
+     */
+    @Test
+    public void propertiesAreShared() {
+        Property property1 = new AnnotationAwarePropertyUtils().getProperty(StellarObject.class, "nameAlias");
+        Property property2 = new AnnotationAwarePropertyUtils().getProperty(StellarObject.class, "nameAlias");
+
+        assertThat(property1, sameInstance(property2));
+    }
+
+    /**
+     * Tests that the cache distinguishes bean access and case insensitivity.
+     */
+    @Test
+    public void cacheKeyContainsBeanAccessAndCaseInsensitivity() {
+        AnnotationAwarePropertyUtils fieldPropertyUtils = new AnnotationAwarePropertyUtils();
+        fieldPropertyUtils.setBeanAccess(BeanAccess.FIELD);
+
+        Property defaultProperty = new AnnotationAwarePropertyUtils().getProperty(StellarObject.class, "type");
+        Property fieldProperty = fieldPropertyUtils.getProperty(StellarObject.class, "type");
+        Property caseInsensitiveProperty = new AnnotationAwarePropertyUtils(true).getProperty(StellarObject.class, "TYPE");
+
+        assertThat(defaultProperty, not(sameInstance(fieldProperty)));
+        assertThat(caseInsensitiveProperty, not(sameInstance(defaultProperty)));
+        assertThat(new AnnotationAwarePropertyUtils(true).getProperty(StellarObject.class, "NAMEALIAS").getName(), is("nameAlias"));
+    }
+
+    /**
+     * Tests that many constructors can load concurrently.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void concurrentLoad() throws Exception {
+        PropertyMetadataCache.invalidate(StellarObject.class);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<StellarObject>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                Callable<StellarObject> load = () -> new Yaml(new AnnotationAwareConstructor(StellarObject.class)).loadAs("nameAlias: Sun\nabsMag: 4.8",
+                        StellarObject.class);
+                futures.add(executorService.submit(load));
+            }
+            for (Future<StellarObject> future : futures) {
+                assertThat(future.get().getName(), is("Sun"));
+                assertThat(future.get().getAbsoluteMag(), is(4.8));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+package de.beosign.snakeyamlanno.component;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.constructor.CustomConstructor;
+import de.beosign.snakeyamlanno.constructor.YamlConstructBy;
+import de.beosign.snakeyamlanno.convert.Converter;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+import de.beosign.snakeyamlanno.skip.SkipAtDumpPredicate;
+import de.beosign.snakeyamlanno.util.NodeUtil;
+
+/**
+ * Tests the component factory.
+ *
+ * @author florian
+ */
+public class ComponentFactoryTest {
+
+    /**
+     * Tests that one instance is reused per class unless the class is annotated as stateful.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void defaultFactoryReusesInstances() throws Exception {
+        DefaultComponentFactory factory = DefaultComponentFactory.getInstance();
+
+        assertThat(factory.getComponent(UpperCaseConstructor.class), sameInstance(factory.getComponent(UpperCaseConstructor.class)));
+        assertThat(factory.getComponent(StatefulConstructor.class), not(sameInstance(factory.getComponent(StatefulConstructor.class))));
+    }
+
+    /**
+     * Tests that private component types cannot be created.
+     */
+    @Test
+    public void privateComponent() {
+        assertThrows(IllegalAccessException.class, () -> DefaultComponentFactory.getInstance().getComponent(PrivateConstructor.class));
+    }
+
+    /**
+     * Tests that the constructor obtains the property-level custom constructors from the given component factory.
+     */
+    @Test
+    public void constructorUsesComponentFactory() {
+        List<Class<?>> requestedTypes = new ArrayList<>();
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Person.class);
+        constructor.setComponentFactory(new ComponentFactory() {
+            @Override
+            public <T> T getComponent(Class<T> type) throws InstantiationException, IllegalAccessException {
+                requestedTypes.add(type);
+                return DefaultComponentFactory.getInstance().getComponent(type);
+            }
+        });
+
+        Person person = new Yaml(constructor).loadAs("name: homer\nlastName: simpson", Person.class);
+
+        assertThat(person.getName(), is("HOMER"));
+        assertThat(person.getLastName(), is("simpson"));
+        assertThat(requestedTypes.contains(UpperCaseConstructor.class), is(true));
+        assertThrows(NullPointerException.class, () -> constructor.setComponentFactory(null));
+    }
+
+    /**
+     * Tests that the representer obtains the skip predicates from the given component factory.
+     */
+    @Test
+    public void representerUsesComponentFactory() {
+        List<Class<?>> requestedTypes = new ArrayList<>();
+        AnnotationAwareRepresenter representer = new AnnotationAwareRepresenter(false);
+        representer.setComponentFactory(new ComponentFactory() {
+            @Override
+            public <T> T getComponent(Class<T> type) throws InstantiationException, IllegalAccessException {
+                requestedTypes.add(type);
+                return DefaultComponentFactory.getInstance().getComponent(type);
+            }
+        });
+
+        Person person = new Person();
+        person.setName("Homer");
+        person.setLastName("Simpson");
+        String dumped = new Yaml(representer).dumpAsMap(person);
+
+        assertThat(dumped, is("name: Homer\n"));
+        assertThat(requestedTypes.contains(SkipAlways.class), is(true));
+    }
+
+    /**
+     * Tests that converters are obtained from the component factory of the constructor and the representer, so they may be configured per instance.
+     */
+    @Test
+    public void convertersFromComponentFactory() {
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Price.class);
+        constructor.setComponentFactory(new CurrencyFactory("EUR"));
+        Price price = new Yaml(constructor).loadAs("amount: 12", Price.class);
+        assertThat(price.getAmount(), is("12 EUR"));
+
+        AnnotationAwareRepresenter representer = new AnnotationAwareRepresenter();
+        representer.setComponentFactory(new CurrencyFactory("EUR"));
+        assertThat(new Yaml(representer).dumpAsMap(price), is("amount: '12'\n"));
+
+        // the default factory cannot create a converter without no-arg constructor
+        assertThrows(YAMLException.class, () -> new Yaml(new AnnotationAwareConstructor(Price.class)).loadAs("amount: 12", Price.class));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Person {
+        private String name;
+        private String lastName;
+
+        @YamlConstructBy(UpperCaseConstructor.class)
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @YamlProperty(skipAtDumpIf = SkipAlways.class)
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+    }
+
+    public static class Price {
+        private String amount;
+
+        @YamlProperty(converter = CurrencyConverter.class)
+        public String getAmount() {
+            return amount;
+        }
+
+        public void setAmount(String amount) {
+            this.amount = amount;
+        }
+    }
+
+    public static class CurrencyConverter implements Converter<String> {
+        private final String currency;
+
+        public CurrencyConverter(String currency) {
+            this.currency = currency;
+        }
+
+        @Override
+        public String convertToYaml(String modelValue) {
+            return modelValue.substring(0, modelValue.length() - currency.length() - 1);
+        }
+
+        @Override
+        public String convertToModel(Object value) {
+            return value + " " + currency;
+        }
+    }
+
+    public static class CurrencyFactory implements ComponentFactory {
+        private final CurrencyConverter converter;
+
+        public CurrencyFactory(String currency) {
+            this.converter = new CurrencyConverter(currency);
+        }
+
+        @Override
+        public <T> T getComponent(Class<T> type) throws InstantiationException, IllegalAccessException {
+            return type == CurrencyConverter.class ? type.cast(converter) : DefaultComponentFactory.getInstance().getComponent(type);
+        }
+    }
+
+    public static class UpperCaseConstructor implements CustomConstructor<String> {
+        @Override
+        public String construct(Node node, Function<? super Node, ? extends String> defaultConstructor) throws YAMLException {
+            return ((String) NodeUtil.getValue(node)).toUpperCase();
+        }
+    }
+
+    @YamlStateful
+    public static class StatefulConstructor extends UpperCaseConstructor {
+    }
+
+    private static class PrivateConstructor extends UpperCaseConstructor {
+    }
+
+    public static class SkipAlways implements SkipAtDumpPredicate {
+        @Override
+        public boolean skip(Object javaBean, Property property, Object propertyValue, Tag customTag) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.Node;
+
+import de.beosign.snakeyamlanno.util.NodeUtil;
+
+/**
+ * Tests the per-document construction context.
+ *
+ * @author florian
+ */
+public class ConstructionContextTest {
+
+    /**
+     * Tests that a custom constructor receives the property and the parent bean of the node through the context.
+     */
+    @Test
+    public void customConstructorReceivesPropertyAndParent() {
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Owner.class);
+        constructor.registerCustomConstructor(Tag.class, TagConstructor.class);
+
+        Owner owner = new Yaml(constructor).loadAs("name: homer\nfirst: a\nsecond: b", Owner.class);
+
+        assertThat(owner.getFirst().getValue(), is("first:a"));
+        assertThat(owner.getFirst().getParent(), is(owner));
+        assertThat(owner.getSecond().getValue(), is("second:b"));
+    }
+
+    /**
+     * Tests that the context does not report properties for nodes that are not the direct value of a property.
+     */
+    @Test
+    public void collectionItemsHaveNoProperty() {
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Owner.class);
+        constructor.registerCustomConstructor(Tag.class, TagConstructor.class);
+
+        Owner owner = new Yaml(constructor).loadAs("tags: [a, b]", Owner.class);
+
+        assertThat(owner.getTags().get(0).getValue(), is("none:a"));
+        assertThat(owner.getTags().get(1).getParent(), nullValue());
+    }
+
+    /**
+     * Tests that the context only exists while a document is constructed.
+     */
+    @Test
+    public void contextIsDiscardedAfterDocument() {
+        ContextExposingConstructor constructor = new ContextExposingConstructor();
+        Yaml yaml = new Yaml(constructor);
+
+        for (Object document : yaml.loadAll("name: homer\n---\nname: marge")) {
+            assertThat(document, instanceOf(Owner.class));
+            assertThat(constructor.getConstructionContext(), nullValue());
+        }
+        assertThat(constructor.contextsSeen, is(2));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Owner {
+        private String name;
+        private Tag first;
+        private Tag second;
+        private List<Tag> tags;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Tag getFirst() {
+            return first;
+        }
+
+        public void setFirst(Tag first) {
+            this.first = first;
+        }
+
+        public Tag getSecond() {
+            return second;
+        }
+
+        public void setSecond(Tag second) {
+            this.second = second;
+        }
+
+        public List<Tag> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<Tag> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Tag {
+        private final String value;
+        private final Object parent;
+
+        public Tag(String value, Object parent) {
+            this.value = value;
+            this.parent = parent;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Object getParent() {
+            return parent;
+        }
+    }
+
+    public static class TagConstructor implements CustomConstructor<Tag> {
+        @Override
+        public Tag construct(Node node, Function<? super Node, ? extends Tag> defaultConstructor) throws YAMLException {
+            throw new UnsupportedOperationException("Context is always available");
+        }
+
+        @Override
+        public Tag construct(Node node, Function<? super Node, ? extends Tag> defaultConstructor, ConstructionContext context) throws YAMLException {
+            String propertyName = context.getProperty(node) == null ? "none" : context.getProperty(node).getName();
+            return new Tag(propertyName + ":" + NodeUtil.getValue(node), context.getParent(node));
+        }
+    }
+
+    private static class ContextExposingConstructor extends AnnotationAwareConstructor {
+        private int contextsSeen;
+        private ConstructionContext lastContext;
+
+        ContextExposingConstructor() {
+            super(Owner.class);
+        }
+
+        @Override
+        protected Object newInstance(Class<?> ancestor, Node node, boolean tryDefault) throws InstantiationException {
+            if (getConstructionContext() != lastContext) {
+                lastContext = getConstructionContext();
+                contextsSeen++;
+            }
+            return super.newInstance(ancestor, node, tryDefault);
+        }
+    }
+}
@@ -117,6 +117,34 @@ public class CustomConstructorTest {
         }
     }
 
+    /**
+     * Tests that changing the registrations after a document has been loaded resets the memoized constructor resolution.
+     * 
+     * @throws Exception on any exception
+     */
+    @Test
+    public void parseAfterRegistrationChanged() throws Exception {
+        try (InputStream is = getClass().getResourceAsStream("person.yaml")) {
+            String yamlString = IOUtils.toString(is, StandardCharsets.UTF_8);
+
+            Yaml yaml = new Yaml(annotationAwareConstructor);
+            Person person = yaml.loadAs(yamlString, Person.class);
+            assertThat(person.getFavoriteColors().get(0), is(Person.Color.BLUE));
+
+            annotationAwareConstructor.getConstructByMap().remove(Enum.class);
+            try {
+                yaml.loadAs(yamlString, Person.class);
+                fail("Expected exception");
+            } catch (YAMLException e) {
+                assertThat(e.getMessage(), containsString("bLuE"));
+            }
+
+            annotationAwareConstructor.registerCustomConstructor(Person.Color.class, ColorConstructor.class);
+            person = yaml.loadAs(yamlString, Person.class);
+            assertThat(person.getFavoriteColors().get(1), is(Person.Color.RED));
+        }
+    }
+
     /**
      * Test a constructor that creates the correctly typed instance by looking at the property names of the mapping node.
      * So instead of the former auto type detection feature that tries one substitution type after the other and checks what does not fail, the idea here is to
@@ -466,4 +494,13 @@ public class CustomConstructorTest {
         }
 
     }
+
+    public static class ColorConstructor implements CustomConstructor<Person.Color> {
+        @Override
+        public Person.Color construct(Node node, Function<? super Node, ? extends Person.Color> defaultConstructor) throws YAMLException {
+            return Person.Color.valueOf(((String) NodeUtil.getValue(node)).toUpperCase());
+        }
+
+    }
+
 }
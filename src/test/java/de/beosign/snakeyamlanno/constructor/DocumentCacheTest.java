@@ -0,0 +1,122 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import de.beosign.snakeyamlanno.constructor.DocumentCache.ResultPolicy;
+
+/**
+ * Tests the {@link DocumentCache}.
+ *
+ * @author florian
+ */
+public class DocumentCacheTest {
+    private static final String TENANT_YAML = "name: acme\nquota: 10\n";
+
+    /**
+     * Tests that a repeated payload returns the same document.
+     */
+    @Test
+    public void sharedDocuments() {
+        DocumentCache cache = new DocumentCache(() -> new AnnotationAwareConstructor(Tenant.class), 1000);
+
+        Tenant tenant = (Tenant) cache.load(TENANT_YAML);
+        assertThat(tenant.getName(), is("acme"));
+        assertThat(cache.load(new String(TENANT_YAML.toCharArray())), sameInstance(tenant));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHitRatio(), is(0.5));
+
+        // the type and the kind of payload are part of the key
+        Map<?, ?> map = cache.loadAs(TENANT_YAML, Map.class);
+        assertThat(map.get("quota"), is(10));
+        byte[] bytes = TENANT_YAML.getBytes(StandardCharsets.UTF_8);
+        Tenant tenantFromBytes = (Tenant) cache.load(bytes);
+        assertThat(tenantFromBytes, not(sameInstance(tenant)));
+        bytes[0] = 'N';
+        assertThat(cache.load(TENANT_YAML.getBytes(StandardCharsets.UTF_8)), sameInstance(tenantFromBytes));
+
+        assertThat(cache.size(), is(3));
+        assertThat(cache.getWeight(), is(3L * TENANT_YAML.length()));
+        assertThat(cache.load(""), nullValue());
+    }
+
+    /**
+     * Tests that each lookup gets its own copy if requested.
+     */
+    @Test
+    public void copies() {
+        DocumentCache cache = new DocumentCache(() -> new AnnotationAwareConstructor(Tenant.class), 1000, ResultPolicy.COPY);
+
+        Tenant tenant = (Tenant) cache.load(TENANT_YAML);
+        tenant.setQuota(20);
+        Tenant copy = (Tenant) cache.load(TENANT_YAML);
+
+        assertThat(copy, not(sameInstance(tenant)));
+        assertThat(copy.getQuota(), is(10));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    /**
+     * Tests that the least recently used documents are evicted once the maximum weight is exceeded, and that failures are not cached.
+     */
+    @Test
+    public void eviction() {
+        String other = TENANT_YAML.replace("acme", "abcd");
+        String third = TENANT_YAML.replace("acme", "wxyz");
+        DocumentCache cache = new DocumentCache(() -> new AnnotationAwareConstructor(Tenant.class), 2 * TENANT_YAML.length());
+
+        Object tenant = cache.load(TENANT_YAML);
+        Object otherTenant = cache.load(other);
+        assertThat(cache.load(TENANT_YAML), sameInstance(tenant));
+        cache.load(third);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.load(TENANT_YAML), sameInstance(tenant));
+        assertThat(cache.load(other), not(sameInstance(otherTenant)));
+
+        cache.load(TENANT_YAML + TENANT_YAML.replace("name", "# name").replace("quota", "# quota"));
+        assertThat(cache.size(), is(2));
+
+        assertThrows(YAMLException.class, () -> cache.load("unknown: 1"));
+        assertThrows(YAMLException.class, () -> cache.load("unknown: 1"));
+        assertThat(cache.size(), is(2));
+
+        cache.clear();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getWeight(), is(0L));
+        assertThrows(IllegalArgumentException.class, () -> new DocumentCache(() -> new AnnotationAwareConstructor(Tenant.class), 0));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Tenant {
+        private String name;
+        private int quota;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getQuota() {
+            return quota;
+        }
+
+        public void setQuota(int quota) {
+            this.quota = quota;
+        }
+    }
+}
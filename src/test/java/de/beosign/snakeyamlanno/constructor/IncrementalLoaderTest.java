@@ -0,0 +1,136 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link IncrementalLoader}.
+ * 
+ * @author florian
+ */
+public class IncrementalLoaderTest {
+    private static final String TOPOLOGY_YAML = "name: prod\nsettings: {timeout: 10}\nservers:\n- {host: a, port: 80}\n- {host: b, port: 80}\n";
+
+    /**
+     * Tests that only changed subtrees are constructed again.
+     */
+    @Test
+    public void reuseUnchangedSubtrees() {
+        IncrementalLoader loader = new IncrementalLoader(new AnnotationAwareConstructor(Topology.class));
+        IncrementalLoader.Result first = loader.load(TOPOLOGY_YAML);
+        Topology topology = (Topology) first.getData();
+        assertThat(first.getChangedPaths(), contains(""));
+
+        IncrementalLoader.Result second = loader.load(TOPOLOGY_YAML.replace("host: b", "host: c"));
+        Topology changedTopology = (Topology) second.getData();
+
+        assertThat(second.getChangedPaths(), contains("servers[1].host"));
+        assertThat(changedTopology, not(sameInstance(topology)));
+        assertThat(changedTopology.getName(), is("prod"));
+        assertThat(changedTopology.getSettings(), sameInstance(topology.getSettings()));
+        assertThat(changedTopology.getServers().get(0), sameInstance(topology.getServers().get(0)));
+        assertThat(changedTopology.getServers().get(1).getHost(), is("c"));
+        assertThat(topology.getServers().get(1).getHost(), is("b"));
+
+        // objects reused once can be reused again
+        IncrementalLoader.Result third = loader.load(TOPOLOGY_YAML.replace("host: b", "host: c").replace("timeout: 10", "timeout: 20"));
+        assertThat(third.getChangedPaths(), contains("settings.timeout"));
+        assertThat(((Topology) third.getData()).getServers().get(0), sameInstance(topology.getServers().get(0)));
+        assertThat(((Topology) third.getData()).getServers().get(1), sameInstance(changedTopology.getServers().get(1)));
+    }
+
+    /**
+     * Tests that an unchanged document is not constructed at all, and that added and removed subtrees are reported.
+     */
+    @Test
+    public void addedAndRemovedPaths() {
+        IncrementalLoader loader = new IncrementalLoader(new AnnotationAwareConstructor(Topology.class));
+        Topology topology = (Topology) loader.load(TOPOLOGY_YAML).getData();
+
+        IncrementalLoader.Result unchanged = loader.load(TOPOLOGY_YAML);
+        assertThat(unchanged.getChangedPaths(), empty());
+        assertThat(unchanged.getData(), sameInstance(topology));
+
+        IncrementalLoader.Result changed = loader.load("settings: {timeout: 10}\nservers:\n- {host: a, port: 80}\n- {host: b, port: 80}\n- {host: c}\n");
+        assertThat(changed.getChangedPaths(), contains("servers[2]", "name"));
+        assertThat(((Topology) changed.getData()).getName(), is((String) null));
+        assertThat(((Topology) changed.getData()).getServers().get(2).getHost(), is("c"));
+
+        loader.reset();
+        IncrementalLoader.Result reset = loader.load(TOPOLOGY_YAML);
+        assertThat(reset.getChangedPaths(), contains(""));
+        assertThat(((Topology) reset.getData()).getSettings(), not(sameInstance(topology.getSettings())));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Topology {
+        private String name;
+        private Settings settings;
+        private List<Server> servers;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Settings getSettings() {
+            return settings;
+        }
+
+        public void setSettings(Settings settings) {
+            this.settings = settings;
+        }
+
+        public List<Server> getServers() {
+            return servers;
+        }
+
+        public void setServers(List<Server> servers) {
+            this.servers = servers;
+        }
+    }
+
+    public static class Settings {
+        private int timeout;
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Server {
+        private String host;
+        private int port;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
+import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+/**
+ * Tests the {@link NodeSnapshot}.
+ *
+ * @author florian
+ */
+public class NodeSnapshotTest {
+    private static final String SERVICE_YAML = "defaults: &defaults\n  port: 8080\n  tags: [a, b]\n"
+            + "service:\n  <<: *defaults\n  name: 'api'\n  description: |\n    line 1\n    line 2\n  peers: [*defaults, !!str 42]\n";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that a snapshot keeps tags, styles, anchors, aliases and merge keys, so that the same document is constructed from it.
+     */
+    @Test
+    public void roundTrip() throws IOException {
+        Node node = new Yaml().compose(new StringReader(SERVICE_YAML));
+        Node copy = NodeSnapshot.read(new ByteArrayInputStream(snapshot(node, false)));
+
+        MappingNode service = (MappingNode) ((MappingNode) copy).getValue().get(1).getValueNode();
+        MappingNode defaults = (MappingNode) ((MappingNode) copy).getValue().get(0).getValueNode();
+        assertThat(defaults.getAnchor(), is("defaults"));
+        assertThat(service.getValue().get(0).getKeyNode().getTag(), is(Tag.MERGE));
+        assertThat(service.getValue().get(0).getValueNode(), sameInstance(defaults));
+        assertThat(((ScalarNode) service.getValue().get(1).getValueNode()).getScalarStyle(), is(ScalarStyle.SINGLE_QUOTED));
+        assertThat(((ScalarNode) service.getValue().get(2).getValueNode()).getScalarStyle(), is(ScalarStyle.LITERAL));
+        SequenceNode peers = (SequenceNode) service.getValue().get(3).getValueNode();
+        assertThat(peers.getFlowStyle(), is(FlowStyle.FLOW));
+        assertThat(peers.getValue().get(1).getTag(), is(Tag.STR));
+        assertThat(copy.getStartMark(), nullValue());
+
+        Object loaded = NodeSnapshot.load(new ByteArrayInputStream(snapshot(node, false)), new AnnotationAwareConstructor(Object.class));
+        assertThat(loaded, is((Object) new Yaml().load(SERVICE_YAML)));
+        Map<?, ?> loadedService = (Map<?, ?>) ((Map<?, ?>) loaded).get("service");
+        assertThat(loadedService.get("port"), is(8080));
+        assertThat(((List<?>) loadedService.get("peers")).get(1), is("42"));
+    }
+
+    /**
+     * Tests that recursive nodes and marks are kept, and that invalid snapshots are rejected.
+     */
+    @Test
+    public void recursionAndMarks() throws IOException {
+        Node node = new Yaml().compose(new StringReader("&self\nname: x\nme: *self\n"));
+        MappingNode copy = (MappingNode) NodeSnapshot.read(new ByteArrayInputStream(snapshot(node, true)));
+
+        assertThat(copy.getValue().get(1).getValueNode(), sameInstance(copy));
+        Node name = copy.getValue().get(0).getValueNode();
+        assertThat(name.getStartMark().getLine(), is(1));
+        assertThat(name.getStartMark().getColumn(), is(6));
+        assertThat(name.getStartMark().getIndex(), is(12));
+
+        assertThat(NodeSnapshot.read(new ByteArrayInputStream(snapshot(null, false))), nullValue());
+        assertThrows(IOException.class, () -> NodeSnapshot.read(new ByteArrayInputStream("name: x".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * Tests that a snapshot file is created for a YAML file and replaced when the YAML file changes.
+     */
+    @Test
+    public void snapshotFile() throws IOException {
+        Path yamlFile = tempDir.resolve("tenant.yaml");
+        Path snapshotFile = tempDir.resolve("tenant.snapshot");
+        Files.write(yamlFile, "name: acme\nquota: 10\n".getBytes(StandardCharsets.UTF_8));
+
+        Tenant tenant = (Tenant) NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Tenant.class));
+        assertThat(tenant.getName(), is("acme"));
+        assertThat(Files.exists(snapshotFile), is(true));
+        byte[] snapshot = Files.readAllBytes(snapshotFile);
+        tenant = (Tenant) NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Tenant.class));
+        assertThat(tenant.getQuota(), is(10));
+        assertThat(Files.readAllBytes(snapshotFile), is(snapshot));
+
+        Files.write(yamlFile, "name: acme\nquota: 20\n".getBytes(StandardCharsets.UTF_8));
+        tenant = (Tenant) NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Tenant.class));
+        assertThat(tenant.getQuota(), is(20));
+
+        Files.write(snapshotFile, new byte[] { 1, 2, 3 });
+        tenant = (Tenant) NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Tenant.class));
+        assertThat(tenant.getQuota(), is(20));
+
+        Files.write(yamlFile, new byte[0]);
+        assertThat(NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Tenant.class)), nullValue());
+    }
+
+    /**
+     * Tests that a corrupt snapshot file is replaced, whichever byte of it has been modified.
+     */
+    @Test
+    public void corruptSnapshotFile() throws IOException {
+        Path yamlFile = tempDir.resolve("service.yaml");
+        Path snapshotFile = tempDir.resolve("service.snapshot");
+        Files.write(yamlFile, SERVICE_YAML.getBytes(StandardCharsets.UTF_8));
+        Object expected = new Yaml().load(SERVICE_YAML);
+
+        assertThat(NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Object.class)), is(expected));
+        byte[] snapshot = Files.readAllBytes(snapshotFile);
+        for (int i = 0; i < snapshot.length; i++) {
+            for (int flip : new int[] { 0x01, 0x80, 0xFF }) {
+                byte[] corrupt = snapshot.clone();
+                corrupt[i] ^= flip;
+                Files.write(snapshotFile, corrupt);
+
+                assertThat(NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Object.class)), is(expected));
+                assertThat(Files.readAllBytes(snapshotFile), is(snapshot));
+            }
+        }
+        Files.write(snapshotFile, Arrays.copyOf(snapshot, snapshot.length / 2));
+        assertThat(NodeSnapshot.load(yamlFile, snapshotFile, new AnnotationAwareConstructor(Object.class)), is(expected));
+
+        // no temporary files are left behind
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.count(), is(2L));
+        }
+    }
+
+    private static byte[] snapshot(Node node, boolean includeMarks) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        NodeSnapshot.write(node, output, includeMarks);
+        return output.toByteArray();
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Tenant {
+        private String name;
+        private int quota;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getQuota() {
+            return quota;
+        }
+
+        public void setQuota(int quota) {
+            this.quota = quota;
+        }
+    }
+}
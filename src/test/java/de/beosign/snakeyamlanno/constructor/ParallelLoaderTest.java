@@ -0,0 +1,106 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import de.beosign.snakeyamlanno.property.YamlProperty;
+
+/**
+ * Tests the parallel construction of multi-document streams.
+ *
+ * @author florian
+ */
+public class ParallelLoaderTest {
+
+    /**
+     * Tests that all documents are constructed and returned in stream order, using at most one constructor per concurrently running document.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void loadAllInOrder() throws Exception {
+        AtomicInteger constructorsCreated = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelLoader loader = new ParallelLoader(() -> {
+                constructorsCreated.incrementAndGet();
+                return new AnnotationAwareConstructor(Item.class);
+            }, executor);
+
+            StringBuilder yaml = new StringBuilder();
+            for (int i = 0; i < 200; i++) {
+                yaml.append("---\nid: ").append(i).append("\nitemName: item").append(i).append('\n');
+            }
+
+            List<Object> documents = loader.loadAll(yaml.toString());
+
+            assertThat(documents.size(), is(200));
+            for (int i = 0; i < documents.size(); i++) {
+                assertThat(documents.get(i), instanceOf(Item.class));
+                Item item = (Item) documents.get(i);
+                assertThat(item.getId(), is(i));
+                assertThat(item.getName(), is("item" + i));
+            }
+            assertThat(constructorsCreated.get(), greaterThan(0));
+            // one for composing plus at most one per worker thread
+            assertThat(constructorsCreated.get(), lessThanOrEqualTo(5));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that an empty stream yields no documents.
+     */
+    @Test
+    public void loadAllEmpty() {
+        ParallelLoader loader = new ParallelLoader(() -> new AnnotationAwareConstructor(Item.class));
+
+        assertThat(loader.loadAll("").isEmpty(), is(true));
+    }
+
+    /**
+     * Tests that an exception occurring while constructing a document is rethrown to the caller.
+     */
+    @Test
+    public void loadAllFailure() {
+        ParallelLoader loader = new ParallelLoader(() -> new AnnotationAwareConstructor(Item.class));
+
+        assertThrows(YAMLException.class, () -> loader.loadAll("id: 1\n---\nid: notANumber\n"));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Item {
+        private int id;
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        @YamlProperty(key = "itemName")
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
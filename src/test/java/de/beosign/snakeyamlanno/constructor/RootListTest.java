@@ -7,9 +7,15 @@ import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.resolver.Resolver;
 
 /**
  * Tests parsing of an untyped list of items at the root.
@@ -147,4 +155,73 @@ public class RootListTest {
         assertThrows(NullPointerException.class, () -> new AnnotationAwareListConstructor(null, false));
     }
 
+    /**
+     * Tests streaming the items of a list at the root.
+     * 
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testStreaming() throws Exception {
+        try (InputStream is = getClass().getResourceAsStream("persons.yaml")) {
+            AnnotationAwareListConstructor listConstructor = new AnnotationAwareListConstructor(Person.class);
+            listConstructor.getConstructByMap().put(Enum.class, YamlConstructBy.Factory.of(EnumConstructor.class));
+
+            List<String> names = listConstructor.<Person> loadAsStream(new InputStreamReader(is, StandardCharsets.UTF_8))
+                    .map(Person::getName)
+                    .collect(Collectors.toList());
+
+            assertThat(names, is(Arrays.asList("Homer", "Marge")));
+        }
+    }
+
+    /**
+     * Tests that aliases to preceding items can be resolved when streaming.
+     * 
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testStreamingWithAlias() throws Exception {
+        String yamlString = "- &homer\n  name: Homer\n- *homer\n- name: Marge";
+        Iterator<Person> iterator = new AnnotationAwareListConstructor(Person.class).loadAsIterator(new StringReader(yamlString));
+
+        assertThat(iterator.next().getName(), is("Homer"));
+        assertThat(iterator.next().getName(), is("Homer"));
+        assertThat(iterator.next().getName(), is("Marge"));
+        assertThat(iterator.hasNext(), is(false));
+        assertThrows(NoSuchElementException.class, () -> iterator.next());
+    }
+
+    /**
+     * Tests that a custom resolver is used for implicit tags when streaming.
+     * 
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testStreamingWithResolver() throws Exception {
+        Resolver noImplicitTypes = new Resolver() {
+            @Override
+            protected void addImplicitResolvers() {
+                // all plain scalars are strings
+            }
+        };
+        AnnotationAwareListConstructor listConstructor = new AnnotationAwareListConstructor(Object.class);
+
+        assertThat(listConstructor.loadAsStream(new StringReader("- 42\n- true")).collect(Collectors.toList()), is(Arrays.<Object> asList(42, true)));
+        assertThat(listConstructor.loadAsStream(new StringReader("- 42\n- true"), noImplicitTypes).collect(Collectors.toList()),
+                is(Arrays.<Object> asList("42", "true")));
+    }
+
+    /**
+     * Tests that streaming requires a list at the root.
+     * 
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testStreamingNoList() throws Exception {
+        Iterator<Person> iterator = new AnnotationAwareListConstructor(Person.class).loadAsIterator(new StringReader("name: Homer"));
+        assertThrows(YAMLException.class, () -> iterator.hasNext());
+
+        assertThat(new AnnotationAwareListConstructor(Person.class).loadAsIterator(new StringReader("")).hasNext(), is(false));
+    }
+
 }
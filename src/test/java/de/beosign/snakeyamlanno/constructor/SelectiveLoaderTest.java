@@ -0,0 +1,131 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SelectiveLoader}.
+ * 
+ * @author florian
+ */
+public class SelectiveLoaderTest {
+    private static final String TOPOLOGY_YAML = "name: prod\nsettings: {timeout: 10}\nservers:\n- {host: a, port: 80}\n- {host: b, port: 81}\n";
+
+    /**
+     * Tests that only the selected paths and their ancestors are loaded.
+     */
+    @Test
+    public void loadSelectedPaths() {
+        SelectiveLoader loader = new SelectiveLoader(new AnnotationAwareConstructor(Topology.class), Arrays.asList("settings", "servers[1].host"));
+        Topology topology = (Topology) loader.load(TOPOLOGY_YAML);
+
+        assertThat(topology.getName(), nullValue());
+        assertThat(topology.getSettings().getTimeout(), is(10));
+        assertThat(topology.getServers(), hasSize(1));
+        assertThat(topology.getServers().get(0).getHost(), is("b"));
+        assertThat(topology.getServers().get(0).getPort(), is(0));
+
+        assertThat(loader.load(""), nullValue());
+    }
+
+    /**
+     * Tests that unselected parts are skipped even if they could not be constructed, and that anchors within them can still be referenced.
+     */
+    @Test
+    public void anchorsInSkippedParts() {
+        SelectiveLoader loader = new SelectiveLoader(new AnnotationAwareConstructor(Topology.class), Arrays.asList("settings", "servers"));
+        Topology topology = (Topology) loader
+                .load("defaults: &defaults {timeout: 5}\nbase: &base {port: 80}\nsettings: *defaults\nservers:\n- {<<: *base, host: a}\n");
+
+        assertThat(topology.getSettings().getTimeout(), is(5));
+        assertThat(topology.getServers().get(0).getHost(), is("a"));
+        assertThat(topology.getServers().get(0).getPort(), is(80));
+    }
+
+    /**
+     * Tests that the paths are selected by a predicate.
+     */
+    @Test
+    public void loadByPredicate() {
+        SelectiveLoader loader = new SelectiveLoader(new AnnotationAwareConstructor(Topology.class),
+                path -> path.equals("servers") || path.matches("servers\\[\\d+\\](\\.host)?"));
+        Topology topology = (Topology) loader.load(TOPOLOGY_YAML);
+
+        assertThat(topology.getName(), nullValue());
+        assertThat(topology.getSettings(), nullValue());
+        assertThat(topology.getServers(), hasSize(2));
+        assertThat(topology.getServers().get(1).getHost(), is("b"));
+        assertThat(topology.getServers().get(1).getPort(), is(0));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Topology {
+        private String name;
+        private Settings settings;
+        private List<Server> servers;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Settings getSettings() {
+            return settings;
+        }
+
+        public void setSettings(Settings settings) {
+            this.settings = settings;
+        }
+
+        public List<Server> getServers() {
+            return servers;
+        }
+
+        public void setServers(List<Server> servers) {
+            this.servers = servers;
+        }
+    }
+
+    public static class Settings {
+        private int timeout;
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Server {
+        private String host;
+        private int port;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package de.beosign.snakeyamlanno.constructor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import de.beosign.snakeyamlanno.property.YamlAnySetter;
+
+/**
+ * Tests the deduplication of constructed strings.
+ * 
+ * @author florian
+ */
+public class StringDeduplicationTest {
+    private static final String HOST_YAML = "name: web\ndomain: web\nlabels: {web: web}\nweb: web\n";
+
+    /**
+     * Tests that equal strings of a document share one instance if a pool per document is used, but not across documents.
+     */
+    @Test
+    public void documentPool() {
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Host.class);
+        constructor.setDocumentStringPoolSize(100);
+        Yaml yaml = new Yaml(constructor);
+
+        Host host = yaml.load(HOST_YAML);
+        Host otherHost = yaml.load(HOST_YAML);
+
+        assertThat(host.getName(), is("web"));
+        assertThat(host.getDomain(), sameInstance(host.getName()));
+        Map.Entry<String, String> label = host.getLabels().entrySet().iterator().next();
+        assertThat(label.getKey(), sameInstance(host.getName()));
+        assertThat(label.getValue(), sameInstance(host.getName()));
+        Map.Entry<String, Object> unmapped = host.getUnmapped().entrySet().iterator().next();
+        assertThat(unmapped.getKey(), sameInstance(host.getName()));
+        assertThat(unmapped.getValue(), sameInstance(host.getName()));
+        assertThat(otherHost.getName(), not(sameInstance(host.getName())));
+    }
+
+    /**
+     * Tests that equal strings share one instance across documents and constructors if a shared pool is used.
+     */
+    @Test
+    public void sharedPool() {
+        StringPool pool = new StringPool(100);
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Host.class);
+        constructor.setStringPool(pool);
+        constructor.setDocumentStringPoolSize(100);
+        AnnotationAwareConstructor otherConstructor = new AnnotationAwareConstructor(Host.class);
+        otherConstructor.setStringPool(pool);
+
+        Host host = new Yaml(constructor).load(HOST_YAML);
+        Host otherHost = new Yaml(otherConstructor).load(HOST_YAML);
+
+        assertThat(otherHost.getName(), sameInstance(host.getName()));
+        assertThat(pool.size(), is(4));
+    }
+
+    /**
+     * Tests that strings are not deduplicated by default and that a full pool returns strings as they are.
+     */
+    @Test
+    public void boundsAndDefaults() {
+        Host host = new Yaml(new AnnotationAwareConstructor(Host.class)).load(HOST_YAML);
+        assertThat(host.getDomain(), not(sameInstance(host.getName())));
+
+        StringPool pool = new StringPool(1);
+        String first = pool.intern(new String("a"));
+        assertThat(pool.intern(new String("a")), sameInstance(first));
+        String other = new String("b");
+        assertThat(pool.intern(other), sameInstance(other));
+        assertThat(pool.size(), is(1));
+
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+        assertThrows(IllegalArgumentException.class, () -> new AnnotationAwareConstructor(Host.class).setDocumentStringPoolSize(-1));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Host {
+        private String name;
+        private String domain;
+        private Map<String, String> labels;
+        private Map<String, Object> unmapped = new HashMap<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDomain() {
+            return domain;
+        }
+
+        public void setDomain(String domain) {
+            this.domain = domain;
+        }
+
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+
+        public void setLabels(Map<String, String> labels) {
+            this.labels = labels;
+        }
+
+        public Map<String, Object> getUnmapped() {
+            return unmapped;
+        }
+
+        @YamlAnySetter
+        public void anySetter(String key, Object value) {
+            unmapped.put(key, value);
+        }
+    }
+}
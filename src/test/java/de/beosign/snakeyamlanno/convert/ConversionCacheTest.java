@@ -0,0 +1,146 @@
+package de.beosign.snakeyamlanno.convert;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.introspector.BeanAccess;
+
+import de.beosign.snakeyamlanno.AnnotationAwarePropertyUtils;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareListConstructor;
+import de.beosign.snakeyamlanno.property.ConvertedProperty;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+
+/**
+ * Tests the caching of conversions.
+ * 
+ * @author florian
+ */
+public class ConversionCacheTest {
+    private static final String PARCELS_YAML = "- {code: a, length: 1 m}\n- {code: b, length: 1 m}\n- {code: a, length: 2 m}\n- {code: a, length: 1 m}\n";
+
+    @BeforeEach
+    public void setUp() {
+        ConversionCache.forConverter(CountingConverter.class).clear();
+        CountingConverter.INVOCATIONS.set(0);
+    }
+
+    /**
+     * Tests that a converter annotated with {@link YamlConversionCache} is called once per distinct value.
+     */
+    @Test
+    public void converterCache() {
+        Yaml yaml = new Yaml(new AnnotationAwareListConstructor(Parcel.class));
+        @SuppressWarnings("unchecked")
+        List<Parcel> parcels = yaml.loadAs(PARCELS_YAML, List.class);
+
+        assertThat(parcels.get(0).getCode(), is("A"));
+        assertThat(parcels.get(1).getCode(), is("B"));
+        assertThat(parcels.get(2).getCode(), sameInstance(parcels.get(0).getCode()));
+        assertThat(CountingConverter.INVOCATIONS.get(), is(2));
+
+        ConversionCache cache = ConversionCache.forConverter(CountingConverter.class);
+        assertThat(cache.getHits(), is(2L));
+        assertThat(cache.getMisses(), is(2L));
+        assertThat(cache.getHitRatio(), is(0.5));
+        assertThat(cache.size(), is(2));
+        assertThat(ConversionCache.forConverter(LengthToCmConverter.class), nullValue());
+    }
+
+    /**
+     * Tests that a cache defined by {@link YamlProperty#conversionCacheSize()} is used for that property only.
+     */
+    @Test
+    public void propertyCache() {
+        Yaml yaml = new Yaml(new AnnotationAwareListConstructor(Parcel.class));
+        @SuppressWarnings("unchecked")
+        List<Parcel> parcels = yaml.loadAs(PARCELS_YAML, List.class);
+
+        assertThat(parcels.get(0).getLength(), is(100));
+        assertThat(parcels.get(2).getLength(), is(200));
+        assertThat(parcels.get(3).getLength(), is(100));
+
+        ConvertedProperty property = (ConvertedProperty) new AnnotationAwarePropertyUtils().getProperties(Parcel.class, BeanAccess.DEFAULT).stream()
+                .filter(p -> p.getName().equals("length"))
+                .findFirst()
+                .get();
+        assertThat(property.getConversionCache().getHits(), is(2L));
+        assertThat(property.getConversionCache().getMisses(), is(2L));
+    }
+
+    /**
+     * Tests that the least recently used conversion is evicted and that only scalar values are cached.
+     */
+    @Test
+    public void eviction() {
+        ConversionCache cache = new ConversionCache(2);
+        AtomicInteger conversions = new AtomicInteger();
+
+        cache.convert("a", v -> conversions.incrementAndGet());
+        cache.convert("b", v -> conversions.incrementAndGet());
+        cache.convert("a", v -> conversions.incrementAndGet());
+        cache.convert("c", v -> conversions.incrementAndGet());
+        assertThat(conversions.get(), is(3));
+        assertThat(cache.size(), is(2));
+
+        assertThat(cache.convert("a", v -> conversions.incrementAndGet()), is(1));
+        assertThat(cache.convert("b", v -> conversions.incrementAndGet()), is(4));
+        assertThat(cache.convert("x", v -> null), nullValue());
+        assertThat(cache.convert("x", v -> "not cached"), nullValue());
+
+        cache.convert(Arrays.asList("a"), v -> conversions.incrementAndGet());
+        cache.convert(Arrays.asList("a"), v -> conversions.incrementAndGet());
+        assertThat(conversions.get(), is(6));
+
+        assertThrows(IllegalArgumentException.class, () -> new ConversionCache(0));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Parcel {
+        private String code;
+        private Integer length;
+
+        @YamlProperty(converter = CountingConverter.class)
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        @YamlProperty(converter = LengthToCmConverter.class, conversionCacheSize = 10)
+        public Integer getLength() {
+            return length;
+        }
+
+        public void setLength(Integer length) {
+            this.length = length;
+        }
+    }
+
+    @YamlConversionCache(maximumSize = 10)
+    public static class CountingConverter implements Converter<String> {
+        private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+        @Override
+        public String convertToYaml(String modelValue) {
+            return modelValue.toLowerCase();
+        }
+
+        @Override
+        public String convertToModel(Object value) {
+            INVOCATIONS.incrementAndGet();
+            return new String(value.toString().toUpperCase());
+        }
+    }
+}
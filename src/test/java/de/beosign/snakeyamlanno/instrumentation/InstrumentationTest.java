@@ -0,0 +1,238 @@
+package de.beosign.snakeyamlanno.instrumentation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.Node;
+
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.constructor.CustomConstructor;
+import de.beosign.snakeyamlanno.convert.LengthToCmConverter;
+import de.beosign.snakeyamlanno.instantiator.CustomInstantiator;
+import de.beosign.snakeyamlanno.instantiator.DefaultInstantiator;
+import de.beosign.snakeyamlanno.instantiator.GlobalInstantiator;
+import de.beosign.snakeyamlanno.instantiator.YamlInstantiateBy;
+import de.beosign.snakeyamlanno.instrumentation.InstrumentationStatistics.Timing;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+
+/**
+ * Tests the instrumentation of constructor and representer.
+ *
+ * @author florian
+ */
+public class InstrumentationTest {
+    private static final String BOX_YAML = "name: box\nlength: 2 m\nitem:\n  name: pen\nbroken: !!" + Item.class.getName() + "\n  unknown: 1\n";
+
+    private InstrumentationStatistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = new InstrumentationStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Instrumentation.unregister();
+    }
+
+    /**
+     * Tests that all surfaces are reported if every invocation is timed.
+     */
+    @Test
+    public void allSurfacesAreReported() {
+        Instrumentation.register(statistics);
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Box.class);
+        constructor.registerCustomConstructor(Box.class, BoxConstructor.class);
+        Yaml yaml = new Yaml(constructor);
+
+        Box box = yaml.loadAs(BOX_YAML, Box.class);
+        yaml.loadAs(BOX_YAML, Box.class);
+        new Yaml(new AnnotationAwareRepresenter()).dumpAsMap(box);
+
+        assertThat(box.getLength(), is(200));
+        assertThat(box.getBroken(), nullValue());
+        assertThat(statistics.getConstructions().get(Box.class.getName()).getCount(), is(2L));
+        assertThat(statistics.getConstructions().get(Item.class.getName()).getCount(), greaterThanOrEqualTo(2L));
+        assertThat(statistics.getRepresentations().get(Box.class.getName()).getCount(), is(1L));
+        assertThat(statistics.getRepresentations().get(Item.class.getName()).getCount(), is(1L));
+        assertThat(statistics.getConversionsToModel().get(LengthToCmConverter.class.getName()).getCount(), is(2L));
+        assertThat(statistics.getConversionsToYaml().get(LengthToCmConverter.class.getName()).getCount(), is(1L));
+        assertThat(statistics.getCustomConstructions().get(BoxConstructor.class.getName()).getCount(), is(2L));
+        assertThat(statistics.getCustomInstantiations().get(ItemInstantiator.class.getName()).getCount(), greaterThanOrEqualTo(2L));
+        assertThat(statistics.getConstructions().get(Box.class.getName()).getNanos(), greaterThan(0L));
+        assertThat(statistics.getConstructions().get(Box.class.getName()).getTimedCount(), is(2L));
+        assertThat(statistics.getIgnoredExceptions(Box.class), is(2L));
+
+        assertThat(statistics.getCacheHits(CacheType.CONSTRUCT_BY), greaterThan(0L));
+        assertThat(statistics.getCacheMisses(CacheType.CONSTRUCT_BY), greaterThan(0L));
+        assertThat(statistics.getCacheHits(CacheType.INSTANTIATE_BY), greaterThan(0L));
+        assertThat(statistics.getCacheHits(CacheType.PROPERTIES), greaterThan(0L));
+        assertThat(statistics.getCacheHitRatio(CacheType.PROPERTIES), greaterThan(0.5));
+
+        statistics.reset();
+        assertThat(statistics.getConstructions().isEmpty(), is(true));
+        assertThat(statistics.getCacheHits(CacheType.PROPERTIES), is(0L));
+        assertThat(statistics.getCacheHitRatio(CacheType.PROPERTIES), is(0.0));
+    }
+
+    /**
+     * Tests that all invocations are counted, but none is timed if no invocation is sampled.
+     */
+    @Test
+    public void sampling() {
+        Instrumentation.register(statistics, Integer.MAX_VALUE);
+        new Yaml(new AnnotationAwareConstructor(Box.class)).loadAs(BOX_YAML, Box.class);
+
+        Timing timing = statistics.getConstructions().get(Box.class.getName());
+        assertThat(timing.getCount(), is(1L));
+        assertThat(timing.getTimedCount(), is(0L));
+        assertThat(timing.getNanos(), is(0L));
+        assertThat(timing.getAverageNanos(), is(0.0));
+        assertThat(statistics.getConversionsToModel().get(LengthToCmConverter.class.getName()).getCount(), is(1L));
+        assertThat(statistics.getCustomInstantiations().get(ItemInstantiator.class.getName()).getCount(), greaterThanOrEqualTo(1L));
+        assertThat(statistics.getIgnoredExceptions(Box.class), is(1L));
+        assertThat(statistics.getCacheHits(CacheType.PROPERTIES) + statistics.getCacheMisses(CacheType.PROPERTIES), greaterThan(0L));
+
+        assertThrows(IllegalArgumentException.class, () -> Instrumentation.register(statistics, 0));
+        assertThrows(NullPointerException.class, () -> Instrumentation.register(null));
+    }
+
+    /**
+     * Tests that nothing is reported after the listener has been unregistered.
+     */
+    @Test
+    public void unregister() {
+        Instrumentation.register(statistics);
+        assertThat(Instrumentation.getListener(), notNullValue());
+        Instrumentation.unregister();
+        assertThat(Instrumentation.getListener(), nullValue());
+        assertThat(Instrumentation.start(Instrumentation.getListener()), is(Instrumentation.NOT_TIMED));
+
+        new Yaml(new AnnotationAwareConstructor(Box.class)).loadAs(BOX_YAML, Box.class);
+
+        assertThat(statistics.getConstructions().isEmpty(), is(true));
+        assertThat(statistics.getIgnoredExceptions(Box.class), is(0L));
+        assertThat(statistics.getCacheMisses(CacheType.PROPERTIES), is(0L));
+    }
+
+    /**
+     * Tests that a failing construction is not timed.
+     */
+    @Test
+    public void failuresAreNotTimed() {
+        Instrumentation.register(statistics);
+
+        assertThrows(YAMLException.class, () -> new Yaml(new AnnotationAwareConstructor(Box.class)).loadAs("item:\n  unknown: 1", Box.class));
+        assertThat(statistics.getConstructions().get(Box.class.getName()), nullValue());
+    }
+
+    /**
+     * Tests that an exception of a nested property is passed on without capturing further stack traces.
+     */
+    @Test
+    public void ignoredExceptionsAreStackless() {
+        List<Exception> ignoredExceptions = new ArrayList<>();
+        Instrumentation.register(new InstrumentationListener() {
+            @Override
+            public void exceptionIgnored(Class<?> beanType, String propertyName, Exception exception) {
+                ignoredExceptions.add(exception);
+            }
+        });
+
+        Box box = new Yaml(new AnnotationAwareConstructor(Box.class)).loadAs("name: box\nbroken:\n  name: [1, 2]\n", Box.class);
+
+        assertThat(box.getName(), is("box"));
+        assertThat(box.getBroken(), nullValue());
+        assertThat(ignoredExceptions, hasSize(1));
+        Throwable ignored = ignoredExceptions.get(0);
+        assertThat(ignored.getStackTrace().length, is(0));
+        assertThat(ignored.getCause().getStackTrace().length, is(0));
+        assertThat(ignored.getCause().getCause().getStackTrace().length, greaterThan(0));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Box {
+        private String name;
+        private Integer length;
+        private Item item;
+        private Item broken;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @YamlProperty(converter = LengthToCmConverter.class)
+        public Integer getLength() {
+            return length;
+        }
+
+        public void setLength(Integer length) {
+            this.length = length;
+        }
+
+        public Item getItem() {
+            return item;
+        }
+
+        public void setItem(Item item) {
+            this.item = item;
+        }
+
+        @YamlProperty(ignoreExceptions = true)
+        public Item getBroken() {
+            return broken;
+        }
+
+        public void setBroken(Item broken) {
+            this.broken = broken;
+        }
+    }
+
+    @YamlInstantiateBy(ItemInstantiator.class)
+    public static class Item {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class BoxConstructor implements CustomConstructor<Box> {
+        @Override
+        public Box construct(Node node, Function<? super Node, ? extends Box> defaultConstructor) throws YAMLException {
+            return defaultConstructor.apply(node);
+        }
+    }
+
+    public static class ItemInstantiator implements CustomInstantiator<Item> {
+        @Override
+        public Item createInstance(Node node, boolean tryDefault, Class<?> ancestor, DefaultInstantiator defaultInstantiator,
+                GlobalInstantiator globalInstantiator) throws InstantiationException {
+            return new Item();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package de.beosign.snakeyamlanno.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+
+/**
+ * Tests the {@link MappedYamlReader}.
+ * 
+ * @author florian
+ */
+public class MappedYamlReaderTest {
+    private static final String CITY_YAML = "name: München\nmotto: \"Grüß Gott 🍺\"\ndistricts: [Schwabing, Au-Haidhausen, Lehel]\n";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that a bean is loaded from a file in the same way as from a string.
+     * 
+     * @throws IOException on any exception
+     */
+    @Test
+    public void loadFromPath() throws IOException {
+        Path file = tempDir.resolve("city.yaml");
+        Files.write(file, CITY_YAML.getBytes(StandardCharsets.UTF_8));
+
+        try (MappedYamlReader reader = MappedYamlReader.open(file)) {
+            City city = new Yaml(new AnnotationAwareConstructor(City.class)).load(reader);
+            assertThat(city.getName(), is("München"));
+            assertThat(city.getMotto(), is("Grüß Gott 🍺"));
+            assertThat(reader.getCharset(), is(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Tests that multi-byte characters are decoded correctly if they are split across windows and if the buffer of the caller is small.
+     * 
+     * @throws IOException on any exception
+     */
+    @Test
+    public void windowsAndSmallBuffers() throws IOException {
+        Path file = tempDir.resolve("city.yaml");
+        Files.write(file, CITY_YAML.getBytes(StandardCharsets.UTF_8));
+
+        for (int windowSize = 4; windowSize < 12; windowSize++) {
+            for (int bufferSize = 1; bufferSize < 5; bufferSize++) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    assertThat(readFully(new MappedYamlReader(channel, false, windowSize), bufferSize), is(CITY_YAML));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that the encoding is detected by the byte order mark and that a channel is read from its current position and not closed.
+     * 
+     * @throws IOException on any exception
+     */
+    @Test
+    public void byteOrderMarkAndChannel() throws IOException {
+        Path file = tempDir.resolve("city.yaml");
+        byte[] content = ("\uFEFF" + CITY_YAML).getBytes(StandardCharsets.UTF_16LE);
+        Files.write(file, content);
+        try (Reader reader = MappedYamlReader.open(file)) {
+            assertThat(readFully(reader, 100), is(CITY_YAML));
+        }
+
+        Files.write(file, ("# comment\n" + CITY_YAML).getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(10);
+            try (Reader reader = MappedYamlReader.open(channel)) {
+                assertThat(readFully(reader, 100), is(CITY_YAML));
+            }
+            assertThat(channel.isOpen(), is(true));
+        }
+    }
+
+    /**
+     * Tests that malformed input is reported.
+     * 
+     * @throws IOException on any exception
+     */
+    @Test
+    public void malformedInput() throws IOException {
+        Path file = tempDir.resolve("city.yaml");
+        Files.write(file, new byte[] { 'a', ':', ' ', (byte) 0xC3, 'b', '\n' });
+        try (Reader reader = MappedYamlReader.open(file)) {
+            assertThrows(MalformedInputException.class, () -> readFully(reader, 100));
+        }
+        try (Reader reader = MappedYamlReader.open(file)) {
+            assertThrows(YAMLException.class, () -> new Yaml().load(reader));
+        }
+    }
+
+    private static String readFully(Reader reader, int bufferSize) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int read;
+        while ((read = reader.read(buffer, 0, bufferSize)) != -1) {
+            assertThat(read > 0, is(true));
+            content.append(buffer, 0, read);
+        }
+        return content.toString();
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class City {
+        private String name;
+        private String motto;
+        private String[] districts;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMotto() {
+            return motto;
+        }
+
+        public void setMotto(String motto) {
+            this.motto = motto;
+        }
+
+        public String[] getDistricts() {
+            return districts;
+        }
+
+        public void setDistricts(String[] districts) {
+            this.districts = districts;
+        }
+    }
+}
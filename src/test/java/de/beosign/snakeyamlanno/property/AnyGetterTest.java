@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -72,6 +73,23 @@ public class AnyGetterTest {
 
     }
 
+    /**
+     * Tests that the any getter map of a bean is flattened into the right node if it is represented before a nested bean with an any getter, and that the
+     * entries are dumped in block style.
+     */
+    @Test
+    public void testAnyGetterBeforeNestedBean() {
+        Node root = new Node();
+        root.getAdditional().put("color", "red");
+        root.setChild(new Node());
+        root.getChild().getAdditional().put("size", 3);
+
+        String dumped = new Yaml(new AnnotationAwareRepresenter()).dumpAsMap(root);
+
+        assertThat(dumped, is("child:\n  size: 3\ncolor: red\n"));
+        assertThat(new Yaml(new AnnotationAwareRepresenter(false)).dumpAsMap(new Node()), is("child: null\n"));
+    }
+
     @Test
     public void testAnyGetterOnScalarType() throws Exception {
         ScalarTypeAnnotated scalarTypeAnnotated = new ScalarTypeAnnotated();
@@ -179,6 +197,31 @@ public class AnyGetterTest {
         }
     }
 
+    /**
+     * Test class whose any getter is represented before its nested bean.
+     */
+    public static class Node {
+        private Map<String, Object> additional = new LinkedHashMap<>();
+        private Node child;
+
+        @YamlAnyGetter
+        public Map<String, Object> getAdditional() {
+            return additional;
+        }
+
+        public void setAdditional(Map<String, Object> additional) {
+            this.additional = additional;
+        }
+
+        public Node getChild() {
+            return child;
+        }
+
+        public void setChild(Node child) {
+            this.child = child;
+        }
+    }
+
     /** Test class. */
     protected static final class KeyValue {
         private String key;
@@ -0,0 +1,134 @@
+package de.beosign.snakeyamlanno.property;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.introspector.BeanAccess;
+import org.yaml.snakeyaml.introspector.Property;
+
+import de.beosign.snakeyamlanno.AnnotationAwarePropertyUtils;
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+
+/**
+ * Tests the properties that access getters, setters and fields by method handles.
+ *
+ * @author florian
+ */
+public class CompiledPropertyTest {
+
+    /**
+     * Tests that the discovered properties are compiled, also if they are annotated.
+     */
+    @Test
+    public void propertiesAreCompiled() {
+        AnnotationAwarePropertyUtils propertyUtils = new AnnotationAwarePropertyUtils();
+        Map<String, Property> properties = propertyUtils.getProperties(Gadget.class).stream()
+                .collect(Collectors.toMap(Property::getName, p -> p));
+
+        assertThat(properties.get("name"), instanceOf(CompiledProperty.class));
+        assertThat(properties.get("weight"), instanceOf(CompiledProperty.class));
+        // annotated properties delegate to the compiled property
+        assertThat(((AnnotatedProperty) properties.get("sn")).getTargetProperty(), instanceOf(CompiledProperty.class));
+        assertThat(properties.get("name").isReadable(), is(true));
+        assertThat(properties.get("name").isWritable(), is(true));
+    }
+
+    /**
+     * Tests loading and dumping through compiled properties, including primitive, aliased and widened values.
+     */
+    @Test
+    public void loadAndDump() {
+        Gadget gadget = new Yaml(new AnnotationAwareConstructor(Gadget.class)).loadAs("name: phone\nweight: 170\nsize: 3\nsn: 42", Gadget.class);
+
+        assertThat(gadget.getName(), is("phone"));
+        assertThat(gadget.getWeight(), is(170));
+        assertThat(gadget.getSize(), is(3L));
+        assertThat(gadget.getSerial(), is(42));
+
+        String dumped = new Yaml(new AnnotationAwareRepresenter()).dumpAsMap(gadget);
+        assertThat(dumped, is("name: phone\nsize: 3\nsn: 42\nweight: 170\n"));
+    }
+
+    /**
+     * Tests that <code>null</code> for primitives fails in the same way as with reflective access.
+     */
+    @Test
+    public void wrongValues() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(Gadget.class));
+
+        YAMLException e = assertThrows(YAMLException.class, () -> yaml.loadAs("weight: ~", Gadget.class));
+        assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+        assertThat(yaml.loadAs("name: 12", Gadget.class).getName(), is("12"));
+    }
+
+    /**
+     * Tests that field access is compiled as well.
+     */
+    @Test
+    public void fieldAccess() {
+        AnnotationAwarePropertyUtils propertyUtils = new AnnotationAwarePropertyUtils();
+        propertyUtils.setBeanAccess(BeanAccess.FIELD);
+        Property property = propertyUtils.getProperty(Gadget.class, "weight");
+
+        assertThat(property, instanceOf(CompiledProperty.class));
+        assertThat(property, not(instanceOf(AliasedProperty.class)));
+
+        AnnotationAwareConstructor constructor = new AnnotationAwareConstructor(Gadget.class);
+        constructor.getPropertyUtils().setBeanAccess(BeanAccess.FIELD);
+        Gadget gadget = new Yaml(constructor).loadAs("name: watch\nweight: 30", Gadget.class);
+
+        assertThat(gadget.getName(), is("watch"));
+        assertThat(gadget.getWeight(), is(30));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Gadget {
+        private String name;
+        private int weight;
+        private long size;
+        private int serial;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        @YamlProperty(key = "sn")
+        public int getSerial() {
+            return serial;
+        }
+
+        public void setSerial(int serial) {
+            this.serial = serial;
+        }
+    }
+}
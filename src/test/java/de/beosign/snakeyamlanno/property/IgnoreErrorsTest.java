@@ -79,6 +79,20 @@ public class IgnoreErrorsTest {
         }
     }
 
+    /**
+     * Tests that errors are ignored if the untagged value cannot be constructed as the type of the property.
+     */
+    @Test
+    public void ignoreErrorsUntagged() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(Person.class));
+
+        Person parseResult = yaml.loadAs("name: Homer\nanimal:\n  name: Rex\nheight: 1.85 m\n", Person.class);
+
+        assertThat(parseResult.getName(), is("Homer"));
+        assertThat(parseResult.getHeight(), is(185));
+        assertThat(parseResult.getAnimal(), nullValue());
+    }
+
     /**
      * Tests if everything works if ignoreErrors is set but there is no error.
      * 
@@ -0,0 +1,181 @@
+package de.beosign.snakeyamlanno.property;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import de.beosign.snakeyamlanno.constructor.AnnotationAwareConstructor;
+import de.beosign.snakeyamlanno.representer.AnnotationAwareRepresenter;
+
+/**
+ * Tests properties annotated with {@link YamlProperty#lazy()}.
+ * 
+ * @author florian
+ */
+public class LazyPropertyTest {
+    private static final String CATALOG_YAML = "name: shop\nrules: {entries: [a, b]}\nsections: {tools: 3}\nbroken: {entries: {a: b}}\n";
+
+    @BeforeEach
+    public void setUp() {
+        Rules.CREATED.set(0);
+    }
+
+    /**
+     * Tests that a lazy value is constructed once on first access.
+     */
+    @Test
+    public void constructOnFirstAccess() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(Catalog.class));
+        Catalog catalog = yaml.load(CATALOG_YAML);
+
+        assertThat(catalog.getName(), is("shop"));
+        assertThat(catalog.getRules().isInitialized(), is(false));
+        assertThat(Rules.CREATED.get(), is(0));
+
+        // another document may be loaded in the meantime
+        yaml.load("name: other");
+
+        Rules rules = catalog.getRules().get();
+        assertThat(rules.getEntries().get(1), is("b"));
+        assertThat(catalog.getRules().get(), sameInstance(rules));
+        assertThat(Rules.CREATED.get(), is(1));
+        assertThat(catalog.getSections().get().get("tools"), is(3));
+        assertThat(catalog.getBroken().get(), nullValue());
+    }
+
+    /**
+     * Tests that aliases refer to the same objects, whether the anchor or the alias is lazy.
+     */
+    @Test
+    public void aliases() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(Catalog.class));
+
+        Catalog catalog = yaml.load("base: &b {entries: [a]}\nrules: *b\n");
+        assertThat(catalog.getRules().get(), sameInstance(catalog.getBase()));
+
+        catalog = yaml.load("rules: &b {entries: [a]}\nbase: *b\n");
+        assertThat(catalog.getRules().get(), sameInstance(catalog.getBase()));
+
+        catalog = yaml.load("rules: &r {entries: &e [a]}\nbroken: *r\nbase: {entries: *e}\n");
+        assertThat(catalog.getBroken().get(), sameInstance(catalog.getRules().get()));
+        assertThat(catalog.getRules().get().getEntries(), sameInstance(catalog.getBase().getEntries()));
+        assertThat(Rules.CREATED.get(), is(4));
+    }
+
+    /**
+     * Tests that lazy values are dumped like other values.
+     */
+    @Test
+    public void dump() {
+        Catalog catalog = new Yaml(new AnnotationAwareConstructor(Catalog.class)).load("name: shop\nrules: {entries: [a, b]}\n");
+
+        String dumped = new Yaml(new AnnotationAwareRepresenter()).dumpAsMap(catalog);
+
+        assertThat(dumped, is("name: shop\nrules:\n  entries:\n  - a\n  - b\n"));
+    }
+
+    /**
+     * Tests that a lazy property must be of type {@link Lazy} or {@link Supplier}.
+     */
+    @Test
+    public void invalidType() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(InvalidCatalog.class));
+        YAMLException e = assertThrows(YAMLException.class, () -> yaml.load("rules: {entries: [a]}"));
+        assertThat(e.getMessage().contains("must be of type"), is(true));
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Catalog {
+        private String name;
+        private Rules base;
+        private Lazy<Rules> rules;
+        private Supplier<Map<String, Integer>> sections;
+        private Lazy<Rules> broken;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Rules getBase() {
+            return base;
+        }
+
+        public void setBase(Rules base) {
+            this.base = base;
+        }
+
+        @YamlProperty(lazy = true)
+        public Lazy<Rules> getRules() {
+            return rules;
+        }
+
+        public void setRules(Lazy<Rules> rules) {
+            this.rules = rules;
+        }
+
+        @YamlProperty(lazy = true)
+        public Supplier<Map<String, Integer>> getSections() {
+            return sections;
+        }
+
+        public void setSections(Supplier<Map<String, Integer>> sections) {
+            this.sections = sections;
+        }
+
+        @YamlProperty(lazy = true, ignoreExceptions = true)
+        public Lazy<Rules> getBroken() {
+            return broken;
+        }
+
+        public void setBroken(Lazy<Rules> broken) {
+            this.broken = broken;
+        }
+    }
+
+    public static class Rules {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        private List<String> entries;
+
+        public Rules() {
+            CREATED.incrementAndGet();
+        }
+
+        public List<String> getEntries() {
+            return entries;
+        }
+
+        public void setEntries(List<String> entries) {
+            this.entries = entries;
+        }
+    }
+
+    public static class InvalidCatalog {
+        private Rules rules;
+
+        @YamlProperty(lazy = true)
+        public Rules getRules() {
+            return rules;
+        }
+
+        public void setRules(Rules rules) {
+            this.rules = rules;
+        }
+    }
+}
@@ -2,9 +2,17 @@ package de.beosign.snakeyamlanno.representer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.introspector.Property;
 
 import de.beosign.snakeyamlanno.property.StellarObject;
 
@@ -45,4 +53,21 @@ public class DumpPropertyOrderTest {
 
     }
 
+    /**
+     * Tests that the ordered properties are calculated once per type and recalculated if the underlying properties change.
+     */
+    @Test
+    public void orderIsCached() {
+        AnnotationAwareRepresenter representer = new AnnotationAwareRepresenter();
+        Set<Property> properties = representer.getProperties(StellarObject.class);
+
+        TreeSet<Property> expected = new TreeSet<>(AnnotationAwareRepresenter.ORDER_COMPARATOR);
+        expected.addAll(representer.getPropertyUtils().getProperties(StellarObject.class));
+        assertThat(new ArrayList<>(properties), is((List<Property>) new ArrayList<>(expected)));
+        assertThat(representer.getProperties(StellarObject.class), sameInstance(properties));
+
+        representer.getPropertyUtils().setAllowReadOnlyProperties(true);
+        assertThat(representer.getProperties(StellarObject.class), not(sameInstance(properties)));
+    }
+
 }
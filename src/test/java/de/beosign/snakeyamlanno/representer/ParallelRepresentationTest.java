@@ -0,0 +1,171 @@
+package de.beosign.snakeyamlanno.representer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+/**
+ * Tests the parallel representation of lists.
+ *
+ * @author florian
+ */
+public class ParallelRepresentationTest {
+
+    /**
+     * Tests that lists represented in parallel are dumped in the same way as sequentially represented lists.
+     */
+    @Test
+    public void sameOutputAsSequential() {
+        Order order = new Order();
+        order.setName("big");
+        for (int i = 0; i < 1000; i++) {
+            Line line = new Line();
+            line.setProduct("product" + i);
+            line.setCodes(Arrays.asList(i, i + 1));
+            order.getLines().add(line);
+        }
+
+        for (FlowStyle flowStyle : FlowStyle.values()) {
+            DumperOptions options = new DumperOptions();
+            options.setDefaultFlowStyle(flowStyle);
+            assertThat(parallelYaml(options).dump(order), is(new Yaml(new AnnotationAwareRepresenter(), options).dump(order)));
+            assertThat(parallelYaml(options).dump(order.getLines().toArray()), is(new Yaml(new AnnotationAwareRepresenter(), options).dump(order.getLines()
+                    .toArray())));
+        }
+    }
+
+    /**
+     * Tests that objects shared by list items get anchors and aliases as they would without parallel representation.
+     */
+    @Test
+    public void sharedObjects() {
+        Line shared = new Line();
+        shared.setProduct("shared");
+
+        Order sharedWithinList = new Order();
+        Order sharedBeforeList = new Order();
+        sharedBeforeList.setHeader(shared);
+        Order sharedAfterList = new Order();
+        for (int i = 0; i < 100; i++) {
+            Line line = new Line();
+            line.setProduct("product" + i);
+            sharedWithinList.getLines().add(i % 50 == 0 ? shared : line);
+            sharedBeforeList.getLines().add(i == 70 ? shared : line);
+            sharedAfterList.getLines().add(i == 70 ? shared : line);
+        }
+        sharedAfterList.setOther(shared);
+
+        for (Order order : Arrays.asList(sharedWithinList, sharedBeforeList, sharedAfterList)) {
+            String dumped = parallelYaml(new DumperOptions()).dump(order);
+            assertThat(dumped, containsString("&id001"));
+            assertThat(dumped, is(new Yaml(new AnnotationAwareRepresenter()).dump(order)));
+        }
+    }
+
+    /**
+     * Tests that exceptions thrown while representing a chunk are passed on, and that the settings are validated.
+     */
+    @Test
+    public void failures() {
+        Order order = new Order();
+        for (int i = 0; i < 100; i++) {
+            order.getLines().add(i == 42 ? new BrokenLine() : new Line());
+        }
+        YAMLException e = assertThrows(YAMLException.class, () -> parallelYaml(new DumperOptions()).dump(order));
+        assertThat(e.getMessage(), containsString("broken"));
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRepresentation(AnnotationAwareRepresenter::new, ForkJoinPool.commonPool(), 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRepresentation(AnnotationAwareRepresenter::new, ForkJoinPool.commonPool(), 1, 0));
+        assertThrows(NullPointerException.class, () -> new ParallelRepresentation(null));
+
+        AnnotationAwareRepresenter representer = new AnnotationAwareRepresenter();
+        representer.setParallelRepresentation(new ParallelRepresentation(() -> representer, ForkJoinPool.commonPool(), 1, 1));
+        assertThrows(IllegalStateException.class, () -> new Yaml(representer).dump(Arrays.asList(new Line(), new Line())));
+    }
+
+    private static Yaml parallelYaml(DumperOptions options) {
+        AnnotationAwareRepresenter representer = new AnnotationAwareRepresenter();
+        representer.setParallelRepresentation(new ParallelRepresentation(AnnotationAwareRepresenter::new, ForkJoinPool.commonPool(), 10, 7));
+        return new Yaml(representer, options);
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public static class Order {
+        private String name;
+        private Line header;
+        private List<Line> lines = new ArrayList<>();
+        private Line other;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Line getHeader() {
+            return header;
+        }
+
+        public void setHeader(Line header) {
+            this.header = header;
+        }
+
+        public List<Line> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<Line> lines) {
+            this.lines = lines;
+        }
+
+        public Line getOther() {
+            return other;
+        }
+
+        public void setOther(Line other) {
+            this.other = other;
+        }
+    }
+
+    public static class Line {
+        private String product;
+        private List<Integer> codes;
+
+        public String getProduct() {
+            return product;
+        }
+
+        public void setProduct(String product) {
+            this.product = product;
+        }
+
+        public List<Integer> getCodes() {
+            return codes;
+        }
+
+        public void setCodes(List<Integer> codes) {
+            this.codes = codes;
+        }
+    }
+
+    public static class BrokenLine extends Line {
+        @Override
+        public String getProduct() {
+            throw new IllegalStateException("broken");
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package de.beosign.snakeyamlanno.representer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import de.beosign.snakeyamlanno.convert.LengthToCmConverter;
+import de.beosign.snakeyamlanno.property.Lazy;
+import de.beosign.snakeyamlanno.property.StellarObject;
+import de.beosign.snakeyamlanno.property.YamlAnyGetter;
+import de.beosign.snakeyamlanno.property.YamlProperty;
+import de.beosign.snakeyamlanno.skip.SkipAtDumpPredicate;
+
+/**
+ * Tests the {@link StreamingDumper}.
+ *
+ * @author florian
+ */
+public class StreamingDumperTest {
+
+    /**
+     * Tests that the streamed output equals the output of a {@link Yaml} instance using the same representer.
+     */
+    @Test
+    public void sameOutputAsTree() {
+        StellarObject stellarObject = new StellarObject();
+        stellarObject.setName("sun");
+        stellarObject.setDistance("0km");
+        stellarObject.setRadius(696342);
+
+        Item pen = new Item("pen", 15);
+        Box box = new Box();
+        box.setName("box");
+        box.setLength(200);
+        box.setSecret("secret");
+        box.setItems(Arrays.asList(pen, new Item("ruler", 30), new SpecialItem("glue", 5)));
+        box.setLabels(new LinkedHashSet<>(Arrays.asList("fragile", "heavy")));
+        box.setSizes(new int[] { 1, 2 });
+        box.setItemsByName(new LinkedHashMap<>());
+        box.getItemsByName().put("pen", new Item("pen", 15));
+        box.setMain(Lazy.ofValue(new Item("lid", 1)));
+        box.setColor(Color.RED);
+        box.setExtra(new LinkedHashMap<>());
+        box.getExtra().put("owner", "me");
+        box.getExtra().put("tags", Arrays.asList("a", "b"));
+
+        for (DumperOptions.FlowStyle flowStyle : FlowStyle.values()) {
+            DumperOptions options = new DumperOptions();
+            options.setDefaultFlowStyle(flowStyle);
+            for (Object data : Arrays.asList(box, stellarObject, Arrays.asList(new Item("eraser", 10), "text", 1), "text", null)) {
+                assertThat(dump(data, options), is(new Yaml(new AnnotationAwareRepresenter(), options).dump(data)));
+            }
+        }
+
+        StringWriter output = new StringWriter();
+        new StreamingDumper(new AnnotationAwareRepresenter()).dumpAsMap(box, output);
+        assertThat(output.toString(), is(new Yaml(new AnnotationAwareRepresenter()).dumpAsMap(box)));
+    }
+
+    /**
+     * Tests that several documents and iterators are dumped.
+     */
+    @Test
+    public void dumpAllAndIterators() {
+        StringWriter output = new StringWriter();
+        new StreamingDumper(new AnnotationAwareRepresenter()).dumpAll(Arrays.asList(new Item("pen", 15), IntStream.range(0, 3).iterator()).iterator(),
+                output);
+
+        assertThat(output.toString(), is("!!" + Item.class.getName() + " {name: pen, weight: 15}\n---\n- 0\n- 1\n- 2\n"));
+    }
+
+    /**
+     * Tests that a large collection is dumped.
+     */
+    @Test
+    public void largeCollection() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            items.add(new Item("item" + i, i));
+        }
+        Box box = new Box();
+        box.setItems(items);
+
+        assertThat(dump(box, new DumperOptions()), is(new Yaml(new AnnotationAwareRepresenter()).dump(box)));
+    }
+
+    /**
+     * Tests that recursive object graphs are rejected, while objects referenced several times are dumped several times.
+     */
+    @Test
+    public void references() {
+        Item pen = new Item("pen", 15);
+        assertThat(dump(Arrays.asList(pen, pen), new DumperOptions()), is("- !!" + Item.class.getName() + " {name: pen, weight: 15}\n- !!"
+                + Item.class.getName() + " {name: pen, weight: 15}\n"));
+
+        List<Object> recursive = new ArrayList<>();
+        recursive.add(recursive);
+        assertThrows(YAMLException.class, () -> dump(recursive, new DumperOptions()));
+    }
+
+    /**
+     * Tests that skip predicates are asked once per property, as by the tree representer.
+     */
+    @Test
+    public void skipPredicateCalledOnce() {
+        Note note = new Note();
+        note.setText("hello");
+
+        CountingSkip.CALLS.set(0);
+        String tree = new Yaml(new AnnotationAwareRepresenter()).dump(note);
+        assertThat(CountingSkip.CALLS.get(), is(1));
+
+        CountingSkip.CALLS.set(0);
+        assertThat(dump(note, new DumperOptions()), is(tree));
+        assertThat(CountingSkip.CALLS.get(), is(1));
+    }
+
+    private static String dump(Object data, DumperOptions options) {
+        StringWriter output = new StringWriter();
+        new StreamingDumper(new AnnotationAwareRepresenter(), options).dump(data, output);
+        return output.toString();
+    }
+
+    // CHECKSTYLE:OFF - test classes
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Box {
+        private String name;
+        private Integer length;
+        private String secret;
+        private List<Item> items;
+        private Set<String> labels;
+        private int[] sizes;
+        private Map<String, Item> itemsByName;
+        private Lazy<Item> main;
+        private Color color;
+        private Map<String, Object> extra;
+
+        @YamlProperty(order = 1)
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @YamlProperty(converter = LengthToCmConverter.class)
+        public Integer getLength() {
+            return length;
+        }
+
+        public void setLength(Integer length) {
+            this.length = length;
+        }
+
+        @YamlProperty(skipAtDump = true)
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Item> items) {
+            this.items = items;
+        }
+
+        public Set<String> getLabels() {
+            return labels;
+        }
+
+        public void setLabels(Set<String> labels) {
+            this.labels = labels;
+        }
+
+        public int[] getSizes() {
+            return sizes;
+        }
+
+        public void setSizes(int[] sizes) {
+            this.sizes = sizes;
+        }
+
+        public Map<String, Item> getItemsByName() {
+            return itemsByName;
+        }
+
+        public void setItemsByName(Map<String, Item> itemsByName) {
+            this.itemsByName = itemsByName;
+        }
+
+        public Lazy<Item> getMain() {
+            return main;
+        }
+
+        public void setMain(Lazy<Item> main) {
+            this.main = main;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+
+        public void setColor(Color color) {
+            this.color = color;
+        }
+
+        @YamlAnyGetter
+        public Map<String, Object> getExtra() {
+            return extra;
+        }
+
+        public void setExtra(Map<String, Object> extra) {
+            this.extra = extra;
+        }
+    }
+
+    public static class Item {
+        private String name;
+        private int weight;
+
+        public Item() {
+        }
+
+        public Item(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    public static class Note {
+        private String text;
+
+        @YamlProperty(skipAtDumpIf = CountingSkip.class)
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+
+    public static class CountingSkip implements SkipAtDumpPredicate {
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        @Override
+        public boolean skip(Object javaBean, Property property, Object propertyValue, Tag customTag) {
+            // skipping every second call would break a representer asking twice
+            return CALLS.getAndIncrement() % 2 == 1;
+        }
+    }
+
+    public static class SpecialItem extends Item {
+        public SpecialItem() {
+        }
+
+        public SpecialItem(String name, int weight) {
+            super(name, weight);
+        }
+    }
+}
@@ -56,6 +56,18 @@ public class SkipPropsTest {
         }
     }
 
+    /**
+     * Tests that the value of a property annotated with {@link YamlProperty#skipAtLoad()} is not constructed at all.
+     */
+    @Test
+    public void skippedValueIsNotConstructed() {
+        Yaml yaml = new Yaml(new AnnotationAwareConstructor(SkipProps.class));
+
+        SkipProps props = yaml.loadAs("skipLoad: !!int abc\nname: name1\n", SkipProps.class);
+        assertThat(props.getSkipLoad(), Is.is("notLoaded"));
+        assertThat(props.getName(), Is.is("name1"));
+    }
+
     /**
      * Tests {@link YamlProperty#skipAtLoad()}.
      * 